@@ -26,11 +26,12 @@ import com.okta.idx.sdk.api.model.EmailTokenType;
 import com.okta.idx.sdk.api.model.FormValue;
 import com.okta.idx.sdk.api.model.IDXClientContext;
 import com.okta.idx.sdk.api.model.Idp;
+import com.okta.idx.sdk.api.model.Messages;
 import com.okta.idx.sdk.api.model.Options;
 import com.okta.idx.sdk.api.model.OptionsForm;
 import com.okta.idx.sdk.api.model.PollInfo;
 import com.okta.idx.sdk.api.model.RemediationOption;
-import com.okta.idx.sdk.api.model.RemediationType;
+import com.okta.idx.sdk.api.model.RemediationName;
 import com.okta.idx.sdk.api.model.SecurityQuestion;
 import com.okta.idx.sdk.api.response.AuthenticationResponse;
 import com.okta.idx.sdk.api.response.IDXResponse;
@@ -41,22 +42,47 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 final class AuthenticationTransaction {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationTransaction.class);
 
+    // authenticators and security questions of an org rarely change, share what was parsed across transactions
+    private static final AuthenticatorCatalog AUTHENTICATOR_CATALOG = new AuthenticatorCatalog(256, Duration.ofHours(1));
+
+    private static final Map<RemediationName, AuthenticationStatus> STATUS_BY_REMEDIATION = new EnumMap<>(RemediationName.class);
+
+    static {
+        STATUS_BY_REMEDIATION.put(RemediationName.REENROLL_AUTHENTICATOR, AuthenticationStatus.PASSWORD_EXPIRED);
+        STATUS_BY_REMEDIATION.put(RemediationName.AUTHENTICATOR_VERIFICATION_DATA, AuthenticationStatus.AWAITING_AUTHENTICATOR_VERIFICATION_DATA);
+        STATUS_BY_REMEDIATION.put(RemediationName.AUTHENTICATOR_ENROLLMENT_DATA, AuthenticationStatus.AWAITING_AUTHENTICATOR_ENROLLMENT_DATA);
+        STATUS_BY_REMEDIATION.put(RemediationName.CHALLENGE_AUTHENTICATOR, AuthenticationStatus.AWAITING_AUTHENTICATOR_VERIFICATION);
+        STATUS_BY_REMEDIATION.put(RemediationName.SELECT_AUTHENTICATOR_AUTHENTICATE, AuthenticationStatus.AWAITING_AUTHENTICATOR_SELECTION);
+        STATUS_BY_REMEDIATION.put(RemediationName.SELECT_AUTHENTICATOR_ENROLL, AuthenticationStatus.AWAITING_AUTHENTICATOR_ENROLLMENT_SELECTION);
+        STATUS_BY_REMEDIATION.put(RemediationName.ENROLL_PROFILE, AuthenticationStatus.AWAITING_PROFILE_ENROLLMENT);
+        STATUS_BY_REMEDIATION.put(RemediationName.ENROLL_AUTHENTICATOR, AuthenticationStatus.AWAITING_AUTHENTICATOR_ENROLLMENT);
+        STATUS_BY_REMEDIATION.put(RemediationName.ENROLL_POLL, AuthenticationStatus.AWAITING_POLL_ENROLLMENT);
+        STATUS_BY_REMEDIATION.put(RemediationName.ENROLLMENT_CHANNEL_DATA, AuthenticationStatus.AWAITING_CHANNEL_DATA_ENROLLMENT);
+        STATUS_BY_REMEDIATION.put(RemediationName.CHALLENGE_POLL, AuthenticationStatus.AWAITING_CHALLENGE_POLL);
+    }
+
     private final IDXClient client;
     private final IDXClientContext clientContext;
     private final IDXResponse idxResponse;
 
+    // indexed on first lookup, possibly by the thread reading a deferred AuthenticationResponse view
+    private volatile Map<RemediationName, RemediationOption> remediationOptionsByName;
+
     static AuthenticationTransaction create(IDXClient client) throws ProcessingException {
         return create(client, null, null, null);
     }
@@ -121,69 +147,102 @@ final class AuthenticationTransaction {
     }
 
     ProceedContext createProceedContext() {
-        if (idxResponse == null || idxResponse.remediation() == null || idxResponse.remediation().remediationOptions() == null) {
+        if (idxResponse == null || idxResponse.remediation() == null) {
             return null;
         }
+        return createProceedContext(clientContext, getStateHandle(), idxResponse.remediation().getRemediationOptions(),
+                idxResponse.getCurrentAuthenticatorEnrollment(), idxResponse.getCurrentAuthenticator(),
+                idxResponse.getExpiresAt());
+    }
 
-        RemediationOption[] remediationOptions = idxResponse.remediation().remediationOptions();
-        String href = remediationOptions[0].getHref();
-        String refresh = remediationOptions[0].getRefresh();
+    private static ProceedContext createProceedContext(IDXClientContext clientContext,
+                                                       String stateHandle,
+                                                       List<RemediationOption> remediationOptions,
+                                                       CurrentAuthenticatorEnrollment currentAuthenticatorEnrollment,
+                                                       CurrentAuthenticatorEnrollment currentAuthenticator,
+                                                       String expiresAt) {
+        if (remediationOptions == null || remediationOptions.isEmpty()) {
+            return null;
+        }
+
+        String href = remediationOptions.get(0).getHref();
+        String refresh = remediationOptions.get(0).getRefresh();
 
         String skipHref = null;
-        Optional<RemediationOption> skipOptional = getOptionalRemediationOption(RemediationType.SKIP);
-        if (skipOptional.isPresent()) {
-            skipHref = skipOptional.get().getHref();
+        RemediationOption skipOption = findRemediationOption(remediationOptions, RemediationName.SKIP);
+        if (skipOption != null) {
+            skipHref = skipOption.getHref();
         }
 
-        boolean isIdentifyInOneStep = isRemediationRequireCredentials(RemediationType.IDENTIFY);
+        RemediationOption identifyOption = findRemediationOption(remediationOptions, RemediationName.IDENTIFY);
+        boolean isIdentifyInOneStep = identifyOption != null && isRequireCredentials(identifyOption);
 
         String selectProfileEnrollHref = null;
-        Optional<RemediationOption> selectEnrollProfileRemediationOption =
-                getOptionalRemediationOption(RemediationType.SELECT_ENROLL_PROFILE);
-        if (selectEnrollProfileRemediationOption.isPresent()) {
-            selectProfileEnrollHref = selectEnrollProfileRemediationOption.get().getHref();
+        RemediationOption selectEnrollProfileOption =
+                findRemediationOption(remediationOptions, RemediationName.SELECT_ENROLL_PROFILE);
+        if (selectEnrollProfileOption != null) {
+            selectProfileEnrollHref = selectEnrollProfileOption.getHref();
         }
 
         String resendHref = null;
         PollInfo pollInfo = null;
 
-        if (idxResponse.getCurrentAuthenticatorEnrollment() != null &&
-                idxResponse.getCurrentAuthenticatorEnrollment().getValue() != null) {
-            if (idxResponse.getCurrentAuthenticatorEnrollment().getValue().getResend() != null) {
-                resendHref = idxResponse.getCurrentAuthenticatorEnrollment().getValue().getResend().getHref();
+        if (currentAuthenticatorEnrollment != null && currentAuthenticatorEnrollment.getValue() != null) {
+            if (currentAuthenticatorEnrollment.getValue().getResend() != null) {
+                resendHref = currentAuthenticatorEnrollment.getValue().getResend().getHref();
             }
-            if (idxResponse.getCurrentAuthenticatorEnrollment().getValue().getPoll() != null) {
-                RemediationOption pollRemediationOption = idxResponse.getCurrentAuthenticatorEnrollment().getValue().getPoll();
+            if (currentAuthenticatorEnrollment.getValue().getPoll() != null) {
+                RemediationOption pollRemediationOption = currentAuthenticatorEnrollment.getValue().getPoll();
                 pollInfo = new PollInfo(pollRemediationOption.getHref(), Duration.ofMillis(Long.parseLong(pollRemediationOption.getRefresh())));
             }
-        } else if (idxResponse.getCurrentAuthenticator() != null &&
-                idxResponse.getCurrentAuthenticator().getValue() != null) {
-            if (idxResponse.getCurrentAuthenticator().getValue().getResend() != null) {
-                resendHref = idxResponse.getCurrentAuthenticator().getValue().getResend().getHref();
+        } else if (currentAuthenticator != null && currentAuthenticator.getValue() != null) {
+            if (currentAuthenticator.getValue().getResend() != null) {
+                resendHref = currentAuthenticator.getValue().getResend().getHref();
             }
-            if (idxResponse.getCurrentAuthenticator().getValue().getPoll() != null) {
-                RemediationOption pollRemediationOption = idxResponse.getCurrentAuthenticator().getValue().getPoll();
+            if (currentAuthenticator.getValue().getPoll() != null) {
+                RemediationOption pollRemediationOption = currentAuthenticator.getValue().getPoll();
                 pollInfo = new PollInfo(pollRemediationOption.getHref(), Duration.ofMillis(Long.parseLong(pollRemediationOption.getRefresh())));
             }
         }
 
-        return new ProceedContext(clientContext, getStateHandle(), href, skipHref, isIdentifyInOneStep,
-                selectProfileEnrollHref, resendHref, pollInfo, refresh);
+        return new ProceedContext(clientContext, stateHandle, href, skipHref, isIdentifyInOneStep,
+                selectProfileEnrollHref, resendHref, pollInfo, refresh, expiresAt);
+    }
+
+    // a linear scan, for views that must not hold on to the transaction's index
+    private static RemediationOption findRemediationOption(List<RemediationOption> remediationOptions, RemediationName name) {
+        for (RemediationOption remediationOption : remediationOptions) {
+            if (RemediationName.fromValue(remediationOption.getName()) == name) {
+                return remediationOption;
+            }
+        }
+        return null;
     }
 
-    RemediationOption getRemediationOption(String name) {
+    RemediationOption getRemediationOption(RemediationName name) {
         Optional<RemediationOption> remediationOptionsOptional = getOptionalRemediationOption(name);
         Assert.isTrue(remediationOptionsOptional.isPresent(), "Missing remediation option " + name);
         return remediationOptionsOptional.get();
     }
 
-    Optional<RemediationOption> getOptionalRemediationOption(String name) {
+    Optional<RemediationOption> getOptionalRemediationOption(RemediationName name) {
         if (idxResponse == null || idxResponse.remediation() == null) {
             return Optional.empty();
         }
-        return Arrays.stream(idxResponse.remediation().remediationOptions())
-                .filter(x -> name.equals(x.getName()))
-                .findFirst();
+        return Optional.ofNullable(remediationOptionsByName().get(name));
+    }
+
+    private Map<RemediationName, RemediationOption> remediationOptionsByName() {
+        Map<RemediationName, RemediationOption> options = remediationOptionsByName;
+        if (options == null) {
+            options = new EnumMap<>(RemediationName.class);
+            for (RemediationOption remediationOption : idxResponse.remediation().getRemediationOptions()) {
+                // first option wins, same as the previous linear scan
+                options.putIfAbsent(RemediationName.fromValue(remediationOption.getName()), remediationOption);
+            }
+            remediationOptionsByName = options;
+        }
+        return options;
     }
 
     AuthenticationTransaction proceed(Factory factory) throws ProcessingException {
@@ -199,23 +258,41 @@ final class AuthenticationTransaction {
 
     AuthenticationResponse asAuthenticationResponse(AuthenticationStatus defaultStatus) throws ProcessingException {
         AuthenticationResponse authenticationResponse = new AuthenticationResponse();
-        authenticationResponse.setProceedContext(createProceedContext());
-
-        copyErrorMessages(idxResponse, authenticationResponse);
-
-        fillOutIdps(authenticationResponse);
-        fillOutAuthenticators(authenticationResponse);
-
         if (idxResponse == null) {
             return authenticationResponse;
         }
 
+        // derived views are computed when the caller first reads them, each from only the parts of the response it
+        // reads, so a response kept in an HTTP session does not hold on to the transaction and the whole IDXResponse
+        IDXClientContext context = clientContext;
+        String stateHandle = idxResponse.getStateHandle();
+        List<RemediationOption> remediationOptions =
+                idxResponse.remediation() != null ? idxResponse.remediation().getRemediationOptions() : null;
+        CurrentAuthenticatorEnrollment currentAuthenticatorEnrollment = idxResponse.getCurrentAuthenticatorEnrollment();
+        CurrentAuthenticatorEnrollment currentAuthenticator = idxResponse.getCurrentAuthenticator();
+        String expiresAt = idxResponse.getExpiresAt();
+        Messages messages = idxResponse.getMessages();
+        RemediationOption firstRemediationOption = firstRemediationOption();
+        authenticationResponse.deferProceedContext(() -> createProceedContext(context, stateHandle, remediationOptions,
+                currentAuthenticatorEnrollment, currentAuthenticator, expiresAt));
+        authenticationResponse.deferErrors(() -> errorMessages(messages));
+        authenticationResponse.deferIdps(() -> idps(remediationOptions));
+        authenticationResponse.deferAuthenticators(() -> authenticators(firstRemediationOption));
+        authenticationResponse.deferSecurityQuestions(() -> securityQuestions(firstRemediationOption));
+
         if (idxResponse.isLoginSuccessful()) {
             // login successful
             logger.info("Login Successful!");
-            TokenResponse tokenResponse = idxResponse.getSuccessWithInteractionCode().exchangeCode(client, clientContext);
+            // with asynchronous token exchange the call to /v1/token overlaps with the caller's own work, a failure
+            // is only reported to whoever waits on the tokens so the response is never written from the exchange
+            CompletableFuture<TokenResponse> tokenResponse =
+                    idxResponse.getSuccessWithInteractionCode().exchangeCodeAsync(client, clientContext);
+            authenticationResponse.setTokenResponseFuture(tokenResponse);
+            if (tokenResponse.isDone()) {
+                // exchanged on this thread (or already over), fail the step as before
+                authenticationResponse.awaitTokenResponse();
+            }
             authenticationResponse.setAuthenticationStatus(AuthenticationStatus.SUCCESS);
-            authenticationResponse.setTokenResponse(tokenResponse);
             return authenticationResponse;
         }
 
@@ -235,49 +312,11 @@ final class AuthenticationTransaction {
             authenticationResponse.setUser(idxResponse.getUser());
         }
 
-        String firstRemediation = "";
-        if (idxResponse.remediation() != null && idxResponse.remediation().remediationOptions().length > 0) {
-            firstRemediation = idxResponse.remediation().remediationOptions()[0].getName();
-        }
-
-        switch (firstRemediation) {
-            case RemediationType.REENROLL_AUTHENTICATOR:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.PASSWORD_EXPIRED);
-                break;
-            case RemediationType.AUTHENTICATOR_VERIFICATION_DATA:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_AUTHENTICATOR_VERIFICATION_DATA);
-                break;
-            case RemediationType.AUTHENTICATOR_ENROLLMENT_DATA:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_AUTHENTICATOR_ENROLLMENT_DATA);
-                break;
-            case RemediationType.CHALLENGE_AUTHENTICATOR:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_AUTHENTICATOR_VERIFICATION);
-                break;
-            case RemediationType.SELECT_AUTHENTICATOR_AUTHENTICATE:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_AUTHENTICATOR_SELECTION);
-                break;
-            case RemediationType.SELECT_AUTHENTICATOR_ENROLL:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_AUTHENTICATOR_ENROLLMENT_SELECTION);
-                break;
-            case RemediationType.ENROLL_PROFILE:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_PROFILE_ENROLLMENT);
-                break;
-            case RemediationType.ENROLL_AUTHENTICATOR:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_AUTHENTICATOR_ENROLLMENT);
-                break;
-            case RemediationType.ENROLL_POLL:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_POLL_ENROLLMENT);
-                break;
-            case RemediationType.ENROLLMENT_CHANNEL_DATA:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_CHANNEL_DATA_ENROLLMENT);
-                break;
-            case RemediationType.CHALLENGE_POLL:
-                authenticationResponse.setAuthenticationStatus(AuthenticationStatus.AWAITING_CHALLENGE_POLL);
-                break;
-            default:
-                authenticationResponse.setAuthenticationStatus(defaultStatus);
-                break;
+        RemediationName firstRemediation = RemediationName.UNKNOWN;
+        if (firstRemediationOption != null) {
+            firstRemediation = RemediationName.fromValue(firstRemediationOption.getName());
         }
+        authenticationResponse.setAuthenticationStatus(STATUS_BY_REMEDIATION.getOrDefault(firstRemediation, defaultStatus));
 
         Optional.ofNullable(idxResponse.getCurrentAuthenticator())
                 .map(CurrentAuthenticatorEnrollment::getValue)
@@ -286,7 +325,7 @@ final class AuthenticationTransaction {
         return authenticationResponse;
     }
 
-    boolean isRemediationRequireCredentials(String name) {
+    boolean isRemediationRequireCredentials(RemediationName name) {
         if (idxResponse.remediation() == null) {
             return false;
         }
@@ -295,107 +334,100 @@ final class AuthenticationTransaction {
         if (!remediationOptionOptional.isPresent()) {
             return false;
         }
-        FormValue[] formValues = remediationOptionOptional.get().form();
-
-        Optional<FormValue> credentialsFormValueOptional = Arrays.stream(formValues)
-                .filter(x -> "credentials".equals(x.getName()))
-                .findFirst();
-
-        return credentialsFormValueOptional.isPresent();
+        return isRequireCredentials(remediationOptionOptional.get());
     }
 
-    private static void copyErrorMessages(IDXResponse idxResponse, AuthenticationResponse authenticationResponse) {
-        if (idxResponse == null || idxResponse.getMessages() == null) {
-            return;
-        }
-        Arrays.stream(idxResponse.getMessages().getValue())
-                .forEach(msg -> authenticationResponse.addError(msg.getMessage()));
+    private static boolean isRequireCredentials(RemediationOption remediationOption) {
+        return remediationOption.getFormValues().stream()
+                .anyMatch(x -> "credentials".equals(x.getName()));
     }
 
-    private void fillOutAuthenticators(AuthenticationResponse authenticationResponse) {
-        if (idxResponse == null || idxResponse.remediation() == null) {
-            return;
-        }
-        RemediationOption[] remediationOptions = idxResponse.remediation().remediationOptions();
-        if (remediationOptions.length > 0) {
-            // We only care about the first remediation.
-            fillOutAuthenticators(remediationOptions[0], authenticationResponse);
+    private static List<String> errorMessages(Messages messages) {
+        List<String> errors = new LinkedList<>();
+        if (messages != null) {
+            Arrays.stream(messages.getValue())
+                    .forEach(msg -> errors.add(msg.getMessage()));
         }
+        return errors;
     }
 
-    private void fillOutIdps(AuthenticationResponse authenticationResponse) {
-        if (idxResponse == null || idxResponse.remediation() == null) {
-            return;
+    // We only care about the first remediation.
+    private RemediationOption firstRemediationOption() {
+        if (idxResponse.remediation() == null || idxResponse.remediation().getRemediationOptions().isEmpty()) {
+            return null;
         }
+        return idxResponse.remediation().getRemediationOptions().get(0);
+    }
 
+    private static List<Idp> idps(List<RemediationOption> remediationOptions) {
         List<Idp> idpList = new LinkedList<>();
+        if (remediationOptions == null) {
+            return idpList;
+        }
 
-        RemediationOption[] remediationOptions = this.getResponse().remediation().remediationOptions();
-
-        List<RemediationOption> remediationOptionList = Arrays.stream(remediationOptions)
+        List<RemediationOption> remediationOptionList = remediationOptions.stream()
                 .filter(x -> "redirect-idps".equals(x.getName()) || "redirect-idp".equals(x.getName()))
                 .collect(Collectors.toList());
 
         for (RemediationOption remediationOption : remediationOptionList) {
             idpList.add(new Idp(remediationOption.getType(), remediationOption.getHref()));
         }
+        return idpList;
+    }
 
-        authenticationResponse.setIdps(idpList);
+    private static List<Authenticator> authenticators(RemediationOption firstRemediationOption) {
+        FormValue parent = formValue(firstRemediationOption, "authenticator");
+        if (parent == null) {
+            return null;
+        }
+        List<Options> options = parent.getOptions();
+
+        List<Authenticator> authenticators = AUTHENTICATOR_CATALOG.authenticators(options, () -> getAuthenticators(options));
+        if (authenticators == null) {
+            authenticators = AUTHENTICATOR_CATALOG.authenticators(parent, () -> getAuthenticators(parent));
+        }
+        return authenticators;
     }
 
-    private void fillOutAuthenticators(RemediationOption remediationOption, AuthenticationResponse authenticationResponse) {
-        if (remediationOption != null) {
-            FormValue[] formValues = remediationOption.form();
-            if (formValues != null) {
-                Optional<FormValue> formValueOptional = Arrays.stream(formValues)
-                        .filter(x -> "authenticator".equals(x.getName()))
-                        .findFirst();
-
-                if (formValueOptional.isPresent()) {
-                    Options[] options = formValueOptional.get().options();
-
-                    List<Authenticator> authenticators = getAuthenticators(options);
-                    if (authenticators == null) {
-                        authenticators = getAuthenticators(formValueOptional.get());
-                    }
+    private static List<SecurityQuestion> securityQuestions(RemediationOption firstRemediationOption) {
+        // security questions are only offered by a form without an authenticator choice
+        if (formValue(firstRemediationOption, "authenticator") != null) {
+            return null;
+        }
+        FormValue credentials = formValue(firstRemediationOption, "credentials");
+        if (credentials == null) {
+            return null;
+        }
+        List<Options> options = credentials.getOptions();
+        boolean isSecQnAuth = options.stream().anyMatch(x -> "Choose a security question".equals(x.getLabel()));
+        if (!isSecQnAuth) {
+            return null;
+        }
+        return AUTHENTICATOR_CATALOG.securityQuestions(options, () -> getSecurityQuestions(options));
+    }
 
-                    authenticationResponse.setAuthenticators(authenticators);
-                } else {
-                    formValueOptional = Arrays.stream(formValues)
-                            .filter(x -> "credentials".equals(x.getName()))
-                            .findFirst();
-
-                    if (formValueOptional.isPresent()) {
-                        Options[] options = formValueOptional.get().options();
-
-                        if (options != null) {
-                            boolean isSecQnAuth = Arrays.stream(options).anyMatch(x -> "Choose a security question".equals(x.getLabel()));
-
-                            if (isSecQnAuth) {
-                                List<SecurityQuestion> securityQuestions = getSecurityQuestions(options);
-                                if (securityQuestions != null) {
-                                    authenticationResponse.setSecurityQuestions(securityQuestions);
-                                }
-                            }
-                        }
-                    }
+    private static FormValue formValue(RemediationOption remediationOption, String name) {
+        if (remediationOption != null) {
+            for (FormValue formValue : remediationOption.getFormValues()) {
+                if (name.equals(formValue.getName())) {
+                    return formValue;
                 }
             }
         }
+        return null;
     }
 
-    private List<SecurityQuestion> getSecurityQuestions(Options[] options) {
-        if (options == null || options.length == 0) {
+    private static List<SecurityQuestion> getSecurityQuestions(List<Options> options) {
+        if (options == null || options.isEmpty()) {
             return null;
         }
 
         List<SecurityQuestion> securityQuestions = new ArrayList<>();
 
         for (Options option : options) {
-            FormValue[] optionFormValues = ((OptionsForm) option.getValue()).getForm().getValue();
-            for (FormValue formValue : optionFormValues) {
-                if (formValue.options() != null) {
-                    Arrays.stream(formValue.options()).forEach(e -> securityQuestions.add(new SecurityQuestion(e.getLabel(), String.valueOf(e.getValue()))));
+            for (FormValue formValue : ((OptionsForm) option.getValue()).getForm().getFormValues()) {
+                if (formValue.getOptions() != null) {
+                    formValue.getOptions().forEach(e -> securityQuestions.add(new SecurityQuestion(e.getLabel(), String.valueOf(e.getValue()))));
                 }
             }
         }
@@ -403,8 +435,8 @@ final class AuthenticationTransaction {
         return securityQuestions;
     }
 
-    private List<Authenticator> getAuthenticators(Options[] options) {
-        if (options == null || options.length == 0) {
+    private static List<Authenticator> getAuthenticators(List<Options> options) {
+        if (options == null || options.isEmpty()) {
             return null;
         }
         List<Authenticator> authenticators = new ArrayList<>();
@@ -418,13 +450,12 @@ final class AuthenticationTransaction {
             boolean isChannelFactor = false;
             Map<String, String> nestedMethods = new LinkedHashMap<>();
 
-            FormValue[] optionFormValues = ((OptionsForm) option.getValue()).getForm().getValue();
-            for (FormValue formValue : optionFormValues) {
+            for (FormValue formValue : ((OptionsForm) option.getValue()).getForm().getFormValues()) {
                 if (formValue.getName().equals("methodType")) {
                     authenticatorType = String.valueOf(formValue.getValue());
                     // parse value from children
-                    Options[] nestedOptions = formValue.options();
-                    if (nestedOptions.length > 0) {
+                    List<Options> nestedOptions = formValue.getOptions();
+                    if (!nestedOptions.isEmpty()) {
                         for (Options children : nestedOptions) {
                             nestedMethods.put(String.valueOf(children.getValue()), String.valueOf(children.getLabel()));
                             authenticatorType = String.valueOf(option.getLabel()).toLowerCase(Locale.ROOT);
@@ -437,8 +468,8 @@ final class AuthenticationTransaction {
                     authenticatorType = String.valueOf(option.getLabel())
                             .toLowerCase(Locale.ROOT).replaceAll(" ", "_");
                     isChannelFactor = true;
-                    Options[] nestedOptions = formValue.options();
-                    if (nestedOptions.length > 0) {
+                    List<Options> nestedOptions = formValue.getOptions();
+                    if (!nestedOptions.isEmpty()) {
                         for (Options children : nestedOptions) {
                             nestedMethods.put(String.valueOf(children.getValue()), String.valueOf(children.getLabel()));
                         }
@@ -461,12 +492,12 @@ final class AuthenticationTransaction {
                         id, entry.getKey(), enrollmentId, entry.getValue(), isChannelFactor ? entry.getKey() : null)
                 );
             }
-            authenticators.add(new Authenticator(id, authenticatorType, label, factors, hasNestedFactors));
+            authenticators.add(new Authenticator(id, authenticatorType, label, Collections.unmodifiableList(factors), hasNestedFactors));
         }
         return authenticators;
     }
 
-    private List<Authenticator> getAuthenticators(FormValue parent) {
+    private static List<Authenticator> getAuthenticators(FormValue parent) {
         if (parent == null) {
             return null;
         }
@@ -479,12 +510,12 @@ final class AuthenticationTransaction {
         Map<String, String> nestedMethods = new LinkedHashMap<>();
         boolean hasNestedFactors = false;
 
-        for (FormValue formValue : parent.form().getValue()) {
+        for (FormValue formValue : parent.form().getFormValues()) {
             if (formValue.getName().equals("methodType")) {
                 authenticatorType = String.valueOf(formValue.getValue());
                 // parse value from children
-                Options[] nestedOptions = formValue.options();
-                if (nestedOptions.length > 0) {
+                List<Options> nestedOptions = formValue.getOptions();
+                if (!nestedOptions.isEmpty()) {
                     for (Options children : nestedOptions) {
                         nestedMethods.put(String.valueOf(children.getValue()), String.valueOf(children.getLabel()));
                         authenticatorType = label.toLowerCase(Locale.ROOT);
@@ -506,7 +537,7 @@ final class AuthenticationTransaction {
         for (Map.Entry<String, String> entry : nestedMethods.entrySet()) {
             factors.add(new Authenticator.Factor(id, entry.getKey(), enrollmentId, entry.getValue(), null));
         }
-        authenticators.add(new Authenticator(id, authenticatorType, label, factors, hasNestedFactors));
+        authenticators.add(new Authenticator(id, authenticatorType, label, Collections.unmodifiableList(factors), hasNestedFactors));
 
         return authenticators;
     }
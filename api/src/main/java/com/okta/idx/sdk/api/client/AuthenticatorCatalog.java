@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.okta.idx.sdk.api.model.FormValue;
+import com.okta.idx.sdk.api.model.Options;
+import com.okta.idx.sdk.api.model.OptionsForm;
+import com.okta.idx.sdk.api.model.OptionsFormVal;
+import com.okta.idx.sdk.api.model.SecurityQuestion;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Shares the {@link Authenticator} and {@link SecurityQuestion} lists parsed from remediation forms across
+ * transactions.
+ * <p>
+ * Entries are keyed by a fingerprint of the option set Okta returned, so a list is only parsed again when
+ * the options themselves change, e.g. after an authenticator was added to the org. Cached lists and the
+ * factor lists inside them are unmodifiable.
+ */
+final class AuthenticatorCatalog {
+
+    private static final long FINGERPRINT_SEED = 0xcbf29ce484222325L;
+    private static final long FINGERPRINT_PRIME = 0x100000001b3L;
+
+    private final ExpiringCache<Long, List<Authenticator>> authenticators;
+    private final ExpiringCache<Long, List<SecurityQuestion>> securityQuestions;
+    private final Clock clock;
+    private final long ttlMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    AuthenticatorCatalog(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    AuthenticatorCatalog(int maxSize, Duration ttl, Clock clock) {
+        this.authenticators = new ExpiringCache<>(maxSize, clock);
+        this.securityQuestions = new ExpiringCache<>(maxSize, clock);
+        this.clock = clock;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * @param options the {@code authenticator} options of a remediation form
+     * @param parser  parses the options when they are not in the catalog yet, must return unmodifiable lists
+     * @return the shared authenticator list for the options, or whatever {@code parser} returned if it is null
+     */
+    List<Authenticator> authenticators(List<Options> options, Supplier<List<Authenticator>> parser) {
+        long fingerprint = fingerprint(FINGERPRINT_SEED, options);
+        List<Authenticator> cached = authenticators.get(fingerprint);
+        if (cached != null && sameIds(cached, options)) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        return cache(authenticators, fingerprint, parser.get());
+    }
+
+    /**
+     * @param parent the {@code authenticator} form value of a remediation form that has no options
+     * @param parser parses the form value when it is not in the catalog yet, must return unmodifiable lists
+     * @return the shared authenticator list for the form value, or whatever {@code parser} returned if it is null
+     */
+    List<Authenticator> authenticators(FormValue parent, Supplier<List<Authenticator>> parser) {
+        long fingerprint = fingerprint(FINGERPRINT_SEED ^ 1, parent);
+        List<Authenticator> cached = authenticators.get(fingerprint);
+        if (cached != null && cached.size() == 1 && Objects.equals(cached.get(0).getId(), valueOf(parent.form(), "id"))) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        return cache(authenticators, fingerprint, parser.get());
+    }
+
+    /**
+     * @param options the {@code credentials} options of a security question remediation form
+     * @param parser  parses the options when they are not in the catalog yet
+     * @return the shared security question list for the options, or whatever {@code parser} returned if it is null
+     */
+    List<SecurityQuestion> securityQuestions(List<Options> options, Supplier<List<SecurityQuestion>> parser) {
+        long fingerprint = fingerprint(FINGERPRINT_SEED, options);
+        List<SecurityQuestion> cached = securityQuestions.get(fingerprint);
+        if (cached != null && sameQuestions(cached, options)) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        return cache(securityQuestions, fingerprint, parser.get());
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+
+    void clear() {
+        authenticators.clear();
+        securityQuestions.clear();
+    }
+
+    private <T> List<T> cache(ExpiringCache<Long, List<T>> cache, long fingerprint, List<T> parsed) {
+        if (parsed == null) {
+            return null;
+        }
+        List<T> shared = Collections.unmodifiableList(parsed);
+        cache.invalidate(fingerprint);
+        cache.putIfAbsent(fingerprint, shared, clock.millis() + ttlMillis);
+        return shared;
+    }
+
+    // a 64 bit fingerprint could still collide, so a hit must also carry the same authenticator ids
+    private static boolean sameIds(List<Authenticator> cached, List<Options> options) {
+        if (cached.size() != options.size()) {
+            return false;
+        }
+        for (int i = 0; i < options.size(); i++) {
+            Object value = options.get(i).getValue();
+            String id = value instanceof OptionsForm ? valueOf(((OptionsForm) value).getForm(), "id") : null;
+            if (!Objects.equals(cached.get(i).getId(), id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // same for security questions: a hit must carry the same labels and values, in the order they are offered
+    private static boolean sameQuestions(List<SecurityQuestion> cached, List<Options> options) {
+        int i = 0;
+        for (Options option : options) {
+            Object value = option.getValue();
+            if (!(value instanceof OptionsForm) || ((OptionsForm) value).getForm() == null) {
+                return false;
+            }
+            for (FormValue formValue : ((OptionsForm) value).getForm().getFormValues()) {
+                if (formValue.getOptions() == null) {
+                    continue;
+                }
+                for (Options question : formValue.getOptions()) {
+                    if (i >= cached.size()) {
+                        return false;
+                    }
+                    SecurityQuestion securityQuestion = cached.get(i++);
+                    if (!Objects.equals(securityQuestion.getLabel(), question.getLabel())
+                            || !Objects.equals(securityQuestion.getValue(), String.valueOf(question.getValue()))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return i == cached.size();
+    }
+
+    private static String valueOf(OptionsFormVal form, String name) {
+        if (form == null) {
+            return null;
+        }
+        for (FormValue formValue : form.getFormValues()) {
+            if (name.equals(formValue.getName())) {
+                return String.valueOf(formValue.getValue());
+            }
+        }
+        return null;
+    }
+
+    private static long fingerprint(long hash, List<Options> options) {
+        if (options == null) {
+            return mix(hash, 0);
+        }
+        hash = mix(hash, options.size());
+        for (Options option : options) {
+            hash = mix(hash, Objects.hashCode(option.getLabel()));
+            Object value = option.getValue();
+            if (value instanceof OptionsForm) {
+                hash = fingerprint(hash, ((OptionsForm) value).getForm());
+            } else {
+                hash = mix(hash, Objects.hashCode(value));
+            }
+        }
+        return hash;
+    }
+
+    private static long fingerprint(long hash, OptionsFormVal form) {
+        if (form == null) {
+            return mix(hash, 0);
+        }
+        List<FormValue> formValues = form.getFormValues();
+        hash = mix(hash, formValues.size());
+        for (FormValue formValue : formValues) {
+            hash = fingerprint(hash, formValue);
+        }
+        return hash;
+    }
+
+    private static long fingerprint(long hash, FormValue formValue) {
+        hash = mix(hash, Objects.hashCode(formValue.getName()));
+        hash = mix(hash, Objects.hashCode(formValue.getLabel()));
+        hash = mix(hash, Objects.hashCode(formValue.getValue()));
+        hash = fingerprint(hash, formValue.getOptions());
+        return fingerprint(hash, formValue.form());
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * FINGERPRINT_PRIME;
+    }
+}
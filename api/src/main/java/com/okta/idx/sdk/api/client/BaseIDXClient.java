@@ -16,9 +16,13 @@
 package com.okta.idx.sdk.api.client;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.okta.commons.http.DefaultRequest;
 import com.okta.commons.http.HttpException;
@@ -35,11 +39,16 @@ import com.okta.commons.lang.Assert;
 import com.okta.commons.lang.Classes;
 import com.okta.commons.lang.Strings;
 import com.okta.idx.sdk.api.config.ClientConfiguration;
+import com.okta.idx.sdk.api.deserializers.CanonicalStrings;
 import com.okta.idx.sdk.api.exception.ProcessingException;
 import com.okta.idx.sdk.api.model.RequestContext;
 import com.okta.idx.sdk.api.model.EmailTokenType;
 import com.okta.idx.sdk.api.model.FormValue;
 import com.okta.idx.sdk.api.model.IDXClientContext;
+import com.okta.idx.sdk.api.model.Jwt;
+import com.okta.idx.sdk.api.model.TokenRevocation;
+import com.okta.idx.sdk.api.model.TokenRevocationResult;
+import com.okta.idx.sdk.api.model.TokenType;
 import com.okta.idx.sdk.api.model.RemediationOption;
 import com.okta.idx.sdk.api.request.AnswerChallengeRequest;
 import com.okta.idx.sdk.api.request.CancelRequest;
@@ -56,32 +65,73 @@ import com.okta.idx.sdk.api.response.ErrorResponse;
 import com.okta.idx.sdk.api.response.IDXResponse;
 import com.okta.idx.sdk.api.response.InteractResponse;
 import com.okta.idx.sdk.api.response.TokenResponse;
+import com.okta.idx.sdk.api.response.UserInfoResponse;
 import com.okta.idx.sdk.api.util.PkceUtil;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static com.okta.idx.sdk.api.util.ClientUtil.normalizedIssuerUri;
 
 final class BaseIDXClient implements IDXClient {
 
+    private static final int USER_INFO_CACHE_MAX_SIZE = 1000;
+    private static final int USER_INFO_PREFETCH_THREADS = 4;
+    private static final int USER_INFO_PREFETCH_QUEUE_SIZE = 256;
+    private static final int TOKEN_EXCHANGE_THREADS = 8;
+    private static final int TOKEN_EXCHANGE_QUEUE_SIZE = 256;
+    private static final Duration DEFAULT_USER_INFO_TTL = Duration.ofMinutes(5);
+    private static final int MAX_RATE_LIMITED_ATTEMPTS = 10;
+    private static final Duration DEFAULT_RATE_LIMIT_PAUSE = Duration.ofSeconds(1);
+
     private final ClientConfiguration clientConfiguration;
 
     private final ObjectMapper objectMapper;
+    private final RequestEncoder requestEncoder;
+    private final ResponseDecoder responseDecoder = new ResponseDecoder();
     private final RequestExecutor requestExecutor;
+    private final EndpointResolver endpointResolver;
+    private final JwtVerifier jwtVerifier;
+    private final ExpiringCache<String, CompletableFuture<UserInfoResponse>> userInfoCache =
+            new ExpiringCache<>(USER_INFO_CACHE_MAX_SIZE);
+    private final ExecutorService userInfoPrefetchExecutor;
+    private final ExecutorService tokenExchangeExecutor;
 
     public BaseIDXClient(ClientConfiguration clientConfiguration, RequestExecutor requestExecutor) {
 
         this.clientConfiguration = clientConfiguration;
 
-        this.objectMapper = new ObjectMapper()
-            .enable(SerializationFeature.INDENT_OUTPUT)
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.objectMapper = newObjectMapper();
+        if (clientConfiguration.getFormStringCacheSize() > 0) {
+            // read by CanonicalStringDeserializer, shared by every response this client parses
+            objectMapper.setConfig(objectMapper.getDeserializationConfig().withAttribute(
+                    CanonicalStrings.class, new CanonicalStrings(clientConfiguration.getFormStringCacheSize())));
+        }
+        this.requestEncoder = new RequestEncoder(objectMapper);
 
         HttpClientConfiguration httpClientConfiguration = new HttpClientConfiguration();
         httpClientConfiguration.setBaseUrl(clientConfiguration.getBaseUrl());
@@ -93,6 +143,61 @@ final class BaseIDXClient implements IDXClient {
             String msg = "Unable to find a '" + RequestExecutorFactory.class.getName() + "' " + "implementation on the classpath.";
             this.requestExecutor = Classes.loadFromService(RequestExecutorFactory.class, msg).create(httpClientConfiguration);
         }
+
+        if (clientConfiguration.isDiscoveryEnabled()) {
+            this.endpointResolver = new EndpointResolver(IssuerEndpoints.fromIssuer(clientConfiguration),
+                    () -> getJson(clientConfiguration.getIssuer().replaceAll("/$", "") + "/.well-known/openid-configuration"),
+                    clientConfiguration.getIssuer(), clientConfiguration.getBaseUrl(),
+                    Clock.systemUTC(), clientConfiguration.getDiscoveryRefreshInterval());
+        } else {
+            this.endpointResolver = new EndpointResolver(IssuerEndpoints.fromIssuer(clientConfiguration));
+        }
+
+        this.jwtVerifier = new JwtVerifier(clientConfiguration.getIssuer(), clientConfiguration.getClientId(),
+                new JwksCache(() -> getJson(endpointResolver.endpoints().getJwksUri())), objectMapper);
+
+        if (clientConfiguration.isUserInfoPrefetchEnabled()) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    USER_INFO_PREFETCH_THREADS, USER_INFO_PREFETCH_THREADS, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(USER_INFO_PREFETCH_QUEUE_SIZE), new DaemonThreadFactory("okta-idx-userinfo"));
+            executor.allowCoreThreadTimeOut(true);
+            this.userInfoPrefetchExecutor = executor;
+        } else {
+            this.userInfoPrefetchExecutor = null;
+        }
+
+        if (clientConfiguration.isTokenExchangeAsyncEnabled()) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    TOKEN_EXCHANGE_THREADS, TOKEN_EXCHANGE_THREADS, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(TOKEN_EXCHANGE_QUEUE_SIZE), new DaemonThreadFactory("okta-idx-token"));
+            executor.allowCoreThreadTimeOut(true);
+            this.tokenExchangeExecutor = executor;
+        } else {
+            this.tokenExchangeExecutor = null;
+        }
+    }
+
+    ClientConfiguration getClientConfiguration() {
+        return clientConfiguration;
+    }
+
+    /**
+     * The number of response body bytes read from the network, compressed when
+     * {@link ClientConfiguration#isCompressionEnabled() response compression} is enabled.
+     *
+     * @return the response bytes received since this client was created
+     */
+    public long getResponseBytesReceived() {
+        return responseDecoder.getBytesReceived();
+    }
+
+    /**
+     * The number of response body bytes after decompression, i.e. what would have been received without compression.
+     *
+     * @return the decoded response bytes since this client was created
+     */
+    public long getResponseBytesDecoded() {
+        return responseDecoder.getBytesDecoded();
     }
 
     @Override
@@ -111,22 +216,23 @@ final class BaseIDXClient implements IDXClient {
             codeChallenge = PkceUtil.generateCodeChallenge(codeVerifier);
             state = UUID.randomUUID().toString();
 
-            StringBuilder urlParameters = new StringBuilder()
-                .append("client_id=").append(clientConfiguration.getClientId())
-                .append("&client_secret=").append(clientConfiguration.getClientSecret())
-                .append("&scope=").append(clientConfiguration.getScopes().stream()
+            FormEncoder urlParameters = new FormEncoder()
+                .add("client_id", clientConfiguration.getClientId())
+                .add("client_secret", clientConfiguration.getClientSecret())
+                .add("scope", clientConfiguration.getScopes().stream()
                     .map(Object::toString).collect(Collectors.joining(" ")))
-                .append("&code_challenge=").append(codeChallenge)
-                .append("&code_challenge_method=").append(PkceUtil.CODE_CHALLENGE_METHOD)
-                .append("&redirect_uri=").append(clientConfiguration.getRedirectUri())
-                .append("&state=").append(state);
+                .add("code_challenge", codeChallenge)
+                .add("code_challenge_method", PkceUtil.CODE_CHALLENGE_METHOD)
+                .add("redirect_uri", clientConfiguration.getRedirectUri())
+                .add("state", state);
             if (Strings.hasText(token) && !Strings.isEmpty(tokenType)) {
                 if (tokenType == EmailTokenType.ACTIVATION_TOKEN) {
-                    urlParameters.append("&activation_token=").append(token);
+                    urlParameters.add("activation_token", token);
                 } else if (tokenType == EmailTokenType.RECOVERY_TOKEN) {
-                    urlParameters.append("&recovery_token=").append(token);
+                    urlParameters.add("recovery_token", token);
                 }
             }
+            RequestBody body = urlParameters.encode();
 
             HttpHeaders httpHeaders = getHttpHeaders(true);
 
@@ -151,13 +257,11 @@ final class BaseIDXClient implements IDXClient {
                 }
             }
 
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                 HttpMethod.POST,
-                normalizedIssuerUri(clientConfiguration.getIssuer(), "/v1/interact"),
-                null,
+                endpointResolver.endpoints().getInteractEndpoint(),
                 httpHeaders,
-                new ByteArrayInputStream(urlParameters.toString().getBytes(StandardCharsets.UTF_8)),
-                -1L);
+                body);
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -165,7 +269,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
+            JsonNode responseJsonNode = objectMapper.readTree(responseDecoder.body(response));
 
             interactResponse = objectMapper.convertValue(responseJsonNode, InteractResponse.class);
 
@@ -187,13 +291,11 @@ final class BaseIDXClient implements IDXClient {
         IntrospectRequest introspectRequest = new IntrospectRequest(idxClientContext.getInteractionHandle());
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                 HttpMethod.POST,
-                clientConfiguration.getBaseUrl() + "/idp/idx/introspect",
-                null,
+                endpointResolver.endpoints().getIdxIntrospectEndpoint(),
                 getHttpHeaders(false),
-                new ByteArrayInputStream(objectMapper.writeValueAsBytes(introspectRequest)),
-                -1L);
+                requestEncoder.json(introspectRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -201,9 +303,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, ResponseProjection.FULL);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -218,13 +318,11 @@ final class BaseIDXClient implements IDXClient {
         IDXResponse idxResponse;
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                 HttpMethod.POST,
                 href,
-                null,
                 getHttpHeaders(false),
-                new ByteArrayInputStream(objectMapper.writeValueAsBytes(identifyRequest)),
-                -1L);
+                requestEncoder.json(identifyRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -232,9 +330,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, ResponseProjection.FULL);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -249,13 +345,11 @@ final class BaseIDXClient implements IDXClient {
         IDXResponse idxResponse;
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                 HttpMethod.POST,
                 href,
-                null,
                 getHttpHeaders(false),
-                new ByteArrayInputStream(objectMapper.writeValueAsBytes(enrollRequest)),
-                -1L);
+                requestEncoder.json(enrollRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -263,9 +357,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, ResponseProjection.FULL);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -280,13 +372,11 @@ final class BaseIDXClient implements IDXClient {
         IDXResponse idxResponse;
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                 HttpMethod.POST,
                 href,
-                null,
                 getHttpHeaders(false),
-                new ByteArrayInputStream(objectMapper.writeValueAsBytes(challengeRequest)),
-                -1L);
+                requestEncoder.json(challengeRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -294,9 +384,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, ResponseProjection.FULL);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -311,13 +399,11 @@ final class BaseIDXClient implements IDXClient {
         IDXResponse idxResponse;
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                 HttpMethod.POST,
                 href,
-                null,
                 getHttpHeaders(false),
-                new ByteArrayInputStream(objectMapper.writeValueAsBytes(answerChallengeRequest)),
-                -1L);
+                requestEncoder.json(answerChallengeRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -325,9 +411,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, ResponseProjection.FULL);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -338,19 +422,22 @@ final class BaseIDXClient implements IDXClient {
 
     @Override
     public IDXResponse cancel(String stateHandle) throws ProcessingException {
+        return cancel(stateHandle, ResponseProjection.FULL);
+    }
+
+    @Override
+    public IDXResponse cancel(String stateHandle, ResponseProjection projection) throws ProcessingException {
 
         IDXResponse idxResponse;
 
         CancelRequest cancelRequest = CancelRequestBuilder.builder().withStateHandle(stateHandle).build();
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                 HttpMethod.POST,
-                clientConfiguration.getBaseUrl() + "/idp/idx/cancel",
-                null,
+                endpointResolver.endpoints().getIdxCancelEndpoint(),
                 getHttpHeaders(false),
-                new ByteArrayInputStream(objectMapper.writeValueAsBytes(cancelRequest)),
-                -1L);
+                requestEncoder.json(cancelRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -358,9 +445,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, projection);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -376,13 +461,11 @@ final class BaseIDXClient implements IDXClient {
         IDXResponse idxResponse;
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                     HttpMethod.POST,
                     href,
-                    null,
                     getHttpHeaders(false),
-                    new ByteArrayInputStream(objectMapper.writeValueAsBytes(enrollUserProfileUpdateRequest)),
-                    -1L);
+                    requestEncoder.json(enrollUserProfileUpdateRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -390,9 +473,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, ResponseProjection.FULL);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -403,17 +484,21 @@ final class BaseIDXClient implements IDXClient {
 
     @Override
     public IDXResponse skip(SkipAuthenticatorEnrollmentRequest skipAuthenticatorEnrollmentRequest, String href) throws ProcessingException {
+        return skip(skipAuthenticatorEnrollmentRequest, href, ResponseProjection.FULL);
+    }
+
+    @Override
+    public IDXResponse skip(SkipAuthenticatorEnrollmentRequest skipAuthenticatorEnrollmentRequest, String href,
+                            ResponseProjection projection) throws ProcessingException {
 
         IDXResponse idxResponse;
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                     HttpMethod.POST,
                     href,
-                    null,
                     getHttpHeaders(false),
-                    new ByteArrayInputStream(objectMapper.writeValueAsBytes(skipAuthenticatorEnrollmentRequest)),
-                    -1L);
+                    requestEncoder.json(skipAuthenticatorEnrollmentRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -421,9 +506,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, projection);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -438,13 +521,11 @@ final class BaseIDXClient implements IDXClient {
         IDXResponse idxResponse;
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                     HttpMethod.POST,
-                    Strings.hasText(href) ? href : clientConfiguration.getBaseUrl() + "/idp/idx/recover",
-                    null,
+                    Strings.hasText(href) ? href : endpointResolver.endpoints().getIdxRecoverEndpoint(),
                     getHttpHeaders(false),
-                    new ByteArrayInputStream(objectMapper.writeValueAsBytes(recoverRequest)),
-                    -1L);
+                    requestEncoder.json(recoverRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -452,9 +533,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, ResponseProjection.FULL);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -465,17 +544,20 @@ final class BaseIDXClient implements IDXClient {
 
     @Override
     public IDXResponse poll(PollRequest pollRequest, String href) throws ProcessingException {
+        return poll(pollRequest, href, ResponseProjection.FULL);
+    }
+
+    @Override
+    public IDXResponse poll(PollRequest pollRequest, String href, ResponseProjection projection) throws ProcessingException {
 
         IDXResponse idxResponse;
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                     HttpMethod.POST,
-                    Strings.hasText(href) ? href : clientConfiguration.getBaseUrl() + "/idp/idx/challenge/poll",
-                    null,
+                    Strings.hasText(href) ? href : endpointResolver.endpoints().getIdxPollEndpoint(),
                     getHttpHeaders(false),
-                    new ByteArrayInputStream(objectMapper.writeValueAsBytes(pollRequest)),
-                    -1L);
+                    requestEncoder.json(pollRequest));
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -483,9 +565,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
-
-            idxResponse = objectMapper.convertValue(responseJsonNode, IDXResponse.class);
+            idxResponse = readIdxResponse(response, projection);
 
         } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
@@ -496,7 +576,7 @@ final class BaseIDXClient implements IDXClient {
 
     @Override
     public TokenResponse token(String grantType, String interactionCode, IDXClientContext idxClientContext) throws ProcessingException {
-        String tokenUrl = normalizedIssuerUri(clientConfiguration.getIssuer(), "/v1/token");
+        String tokenUrl = endpointResolver.endpoints().getTokenEndpoint();
         return token(tokenUrl, grantType, interactionCode, idxClientContext);
     }
 
@@ -505,23 +585,21 @@ final class BaseIDXClient implements IDXClient {
 
         TokenResponse tokenResponse;
 
-        StringBuilder urlParameters = new StringBuilder();
-        urlParameters.append("grant_type=").append(grantType);
-        urlParameters.append("&client_id=").append(clientConfiguration.getClientId());
+        FormEncoder urlParameters = new FormEncoder()
+            .add("grant_type", grantType)
+            .add("client_id", clientConfiguration.getClientId());
         if (Strings.hasText(clientConfiguration.getClientSecret())) {
-            urlParameters.append("&client_secret=").append(clientConfiguration.getClientSecret());
+            urlParameters.add("client_secret", clientConfiguration.getClientSecret());
         }
-        urlParameters.append("&interaction_code=").append(interactionCode);
-        urlParameters.append("&code_verifier=").append(idxClientContext.getCodeVerifier());
+        urlParameters.add("interaction_code", interactionCode);
+        urlParameters.add("code_verifier", idxClientContext.getCodeVerifier());
 
         try {
-            Request request = new DefaultRequest(
+            Request request = newRequest(
                 HttpMethod.POST,
                 url,
-                null,
                 getHttpHeaders(true),
-                new ByteArrayInputStream(urlParameters.toString().getBytes(StandardCharsets.UTF_8)),
-                -1L);
+                urlParameters.encode());
 
             Response response = requestExecutor.executeRequest(request);
 
@@ -529,7 +607,7 @@ final class BaseIDXClient implements IDXClient {
                 handleErrorResponse(request, response);
             }
 
-            JsonNode responseJsonNode = objectMapper.readTree(response.getBody());
+            JsonNode responseJsonNode = objectMapper.readTree(responseDecoder.body(response));
 
             tokenResponse = objectMapper.convertValue(responseJsonNode, TokenResponse.class);
 
@@ -537,56 +615,389 @@ final class BaseIDXClient implements IDXClient {
             throw new ProcessingException(e);
         }
 
+        if (userInfoPrefetchExecutor != null && Strings.hasText(tokenResponse.getAccessToken())
+                && clientConfiguration.getScopes().contains("openid")) {
+            // start the userinfo round trip now, so it overlaps with the rest of the post-login work
+            prefetchUserInfo(tokenResponse.getAccessToken(), tokenResponse.getExpiresIn());
+        }
+
         return tokenResponse;
     }
 
+    @Override
+    public CompletableFuture<TokenResponse> tokenAsync(String url, String grantType, String interactionCode, IDXClientContext idxClientContext) {
+
+        CompletableFuture<TokenResponse> tokenFuture = new CompletableFuture<>();
+        Runnable exchange = () -> {
+            try {
+                tokenFuture.complete(token(url, grantType, interactionCode, idxClientContext));
+            } catch (ProcessingException | RuntimeException e) {
+                tokenFuture.completeExceptionally(e);
+            }
+        };
+
+        if (tokenExchangeExecutor == null) {
+            exchange.run();
+            return tokenFuture;
+        }
+        try {
+            tokenExchangeExecutor.execute(exchange);
+        } catch (RejectedExecutionException e) {
+            // the interaction code is single use and short lived, exchange it now rather than fail the login
+            exchange.run();
+        }
+        return tokenFuture;
+    }
+
     @Override
     public void revokeToken(String tokenType, String token) throws ProcessingException {
 
-        StringBuilder urlParameters = new StringBuilder();
-        urlParameters.append("client_id=").append(clientConfiguration.getClientId());
+        Request request = revocationRequest(tokenType, token);
+
+        try {
+            Response response = requestExecutor.executeRequest(request);
+
+            if (response.getHttpStatus() != 200) {
+                handleErrorResponse(request, response);
+            }
+        } catch (IOException | HttpException e) {
+            throw new ProcessingException(e);
+        } finally {
+            onTokenRevoked(tokenType, token);
+        }
+    }
+
+    @Override
+    public List<TokenRevocationResult> revokeTokens(Collection<TokenRevocation> revocations,
+                                                    Consumer<TokenRevocationResult> listener) {
+
+        Assert.notNull(revocations, "revocations cannot be null");
+
+        List<TokenRevocation> pending = new ArrayList<>(revocations);
+        TokenRevocationResult[] results = new TokenRevocationResult[pending.size()];
+        AtomicInteger nextIndex = new AtomicInteger();
+        RateLimiter rateLimiter = new RateLimiter(clientConfiguration.getRevocationRateLimit());
+        Object listenerLock = new Object();
+
+        int parallelism = Math.max(1, Math.min(clientConfiguration.getRevocationParallelism(), pending.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory("okta-idx-bulk-revocation"));
+
+        for (int i = 0; i < parallelism; i++) {
+            executor.execute(() -> {
+                int index;
+                while (!Thread.currentThread().isInterrupted() && (index = nextIndex.getAndIncrement()) < pending.size()) {
+                    TokenRevocationResult result = revoke(pending.get(index), rateLimiter);
+                    results[index] = result;
+                    if (listener != null) {
+                        synchronized (listenerLock) {
+                            listener.accept(result);
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = new TokenRevocationResult(pending.get(i), TokenRevocationResult.Status.NOT_ATTEMPTED, null);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Revoke a single token of a bulk revocation. A 429 response pauses every worker until the rate limit
+     * resets and is then retried; any other failure is reported in the result.
+     */
+    private TokenRevocationResult revoke(TokenRevocation revocation, RateLimiter rateLimiter) {
+
+        String tokenType = revocation.getTokenType().toString();
+
+        for (int attempt = 1; ; attempt++) {
+            Request request = revocationRequest(tokenType, revocation.getToken());
+            try {
+                rateLimiter.acquire();
+                Response response = requestExecutor.executeRequest(request);
+
+                if (response.getHttpStatus() == 200) {
+                    onTokenRevoked(tokenType, revocation.getToken());
+                    return new TokenRevocationResult(revocation, TokenRevocationResult.Status.REVOKED, null);
+                }
+                if (response.getHttpStatus() == 429 && attempt < MAX_RATE_LIMITED_ATTEMPTS) {
+                    rateLimiter.pauseUntil(rateLimitResetMillis(response));
+                    continue;
+                }
+                handleErrorResponse(request, response);
+            } catch (ProcessingException e) {
+                return new TokenRevocationResult(revocation, TokenRevocationResult.Status.FAILED, e);
+            } catch (IOException | HttpException e) {
+                return new TokenRevocationResult(revocation, TokenRevocationResult.Status.FAILED, new ProcessingException(e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new TokenRevocationResult(revocation, TokenRevocationResult.Status.NOT_ATTEMPTED, null);
+            }
+        }
+    }
+
+    /**
+     * @return a mapper configured the way every client reads responses and writes requests
+     */
+    static ObjectMapper newObjectMapper() {
+        return new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    private static long rateLimitResetMillis(Response response) {
+        String reset = response.getHeaders().getFirst("X-Rate-Limit-Reset");
+        if (Strings.hasText(reset)) {
+            try {
+                // epoch seconds
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(reset.trim()));
+            } catch (NumberFormatException e) {
+                // fall through to the default pause
+            }
+        }
+        return System.currentTimeMillis() + DEFAULT_RATE_LIMIT_PAUSE.toMillis();
+    }
+
+    private Request revocationRequest(String tokenType, String token) {
+
+        FormEncoder urlParameters = new FormEncoder()
+                .add("client_id", clientConfiguration.getClientId());
         if (Strings.hasText(clientConfiguration.getClientSecret())) {
-            urlParameters.append("&client_secret=").append(clientConfiguration.getClientSecret());
+            urlParameters.add("client_secret", clientConfiguration.getClientSecret());
+        }
+        urlParameters.add("token_type_hint", tokenType);
+        urlParameters.add("token", token);
+
+        return newRequest(
+                HttpMethod.POST,
+                endpointResolver.endpoints().getRevocationEndpoint(),
+                getHttpHeaders(true),
+                urlParameters.encode());
+    }
+
+    private void onTokenRevoked(String tokenType, String token) {
+        if (TokenType.ACCESS_TOKEN.toString().equals(tokenType) && token != null) {
+            // a revoked token must not keep serving cached userinfo
+            userInfoCache.invalidate(userInfoCacheKey(token));
         }
-        urlParameters.append("&token_type_hint=").append(tokenType);
-        urlParameters.append("&token=").append(token);
+    }
+
+    @Override
+    public Response verifyEmailToken(String token) throws ProcessingException {
+
+        RequestBody urlParameter = new FormEncoder()
+                .add("token", token)
+                .encode();
 
         try {
-            Request request = new DefaultRequest(
-                    HttpMethod.POST,
-                    normalizedIssuerUri(clientConfiguration.getIssuer(), "/v1/revoke"),
-                    null,
-                    getHttpHeaders(true),
-                    new ByteArrayInputStream(urlParameters.toString().getBytes(StandardCharsets.UTF_8)),
-                    -1L);
+            HttpHeaders httpHeaders = getHttpHeaders(false);
+            // the response is handed to the caller as it is, so it must not be compressed
+            httpHeaders.remove("Accept-Encoding");
+
+            Request request = newRequest(
+                    HttpMethod.GET,
+                    endpointResolver.endpoints().getEmailVerifyEndpoint(),
+                    httpHeaders,
+                    urlParameter);
 
-            requestExecutor.executeRequest(request);
+            return requestExecutor.executeRequest(request);
         } catch (HttpException e) {
             throw new ProcessingException(e);
         }
     }
 
     @Override
-    public Response verifyEmailToken(String token) throws ProcessingException {
+    public Jwt verifyIdToken(String idToken) throws ProcessingException {
+        return jwtVerifier.verifyIdToken(idToken);
+    }
+
+    @Override
+    public Jwt verifyAccessToken(String accessToken, String expectedAudience) throws ProcessingException {
+        return jwtVerifier.verifyAccessToken(accessToken, expectedAudience);
+    }
+
+    @Override
+    public UserInfoResponse userInfo(String accessToken) throws ProcessingException {
+
+        Assert.hasText(accessToken, "accessToken is required");
+
+        String cacheKey = userInfoCacheKey(accessToken);
+        CompletableFuture<UserInfoResponse> userInfoFuture = userInfoCache.get(cacheKey);
+
+        if (userInfoFuture == null) {
+            CompletableFuture<UserInfoResponse> newFuture = new CompletableFuture<>();
+            userInfoFuture = userInfoCache.putIfAbsent(cacheKey, newFuture, userInfoExpiresAt(accessToken, null));
+            if (userInfoFuture == null) {
+                userInfoFuture = newFuture;
+                loadUserInfo(cacheKey, accessToken, newFuture);
+            }
+        }
+
+        try {
+            return userInfoFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProcessingException) {
+                throw (ProcessingException) e.getCause();
+            }
+            throw new ProcessingException(e.getCause());
+        }
+    }
+
+    private void prefetchUserInfo(String accessToken, Integer expiresIn) {
+
+        String cacheKey = userInfoCacheKey(accessToken);
+        CompletableFuture<UserInfoResponse> newFuture = new CompletableFuture<>();
+
+        if (userInfoCache.get(cacheKey) != null
+                || userInfoCache.putIfAbsent(cacheKey, newFuture, userInfoExpiresAt(accessToken, expiresIn)) != null) {
+            return;
+        }
+
+        try {
+            userInfoPrefetchExecutor.execute(() -> loadUserInfo(cacheKey, accessToken, newFuture));
+        } catch (RejectedExecutionException e) {
+            // prefetch is best effort, userInfo() will fetch on demand instead
+            userInfoCache.invalidate(cacheKey, newFuture);
+            newFuture.completeExceptionally(new ProcessingException(e));
+        }
+    }
+
+    private void loadUserInfo(String cacheKey, String accessToken, CompletableFuture<UserInfoResponse> userInfoFuture) {
+
+        HttpHeaders httpHeaders = getJsonHttpHeaders();
+        httpHeaders.add("Authorization", "Bearer " + accessToken);
 
-        StringBuilder urlParameter = new StringBuilder();
-        urlParameter.append("token=").append(token);
+        try {
+            JsonNode responseJsonNode = getJson(endpointResolver.endpoints().getUserInfoEndpoint(), httpHeaders);
+            userInfoFuture.complete(objectMapper.convertValue(responseJsonNode, UserInfoResponse.class));
+        } catch (ProcessingException | RuntimeException e) {
+            // failures are not cached
+            userInfoCache.invalidate(cacheKey, userInfoFuture);
+            userInfoFuture.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * UserInfo is cached until the access token expires: use the token response's expires_in if known, else the
+     * (unverified) exp claim of a JWT access token, else a short default.
+     */
+    private long userInfoExpiresAt(String accessToken, Integer expiresIn) {
+
+        long now = System.currentTimeMillis();
+        if (expiresIn != null) {
+            return now + TimeUnit.SECONDS.toMillis(expiresIn);
+        }
+
+        String[] segments = accessToken.split("\\.");
+        if (segments.length == 3) {
+            try {
+                long exp = objectMapper.readTree(Base64.getUrlDecoder().decode(segments[1])).path("exp").asLong(0);
+                if (exp > 0) {
+                    return TimeUnit.SECONDS.toMillis(exp);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // opaque access token, fall through to the default
+            }
+        }
+        return now + DEFAULT_USER_INFO_TTL.toMillis();
+    }
+
+    private static String userInfoCacheKey(String accessToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(messageDigest.digest(accessToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode getJson(String url) throws ProcessingException {
+        return getJson(url, getJsonHttpHeaders());
+    }
+
+    private HttpHeaders getJsonHttpHeaders() {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.add("Accept", "application/json");
+        httpHeaders.add(HttpHeaders.USER_AGENT, getUserAgent());
+        addAcceptEncoding(httpHeaders);
+        return httpHeaders;
+    }
+
+    private JsonNode getJson(String url, HttpHeaders httpHeaders) throws ProcessingException {
 
         try {
             Request request = new DefaultRequest(
                     HttpMethod.GET,
-                    clientConfiguration.getBaseUrl() + "/email/verify",
+                    url,
                     null,
-                    getHttpHeaders(false),
-                    new ByteArrayInputStream(urlParameter.toString().getBytes(StandardCharsets.UTF_8)),
-                    -1L);
+                    httpHeaders);
 
-            return requestExecutor.executeRequest(request);
-        } catch (HttpException e) {
+            Response response = requestExecutor.executeRequest(request);
+
+            if (response.getHttpStatus() != 200) {
+                handleErrorResponse(request, response);
+            }
+
+            return objectMapper.readTree(responseDecoder.body(response));
+
+        } catch (IOException | HttpException e) {
             throw new ProcessingException(e);
         }
     }
 
+    private IDXResponse readIdxResponse(Response response, ResponseProjection projection) throws IOException {
+
+        InputStream body = responseDecoder.body(response);
+        byte[] rawBody = null;
+        int rawResponseMaxBytes = clientConfiguration.getRawResponseMaxBytes();
+        if (rawResponseMaxBytes > 0 && body != null) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.min(rawResponseMaxBytes, 8192));
+            if (ResponseDecoder.copy(body, buffer, rawResponseMaxBytes)) {
+                rawBody = buffer.toByteArray();
+                body = new ByteArrayInputStream(rawBody);
+            } else {
+                // too large to keep, parse what was read followed by the rest of the body
+                body = new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), body);
+            }
+        }
+
+        // a kept body goes into the response before it is bound
+        ObjectReader reader = rawBody != null
+                ? objectMapper.readerForUpdating(new IDXResponse(rawBody))
+                : objectMapper.readerFor(IDXResponse.class);
+        if (projection.isFull()) {
+            JsonNode responseJsonNode = objectMapper.readTree(body);
+            return responseJsonNode != null && !responseJsonNode.isMissingNode() && !responseJsonNode.isNull()
+                    ? reader.readValue(responseJsonNode)
+                    : null;
+        }
+        // sections outside the projection are skipped by the parser, without building a tree for them
+        try (JsonParser parser = new FilteringParserDelegate(
+                objectMapper.getFactory().createParser(body),
+                projection.filter(),
+                TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH,
+                true)) {
+            return reader.readValue(parser);
+        }
+    }
+
     private void handleErrorResponse(Request request, Response response) throws IOException, ProcessingException {
 
         int httpStatus = response.getHttpStatus();
@@ -597,7 +1008,7 @@ final class BaseIDXClient implements IDXClient {
         if (response.getHeaders().getContentType() != null &&
                 response.getHeaders().getContentType().toString().contains("application/json") ||
                 response.getHeaders().getContentType().toString().contains("application/ion+json")) {
-            errorResponseJson = objectMapper.readTree(response.getBody());
+            errorResponseJson = objectMapper.readTree(responseDecoder.body(response));
             ErrorResponse errorResponseDetails = objectMapper.convertValue(errorResponseJson, ErrorResponse.class);
             if (errorResponseDetails.getError() == null && errorResponseDetails.getMessages() == null) {
                 getErrorsFromRemediationOptions(errorResponseDetails, errorResponseJson);
@@ -612,13 +1023,13 @@ final class BaseIDXClient implements IDXClient {
 
         IDXResponse idxResponse = objectMapper.convertValue(errorResponseJson, IDXResponse.class);
         if(idxResponse != null && idxResponse.remediation() != null) {
-            for (RemediationOption remediationOption : idxResponse.remediation().remediationOptions()) {
+            for (RemediationOption remediationOption : idxResponse.remediation().getRemediationOptions()) {
                 if(remediationOption != null) {
-                    for (FormValue formValue : remediationOption.form()) {
+                    for (FormValue formValue : remediationOption.getFormValues()) {
                         if(formValue != null && formValue.form() != null) {
-                            for (FormValue messageFormValue : formValue.form().getValue()) {
-                                if (messageFormValue.messages != null) {
-                                    errorResponseDetails.setMessages(messageFormValue.messages);
+                            for (FormValue messageFormValue : formValue.form().getFormValues()) {
+                                if (messageFormValue.getMessages() != null) {
+                                    errorResponseDetails.setMessages(messageFormValue.getMessages());
                                     return;
                                 }
                             }
@@ -629,6 +1040,10 @@ final class BaseIDXClient implements IDXClient {
         }
     }
 
+    private static Request newRequest(HttpMethod method, String url, HttpHeaders httpHeaders, RequestBody body) {
+        return new DefaultRequest(method, url, null, httpHeaders, body.stream(), body.length());
+    }
+
     private HttpHeaders getHttpHeaders(boolean isOAuth2Endpoint) {
 
         HttpHeaders httpHeaders = new HttpHeaders();
@@ -641,12 +1056,21 @@ final class BaseIDXClient implements IDXClient {
             httpHeaders.add("Accept", "application/ion+json; okta-version=1.0.0");
         }
 
-        String userAgentValue = ApplicationInfo.get().entrySet().stream()
-                .map(entry -> entry.getKey() + "/" + entry.getValue())
-                .collect(Collectors.joining(" "));
+        httpHeaders.add(HttpHeaders.USER_AGENT, getUserAgent());
+        addAcceptEncoding(httpHeaders);
+        return httpHeaders;
+    }
 
+    private void addAcceptEncoding(HttpHeaders httpHeaders) {
+        if (clientConfiguration.isCompressionEnabled()) {
+            httpHeaders.add("Accept-Encoding", ResponseDecoder.ACCEPT_ENCODING);
+        }
+    }
+
+    private String getUserAgent() {
         // value would look like (for e.g.): okta-idx-java/3.0.0-SNAPSHOT java/1.8.0_322 Mac OS X/12.3.1
-        httpHeaders.add(HttpHeaders.USER_AGENT, userAgentValue);
-        return httpHeaders;
+        return ApplicationInfo.get().entrySet().stream()
+                .map(entry -> entry.getKey() + "/" + entry.getValue())
+                .collect(Collectors.joining(" "));
     }
 }
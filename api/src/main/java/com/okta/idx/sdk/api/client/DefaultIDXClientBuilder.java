@@ -34,6 +34,7 @@ import com.okta.idx.sdk.api.io.ResourceFactory;
 import static com.okta.idx.sdk.api.util.Constants.*;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -126,6 +127,53 @@ final class DefaultIDXClientBuilder extends IDXClientBuilder {
             clientConfig.setRedirectUri(props.get(DEFAULT_CLIENT_REDIRECT_URI_PROPERTY_NAME));
         }
 
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_DISCOVERY_ENABLED_PROPERTY_NAME))) {
+            clientConfig.setDiscoveryEnabled(Boolean.parseBoolean(props.get(DEFAULT_CLIENT_DISCOVERY_ENABLED_PROPERTY_NAME)));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_DISCOVERY_REFRESH_INTERVAL_PROPERTY_NAME))) {
+            clientConfig.setDiscoveryRefreshInterval(
+                    Duration.ofSeconds(Long.parseLong(props.get(DEFAULT_CLIENT_DISCOVERY_REFRESH_INTERVAL_PROPERTY_NAME).trim())));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_USERINFO_PREFETCH_PROPERTY_NAME))) {
+            clientConfig.setUserInfoPrefetchEnabled(Boolean.parseBoolean(props.get(DEFAULT_CLIENT_USERINFO_PREFETCH_PROPERTY_NAME)));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_REVOCATION_PARALLELISM_PROPERTY_NAME))) {
+            clientConfig.setRevocationParallelism(Integer.parseInt(props.get(DEFAULT_CLIENT_REVOCATION_PARALLELISM_PROPERTY_NAME).trim()));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_REVOCATION_RATE_LIMIT_PROPERTY_NAME))) {
+            clientConfig.setRevocationRateLimit(Double.parseDouble(props.get(DEFAULT_CLIENT_REVOCATION_RATE_LIMIT_PROPERTY_NAME).trim()));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_SIGN_UP_FORM_TTL_PROPERTY_NAME))) {
+            clientConfig.setSignUpFormTtl(
+                    Duration.ofSeconds(Long.parseLong(props.get(DEFAULT_CLIENT_SIGN_UP_FORM_TTL_PROPERTY_NAME).trim())));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_IDP_REFRESH_INTERVAL_PROPERTY_NAME))) {
+            clientConfig.setIdpRefreshInterval(
+                    Duration.ofSeconds(Long.parseLong(props.get(DEFAULT_CLIENT_IDP_REFRESH_INTERVAL_PROPERTY_NAME).trim())));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_COMPRESSION_ENABLED_PROPERTY_NAME))) {
+            clientConfig.setCompressionEnabled(Boolean.parseBoolean(props.get(DEFAULT_CLIENT_COMPRESSION_ENABLED_PROPERTY_NAME)));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_RAW_RESPONSE_MAX_BYTES_PROPERTY_NAME))) {
+            clientConfig.setRawResponseMaxBytes(Integer.parseInt(props.get(DEFAULT_CLIENT_RAW_RESPONSE_MAX_BYTES_PROPERTY_NAME).trim()));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_FORM_STRING_CACHE_SIZE_PROPERTY_NAME))) {
+            clientConfig.setFormStringCacheSize(Integer.parseInt(props.get(DEFAULT_CLIENT_FORM_STRING_CACHE_SIZE_PROPERTY_NAME).trim()));
+        }
+
+        if (Strings.hasText(props.get(DEFAULT_CLIENT_TOKEN_EXCHANGE_ASYNC_PROPERTY_NAME))) {
+            clientConfig.setTokenExchangeAsyncEnabled(Boolean.parseBoolean(props.get(DEFAULT_CLIENT_TOKEN_EXCHANGE_ASYNC_PROPERTY_NAME)));
+        }
+
         if (Strings.hasText(props.get(DEFAULT_CLIENT_TESTING_DISABLE_HTTPS_CHECK_PROPERTY_NAME))) {
             allowNonHttpsForTesting = Boolean.parseBoolean(props.get(DEFAULT_CLIENT_TESTING_DISABLE_HTTPS_CHECK_PROPERTY_NAME));
         }
@@ -161,6 +209,12 @@ final class DefaultIDXClientBuilder extends IDXClientBuilder {
         return this;
     }
 
+    @Override
+    public IDXClientBuilder setDiscoveryEnabled(boolean discoveryEnabled) {
+        this.clientConfig.setDiscoveryEnabled(discoveryEnabled);
+        return this;
+    }
+
     @Override
     public IDXClient build() {
         this.validate();
@@ -172,6 +226,15 @@ final class DefaultIDXClientBuilder extends IDXClientBuilder {
         ConfigurationValidator.assertClientId(clientConfig.getClientId());
         Assert.isTrue(!Collections.isEmpty(clientConfig.getScopes()), "At least one scope is required");
         Assert.hasText(clientConfig.getRedirectUri(), "redirectUri is required");
+        Assert.isTrue(clientConfig.getDiscoveryRefreshInterval() != null && !clientConfig.getDiscoveryRefreshInterval().isNegative()
+                && !clientConfig.getDiscoveryRefreshInterval().isZero(), "discovery refresh interval must be positive");
+        Assert.isTrue(clientConfig.getRevocationParallelism() > 0, "revocation parallelism must be positive");
+        Assert.isTrue(clientConfig.getRawResponseMaxBytes() >= 0, "raw response max bytes must not be negative");
+        Assert.isTrue(clientConfig.getFormStringCacheSize() >= 0, "form string cache size must not be negative");
+        Assert.isTrue(clientConfig.getSignUpFormTtl() != null && !clientConfig.getSignUpFormTtl().isNegative(),
+                "sign up form ttl must not be negative");
+        Assert.isTrue(clientConfig.getIdpRefreshInterval() != null && !clientConfig.getIdpRefreshInterval().isNegative()
+                && !clientConfig.getIdpRefreshInterval().isZero(), "idp refresh interval must be positive");
     }
 
     private static String[] configSources() {
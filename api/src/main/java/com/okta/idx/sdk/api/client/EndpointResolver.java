@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.okta.idx.sdk.api.exception.ProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Resolves the {@link IssuerEndpoints} for a client.
+ * <p>
+ * When discovery is enabled, the issuer's {@code .well-known/openid-configuration} document is loaded on
+ * first use and again once per refresh interval; in between, every lookup is a single volatile read of the
+ * current immutable table. If the document cannot be loaded, the last known table (initially the one derived
+ * from the issuer url) keeps being served and the load is retried after {@link #RETRY_INTERVAL}.
+ */
+final class EndpointResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointResolver.class);
+
+    static final Duration RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    interface DiscoveryDocumentLoader {
+        JsonNode load() throws ProcessingException;
+    }
+
+    private final DiscoveryDocumentLoader loader;
+    private final String expectedIssuer;
+    private final String baseUrl;
+    private final Clock clock;
+    private final long refreshIntervalMillis;
+    private final long retryIntervalMillis;
+
+    private volatile IssuerEndpoints endpoints;
+    private volatile long nextRefreshAt;
+
+    /**
+     * Resolver that always serves the given table.
+     */
+    EndpointResolver(IssuerEndpoints endpoints) {
+        this(endpoints, null, null, null, Clock.systemUTC(), Duration.ZERO);
+    }
+
+    EndpointResolver(IssuerEndpoints fallback, DiscoveryDocumentLoader loader, String expectedIssuer, String baseUrl,
+                     Clock clock, Duration refreshInterval) {
+        this.endpoints = fallback;
+        this.loader = loader;
+        this.expectedIssuer = stripTrailingSlash(expectedIssuer);
+        this.baseUrl = baseUrl;
+        this.clock = clock;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.retryIntervalMillis = Math.min(RETRY_INTERVAL.toMillis(), refreshIntervalMillis);
+        this.nextRefreshAt = loader != null ? 0 : Long.MAX_VALUE;
+    }
+
+    IssuerEndpoints endpoints() {
+        if (clock.millis() >= nextRefreshAt) {
+            refresh();
+        }
+        return endpoints;
+    }
+
+    private synchronized void refresh() {
+        long now = clock.millis();
+        if (now < nextRefreshAt) {
+            // another thread refreshed while we were waiting for the lock
+            return;
+        }
+
+        try {
+            JsonNode discoveryDocument = loader.load();
+            String issuer = stripTrailingSlash(discoveryDocument.path("issuer").asText(null));
+            if (!expectedIssuer.equals(issuer)) {
+                throw new IllegalStateException("Discovery document issuer '" + issuer + "' does not match '" + expectedIssuer + "'");
+            }
+            endpoints = endpoints.withDiscoveryDocument(discoveryDocument, baseUrl);
+            nextRefreshAt = now + refreshIntervalMillis;
+        } catch (ProcessingException | RuntimeException e) {
+            logger.warn("Failed to load the OpenID Connect discovery document, using the last known endpoints", e);
+            nextRefreshAt = now + retryIntervalMillis;
+        }
+    }
+
+    private static String stripTrailingSlash(String uri) {
+        if (uri != null && uri.endsWith("/")) {
+            return uri.substring(0, uri.length() - 1);
+        }
+        return uri;
+    }
+}
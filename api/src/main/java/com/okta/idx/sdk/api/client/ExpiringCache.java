@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small bounded cache whose entries each carry their own expiry time.
+ * <p>
+ * Expired entries are dropped lazily on lookup and whenever the cache is full; if the cache is still
+ * full after that, an arbitrary entry is evicted to make room.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class ExpiringCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Clock clock;
+
+    ExpiringCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    ExpiringCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the cached value, or null if there is none or it has expired
+     */
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(clock.millis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Cache a value unless a live value is already cached for the key.
+     *
+     * @param expiresAtMillis epoch millis after which the value must no longer be returned
+     * @return the value already cached for the key, or null if {@code value} was cached
+     */
+    V putIfAbsent(K key, V value, long expiresAtMillis) {
+        long now = clock.millis();
+        if (expiresAtMillis <= now) {
+            return null;
+        }
+        makeRoom(now);
+
+        Entry<V> newEntry = new Entry<>(value, expiresAtMillis);
+        Entry<V> existing = entries.putIfAbsent(key, newEntry);
+        while (existing != null && existing.isExpired(now)) {
+            if (entries.replace(key, existing, newEntry)) {
+                return null;
+            }
+            existing = entries.putIfAbsent(key, newEntry);
+        }
+        return existing != null ? existing.value : null;
+    }
+
+    void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove the entry for the key only if it is currently mapped to the given value.
+     */
+    void invalidate(K key, V value) {
+        entries.computeIfPresent(key, (k, entry) -> entry.value == value ? null : entry);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void makeRoom(long now) {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+/**
+ * Encodes {@code application/x-www-form-urlencoded} bodies, e.g. for the interact, token and revoke endpoints.
+ * <p>
+ * Names and values are percent-encoded as UTF-8 (space as {@code +}) through a lookup table, straight into the
+ * encoder's buffer.
+ * <pre>
+ * RequestBody body = new FormEncoder()
+ *         .add("client_id", clientId)
+ *         .add("token", token)
+ *         .encode();
+ * </pre>
+ */
+final class FormEncoder {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /** Characters that are sent as they are, the same set as {@link java.net.URLEncoder}. */
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['-'] = true;
+        UNRESERVED['.'] = true;
+        UNRESERVED['_'] = true;
+        UNRESERVED['*'] = true;
+    }
+
+    /** Enough for a token request without growing. */
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final StringBuilder form = new StringBuilder(INITIAL_CAPACITY);
+
+    /**
+     * Add a parameter, unless its value is null.
+     *
+     * @param name the parameter name
+     * @param value the parameter value, or null to leave the parameter out
+     * @return this encoder
+     */
+    FormEncoder add(String name, String value) {
+        if (value == null) {
+            return this;
+        }
+        if (form.length() > 0) {
+            form.append('&');
+        }
+        encode(name);
+        form.append('=');
+        encode(value);
+        return this;
+    }
+
+    /**
+     * @return the encoded form
+     */
+    RequestBody encode() {
+        // percent-encoding leaves only ASCII characters
+        byte[] bytes = new byte[form.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) form.charAt(i);
+        }
+        return new RequestBody(bytes);
+    }
+
+    private void encode(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 128 && UNRESERVED[c]) {
+                form.append(c);
+            } else if (c == ' ') {
+                form.append('+');
+            } else if (c < 0x80) {
+                appendEscaped(c);
+            } else if (c < 0x800) {
+                appendEscaped(0xC0 | (c >> 6));
+                appendEscaped(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                appendEscaped(0xF0 | (codePoint >> 18));
+                appendEscaped(0x80 | ((codePoint >> 12) & 0x3F));
+                appendEscaped(0x80 | ((codePoint >> 6) & 0x3F));
+                appendEscaped(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, encoded as '?' like String.getBytes does
+                appendEscaped('?');
+            } else {
+                appendEscaped(0xE0 | (c >> 12));
+                appendEscaped(0x80 | ((c >> 6) & 0x3F));
+                appendEscaped(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void appendEscaped(int b) {
+        form.append('%')
+                .append(HEX[(b >> 4) & 0xF])
+                .append(HEX[b & 0xF]);
+    }
+}
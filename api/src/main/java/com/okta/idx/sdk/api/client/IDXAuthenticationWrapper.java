@@ -15,9 +15,11 @@
  */
 package com.okta.idx.sdk.api.client;
 
+import com.okta.commons.http.RequestExecutor;
 import com.okta.commons.http.Response;
 import com.okta.commons.lang.Assert;
 import com.okta.commons.lang.Strings;
+import com.okta.idx.sdk.api.config.ClientConfiguration;
 import com.okta.idx.sdk.api.exception.ProcessingException;
 import com.okta.idx.sdk.api.model.AuthenticationOptions;
 import com.okta.idx.sdk.api.model.AuthenticationStatus;
@@ -29,10 +31,14 @@ import com.okta.idx.sdk.api.model.RequestContext;
 import com.okta.idx.sdk.api.model.EmailTokenType;
 import com.okta.idx.sdk.api.model.FormValue;
 import com.okta.idx.sdk.api.model.IDXClientContext;
+import com.okta.idx.sdk.api.model.Idp;
+import com.okta.idx.sdk.api.model.Jwt;
 import com.okta.idx.sdk.api.model.PollInfo;
 import com.okta.idx.sdk.api.model.Recover;
 import com.okta.idx.sdk.api.model.RemediationOption;
-import com.okta.idx.sdk.api.model.RemediationType;
+import com.okta.idx.sdk.api.model.RemediationName;
+import com.okta.idx.sdk.api.model.TokenRevocation;
+import com.okta.idx.sdk.api.model.TokenRevocationResult;
 import com.okta.idx.sdk.api.model.TokenType;
 import com.okta.idx.sdk.api.model.UserProfile;
 import com.okta.idx.sdk.api.model.VerifyAuthenticatorAnswer;
@@ -59,14 +65,19 @@ import com.okta.idx.sdk.api.response.AuthenticationResponse;
 import com.okta.idx.sdk.api.response.ErrorResponse;
 import com.okta.idx.sdk.api.response.IDXResponse;
 import com.okta.idx.sdk.api.response.TokenResponse;
+import com.okta.idx.sdk.api.response.UserInfoResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.okta.idx.sdk.api.client.WrapperUtil.handleIllegalArgumentException;
@@ -79,13 +90,22 @@ public class IDXAuthenticationWrapper {
 
     private static final Logger logger = LoggerFactory.getLogger(IDXAuthenticationWrapper.class);
 
+    private static final int SIGN_UP_FORM_CACHE_MAX_SIZE = 16;
+
     private final IDXClient client;
 
+    private final IdpCatalog idpCatalog;
+
+    private final ExpiringCache<String, List<FormValue>> signUpFormCache = new ExpiringCache<>(SIGN_UP_FORM_CACHE_MAX_SIZE);
+
+    private volatile TokenRevocationQueue tokenRevocationQueue;
+
     /**
      * Creates {@link IDXAuthenticationWrapper} instance.
      */
     public IDXAuthenticationWrapper() {
         this.client = Clients.builder().build();
+        this.idpCatalog = createIdpCatalog(client);
     }
 
     /**
@@ -106,8 +126,29 @@ public class IDXAuthenticationWrapper {
                 .setScopes(scopes)
                 .setRedirectUri(redirectUri)
                 .build();
+        this.idpCatalog = createIdpCatalog(client);
+    }
+
+    /**
+     * Creates {@link IDXAuthenticationWrapper} instance that sends every request through the supplied
+     * {@link RequestExecutor} instead of the default HTTP client, e.g. to run against a local simulator.
+     *
+     * @param clientConfiguration the client configuration
+     * @param requestExecutor     the request executor
+     */
+    public IDXAuthenticationWrapper(ClientConfiguration clientConfiguration, RequestExecutor requestExecutor) {
+        this.client = new BaseIDXClient(clientConfiguration, requestExecutor);
+        this.idpCatalog = createIdpCatalog(client);
+    }
+
+    private IdpCatalog createIdpCatalog(IDXClient client) {
+        Duration refreshInterval = client instanceof BaseIDXClient
+                ? ((BaseIDXClient) client).getClientConfiguration().getIdpRefreshInterval()
+                : Duration.ofMinutes(5);
+        return new IdpCatalog(this::loadIdps, refreshInterval);
     }
 
+
     /**
      * Authenticate user with the supplied Authentication options (username and password) and
      * returns the Authentication response object that contains:
@@ -176,7 +217,7 @@ public class IDXAuthenticationWrapper {
                                 .withCredentials(credentials)
                                 .build();
 
-                return passwordTransaction.getRemediationOption(RemediationType.CHALLENGE_AUTHENTICATOR)
+                return passwordTransaction.getRemediationOption(RemediationName.CHALLENGE_AUTHENTICATOR)
                         .proceed(client, passwordAuthenticatorAnswerChallengeRequest);
             });
             return answerTransaction.asAuthenticationResponse();
@@ -208,7 +249,7 @@ public class IDXAuthenticationWrapper {
                     return client.recover(recoverRequest, null);
                 });
 
-                RemediationOption remediationOption = recoverTransaction.getRemediationOption(RemediationType.IDENTIFY_RECOVERY);
+                RemediationOption remediationOption = recoverTransaction.getRemediationOption(RemediationName.IDENTIFY_RECOVERY);
 
                 IdentifyRequest identifyRequest = IdentifyRequestBuilder.builder()
                         .withIdentifier(username)
@@ -279,7 +320,7 @@ public class IDXAuthenticationWrapper {
             });
 
             // Verify the next remediation is correct.
-            enrollTransaction.getRemediationOption(RemediationType.SELECT_AUTHENTICATOR_ENROLL);
+            enrollTransaction.getRemediationOption(RemediationName.SELECT_AUTHENTICATOR_ENROLL);
 
             return enrollTransaction.asAuthenticationResponse(AuthenticationStatus.AWAITING_AUTHENTICATOR_SELECTION);
         } catch (ProcessingException e) {
@@ -632,6 +673,34 @@ public class IDXAuthenticationWrapper {
         }
     }
 
+    /**
+     * Keep polling a waiting transaction from a {@link PollSnapshot}.
+     *
+     * @param pollSnapshot the snapshot taken with {@link #snapshotPoll(AuthenticationResponse)}
+     * @return the Authentication response
+     */
+    public AuthenticationResponse poll(PollSnapshot pollSnapshot) {
+        Assert.notNull(pollSnapshot, "pollSnapshot cannot be null");
+        return poll(pollSnapshot.toProceedContext());
+    }
+
+    /**
+     * Take the minimal state needed to keep polling a transaction, so a session waiting on the user (e.g. for a push
+     * notification) does not have to hold the whole response.
+     *
+     * @param authenticationResponse the response of the waiting step
+     * @return the snapshot, or null if the response has nothing to poll
+     */
+    public PollSnapshot snapshotPoll(AuthenticationResponse authenticationResponse) {
+        ProceedContext proceedContext = authenticationResponse.getProceedContext();
+        if (proceedContext == null || proceedContext.getPollInfo() == null || proceedContext.getPollInfo().getHref() == null) {
+            return null;
+        }
+        PollInfo pollInfo = proceedContext.getPollInfo();
+        return new PollSnapshot(proceedContext.getClientContext(), proceedContext.getStateHandle(), pollInfo.getHref(),
+                pollInfo.getRefresh(), proceedContext.getExpiresAt());
+    }
+
     /**
      * Get IDX client context by calling interact endpoint.
      * ClientContext reference contains the interaction handle and PKCE params.
@@ -669,6 +738,113 @@ public class IDXAuthenticationWrapper {
         }
     }
 
+    /**
+     * Revoke many oauth2 tokens, e.g. to end the sessions of a group of users.
+     *
+     * @param revocations the tokens to revoke
+     * @param listener called with each result as soon as it is known, may be null
+     * @return one result per revocation, in the order of {@code revocations}
+     * @see IDXClient#revokeTokens(Collection, Consumer)
+     */
+    public List<TokenRevocationResult> revokeTokens(Collection<TokenRevocation> revocations,
+                                                    Consumer<TokenRevocationResult> listener) {
+        return client.revokeTokens(revocations, listener);
+    }
+
+    /**
+     * Revoke the oauth2 token in the background.
+     * <p>
+     * The token is handed to the {@link TokenRevocationQueue} and this method returns immediately;
+     * transient failures are retried with backoff.
+     *
+     * @param tokenType the token type (access|refresh)
+     * @param token the token
+     */
+    public void revokeTokenAsync(TokenType tokenType, String token) {
+        getTokenRevocationQueue().submit(tokenType, token);
+    }
+
+    /**
+     * Get the queue used by {@link #revokeTokenAsync(TokenType, String)}, e.g. to report its metrics.
+     *
+     * @return the token revocation queue
+     */
+    public TokenRevocationQueue getTokenRevocationQueue() {
+        TokenRevocationQueue queue = tokenRevocationQueue;
+        if (queue == null) {
+            synchronized (this) {
+                queue = tokenRevocationQueue;
+                if (queue == null) {
+                    queue = new TokenRevocationQueue(client);
+                    tokenRevocationQueue = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * @return the response body bytes read from the network, 0 if the client is not a {@link BaseIDXClient}
+     * @see BaseIDXClient#getResponseBytesReceived()
+     */
+    public long getResponseBytesReceived() {
+        return client instanceof BaseIDXClient ? ((BaseIDXClient) client).getResponseBytesReceived() : 0;
+    }
+
+    /**
+     * @return the response body bytes after decompression, 0 if the client is not a {@link BaseIDXClient}
+     * @see BaseIDXClient#getResponseBytesDecoded()
+     */
+    public long getResponseBytesDecoded() {
+        return client instanceof BaseIDXClient ? ((BaseIDXClient) client).getResponseBytesDecoded() : 0;
+    }
+
+    /**
+     * Get the claims of the signed in user from the userinfo endpoint.
+     * <p>
+     * The result is cached until the access token expires. If userinfo prefetch is enabled, the request was
+     * already started when the token was issued and this call usually returns without waiting on the network.
+     *
+     * @param accessToken the access token (e.g. {@link TokenResponse#getAccessToken()})
+     * @return the userinfo claims
+     * @throws ProcessingException if the userinfo could not be retrieved
+     */
+    public UserInfoResponse getUserInfo(String accessToken) throws ProcessingException {
+        return client.userInfo(accessToken);
+    }
+
+    /**
+     * Verify the signature and claims of an id_token locally.
+     * <p>
+     * Signing keys are fetched from the issuer once and cached, so verification normally
+     * does not require a network call.
+     *
+     * @param idToken the id_token (e.g. {@link TokenResponse#getIdToken()})
+     * @return the verified token and its claims
+     * @throws com.okta.idx.sdk.api.exception.InvalidTokenException if the token is not valid
+     * @throws ProcessingException if the signing keys could not be retrieved
+     */
+    public Jwt verifyIdToken(String idToken) throws ProcessingException {
+        return client.verifyIdToken(idToken);
+    }
+
+    /**
+     * Verify the signature and claims of an access_token locally.
+     * <p>
+     * Only access tokens minted by a custom authorization server (e.g. /oauth2/default) can be
+     * validated this way; tokens from the org authorization server must be introspected instead.
+     *
+     * @param accessToken the access_token (e.g. {@link TokenResponse#getAccessToken()})
+     * @param expectedAudience the required audience (e.g. api://default), or null to skip the audience check; a token
+     *                         without a 'cid' claim is only accepted with an expected audience
+     * @return the verified token and its claims
+     * @throws com.okta.idx.sdk.api.exception.InvalidTokenException if the token is not valid
+     * @throws ProcessingException if the signing keys could not be retrieved
+     */
+    public Jwt verifyAccessToken(String accessToken, String expectedAudience) throws ProcessingException {
+        return client.verifyAccessToken(accessToken, expectedAudience);
+    }
+
     /**
      * Introspect to get the current state of the authentication.
      * This is useful when doing social auth, and not getting back an interaction_code.
@@ -703,12 +879,14 @@ public class IDXAuthenticationWrapper {
             });
 
             RemediationOption enrollProfileRemediationOption =
-                    enrollTransaction.getRemediationOption(RemediationType.ENROLL_PROFILE);
+                    enrollTransaction.getRemediationOption(RemediationName.ENROLL_PROFILE);
 
-            List<FormValue> enrollProfileFormValues = Arrays.stream(enrollProfileRemediationOption.form())
+            List<FormValue> enrollProfileFormValues = enrollProfileRemediationOption.getFormValues().stream()
                     .filter(x -> "userProfile".equals(x.getName()))
                     .collect(Collectors.toList());
 
+            cacheSignUpFormValues(enrollProfileFormValues);
+
             newUserRegistrationResponse.setFormValues(enrollProfileFormValues);
             newUserRegistrationResponse.setProceedContext(enrollTransaction.createProceedContext());
             return newUserRegistrationResponse;
@@ -719,6 +897,64 @@ public class IDXAuthenticationWrapper {
         }
     }
 
+    /**
+     * Populate UI form values for signing up a new user, without starting a transaction when possible.
+     * <p>
+     * When {@link ClientConfiguration#getSignUpFormTtl()} is set, the profile enrollment form is cached per issuer and
+     * client id for that long and refreshed by every {@link #fetchSignUpFormValues(ProceedContext)} call, so a
+     * registration page can be rendered without a round trip to Okta. The transaction that submits the form
+     * is started when the user registers, e.g. with {@link #begin(RequestContext)} followed by
+     * {@link #fetchSignUpFormValues(ProceedContext)} and {@link #register(ProceedContext, UserProfile)}.
+     * <p>
+     * When nothing is cached a new transaction is started to fetch the form, and its proceed context is
+     * returned as well; a response served from the cache carries no proceed context.
+     *
+     * @param requestContext the RequestContext (optional)
+     * @return the authentication response
+     */
+    public AuthenticationResponse fetchSignUpFormSchema(RequestContext requestContext) {
+        List<FormValue> formValues = signUpFormCache.get(signUpFormCacheKey());
+        if (formValues != null) {
+            AuthenticationResponse newUserRegistrationResponse = new AuthenticationResponse();
+            newUserRegistrationResponse.setFormValues(formValues);
+            return newUserRegistrationResponse;
+        }
+
+        AuthenticationResponse beginResponse = begin(requestContext);
+        if (beginResponse.getProceedContext() == null) {
+            return beginResponse;
+        }
+        return fetchSignUpFormValues(beginResponse.getProceedContext());
+    }
+
+    /**
+     * Drop the cached sign up form, e.g. after the profile enrollment policy has been changed.
+     */
+    public void invalidateSignUpFormSchema() {
+        signUpFormCache.clear();
+    }
+
+    private void cacheSignUpFormValues(List<FormValue> formValues) {
+        Duration ttl = client instanceof BaseIDXClient
+                ? ((BaseIDXClient) client).getClientConfiguration().getSignUpFormTtl()
+                : null;
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        String key = signUpFormCacheKey();
+        signUpFormCache.invalidate(key);
+        signUpFormCache.putIfAbsent(key, Collections.unmodifiableList(new ArrayList<>(formValues)),
+                System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    private String signUpFormCacheKey() {
+        if (client instanceof BaseIDXClient) {
+            ClientConfiguration clientConfiguration = ((BaseIDXClient) client).getClientConfiguration();
+            return clientConfiguration.getIssuer() + " " + clientConfiguration.getClientId();
+        }
+        return "";
+    }
+
     // If app sign-on policy is set to "any 1 factor", the next remediation after identify is
     // select-authenticator-authenticate
     // Check if that's the case, and proceed to select password authenticator
@@ -726,7 +962,7 @@ public class IDXAuthenticationWrapper {
             throws ProcessingException {
         // If remediation contains challenge-authenticator for passcode, we don't need to check SELECT_AUTHENTICATOR_AUTHENTICATE
         Optional<RemediationOption> challengeRemediationOptionOptional =
-                authenticationTransaction.getOptionalRemediationOption(RemediationType.CHALLENGE_AUTHENTICATOR);
+                authenticationTransaction.getOptionalRemediationOption(RemediationName.CHALLENGE_AUTHENTICATOR);
 
         if (challengeRemediationOptionOptional.isPresent()) {
             // proceed with password challenge
@@ -734,7 +970,7 @@ public class IDXAuthenticationWrapper {
         }
 
         Optional<RemediationOption> remediationOptionOptional =
-                authenticationTransaction.getOptionalRemediationOption(RemediationType.SELECT_AUTHENTICATOR_AUTHENTICATE);
+                authenticationTransaction.getOptionalRemediationOption(RemediationName.SELECT_AUTHENTICATOR_AUTHENTICATE);
         if (!remediationOptionOptional.isPresent()) {
             // We don't need to.
             return authenticationTransaction;
@@ -808,7 +1044,12 @@ public class IDXAuthenticationWrapper {
      */
     public AuthenticationResponse begin(RequestContext requestContext) {
         try {
-            return AuthenticationTransaction.create(client, null, null, requestContext).asAuthenticationResponse();
+            AuthenticationResponse authenticationResponse =
+                    AuthenticationTransaction.create(client, null, null, requestContext).asAuthenticationResponse();
+            if (authenticationResponse.getErrors().isEmpty() && authenticationResponse.getProceedContext() != null) {
+                idpCatalog.update(authenticationResponse.getIdps());
+            }
+            return authenticationResponse;
         } catch (ProcessingException e) {
             return handleProcessingException(e);
         } catch (IllegalArgumentException e) {
@@ -816,6 +1057,31 @@ public class IDXAuthenticationWrapper {
         }
     }
 
+    /**
+     * Get the identity providers the app offers for social login, without starting a transaction.
+     * <p>
+     * The list is taken from the most recent {@link #begin(RequestContext)} and reloaded in the background once it is
+     * older than {@link ClientConfiguration#getIdpRefreshInterval()}; it is empty until the first transaction
+     * completes. Only {@link Idp#getType()} is set: the redirect url of an IdP belongs to a transaction, so when the
+     * user picks one, call {@link #begin(RequestContext)} and redirect to the href of the IdP of that type.
+     *
+     * @return the IdPs of the app
+     */
+    public List<Idp> getIdps() {
+        return idpCatalog.get();
+    }
+
+    private List<Idp> loadIdps() {
+        try {
+            AuthenticationResponse authenticationResponse =
+                    AuthenticationTransaction.create(client, null, null, null).asAuthenticationResponse();
+            return authenticationResponse.getErrors().isEmpty() ? authenticationResponse.getIdps() : null;
+        } catch (ProcessingException | IllegalArgumentException e) {
+            logger.warn("Failed to load the IdP list: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Begin password recovery flow with a recovery token.
      *
@@ -20,6 +20,9 @@ import com.okta.idx.sdk.api.exception.ProcessingException;
 import com.okta.idx.sdk.api.model.RequestContext;
 import com.okta.idx.sdk.api.model.EmailTokenType;
 import com.okta.idx.sdk.api.model.IDXClientContext;
+import com.okta.idx.sdk.api.model.Jwt;
+import com.okta.idx.sdk.api.model.TokenRevocation;
+import com.okta.idx.sdk.api.model.TokenRevocationResult;
 import com.okta.idx.sdk.api.request.AnswerChallengeRequest;
 import com.okta.idx.sdk.api.request.ChallengeRequest;
 import com.okta.idx.sdk.api.request.EnrollRequest;
@@ -30,6 +33,12 @@ import com.okta.idx.sdk.api.request.RecoverRequest;
 import com.okta.idx.sdk.api.request.SkipAuthenticatorEnrollmentRequest;
 import com.okta.idx.sdk.api.response.IDXResponse;
 import com.okta.idx.sdk.api.response.TokenResponse;
+import com.okta.idx.sdk.api.response.UserInfoResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Client to interact with the IDX backend APIs.
@@ -52,19 +61,112 @@ public interface IDXClient {
 
     IDXResponse cancel(String stateHandle) throws ProcessingException;
 
+    /**
+     * Cancel the transaction, binding only the given sections of the response.
+     *
+     * @param stateHandle the state handle
+     * @param projection the response sections to bind
+     * @return the response, with null for the sections outside the projection
+     * @throws ProcessingException if the cancel call fails
+     */
+    IDXResponse cancel(String stateHandle, ResponseProjection projection) throws ProcessingException;
+
     IDXResponse enrollUpdateUserProfile(EnrollUserProfileUpdateRequest enrollUserProfileUpdateRequest, String href) throws ProcessingException;
 
     IDXResponse skip(SkipAuthenticatorEnrollmentRequest skipAuthenticatorEnrollmentRequest, String href) throws ProcessingException;
 
+    /**
+     * Skip (or resend, depending on {@code href}), binding only the given sections of the response.
+     *
+     * @param skipAuthenticatorEnrollmentRequest the request
+     * @param href the remediation href
+     * @param projection the response sections to bind
+     * @return the response, with null for the sections outside the projection
+     * @throws ProcessingException if the call fails
+     */
+    IDXResponse skip(SkipAuthenticatorEnrollmentRequest skipAuthenticatorEnrollmentRequest, String href,
+                     ResponseProjection projection) throws ProcessingException;
+
     IDXResponse recover(RecoverRequest recoverRequest, String href) throws ProcessingException;
 
     IDXResponse poll(PollRequest pollRequest, String href) throws ProcessingException;
 
+    /**
+     * Poll, binding only the given sections of the response.
+     *
+     * @param pollRequest the request
+     * @param href the poll href
+     * @param projection the response sections to bind
+     * @return the response, with null for the sections outside the projection
+     * @throws ProcessingException if the poll call fails
+     */
+    IDXResponse poll(PollRequest pollRequest, String href, ResponseProjection projection) throws ProcessingException;
+
     TokenResponse token(String url, String grantType, String interactionCode, IDXClientContext idxClientContext) throws ProcessingException;
 
     TokenResponse token(String grantType, String interactionCode, IDXClientContext idxClientContext) throws ProcessingException;
 
+    /**
+     * Exchange an interaction code for tokens, in the background when
+     * {@link com.okta.idx.sdk.api.config.ClientConfiguration#isTokenExchangeAsyncEnabled() asynchronous token exchange}
+     * is enabled and on the calling thread otherwise.
+     *
+     * @param url the token endpoint
+     * @param grantType the grant type
+     * @param interactionCode the interaction code
+     * @param idxClientContext the client context of the transaction
+     * @return the token response, completed exceptionally with a {@link ProcessingException} if the exchange fails
+     */
+    CompletableFuture<TokenResponse> tokenAsync(String url, String grantType, String interactionCode, IDXClientContext idxClientContext);
+
     void revokeToken(String tokenType, String token) throws ProcessingException;
 
+    /**
+     * Revoke many tokens at once, e.g. to end the sessions of a group of users.
+     * <p>
+     * Revocations run in parallel (see {@link com.okta.idx.sdk.api.config.ClientConfiguration#getRevocationParallelism()})
+     * and are throttled to the configured rate; a 429 response pauses all of them until the org's rate limit resets.
+     * A failed revocation does not stop the others; pass the unrevoked entries of the result
+     * (see {@link TokenRevocationResult#remaining}) to a new call to resume.
+     *
+     * @param revocations the tokens to revoke
+     * @param listener called with each result as soon as it is known (calls are serialized), may be null
+     * @return one result per revocation, in the order of {@code revocations}
+     */
+    List<TokenRevocationResult> revokeTokens(Collection<TokenRevocation> revocations, Consumer<TokenRevocationResult> listener);
+
     Response verifyEmailToken(String token) throws ProcessingException;
+
+    /**
+     * Fetch the claims of the user the access token was issued for from the userinfo endpoint.
+     * <p>
+     * Responses are cached until the access token expires; concurrent calls for the same token share one request.
+     *
+     * @param accessToken the access token
+     * @return the userinfo claims
+     * @throws ProcessingException if the userinfo endpoint could not be called or rejected the token
+     */
+    UserInfoResponse userInfo(String accessToken) throws ProcessingException;
+
+    /**
+     * Verify an id_token locally against the issuer's cached JWKS.
+     *
+     * @param idToken the id_token
+     * @return the verified token
+     * @throws com.okta.idx.sdk.api.exception.InvalidTokenException if the token is not valid
+     * @throws ProcessingException if the JWKS could not be retrieved
+     */
+    Jwt verifyIdToken(String idToken) throws ProcessingException;
+
+    /**
+     * Verify an access_token locally against the issuer's cached JWKS.
+     *
+     * @param accessToken the access_token
+     * @param expectedAudience the required audience (e.g. api://default), or null to skip the audience check; a token
+     *                         without a 'cid' claim is only accepted with an expected audience
+     * @return the verified token
+     * @throws com.okta.idx.sdk.api.exception.InvalidTokenException if the token is not valid
+     * @throws ProcessingException if the JWKS could not be retrieved
+     */
+    Jwt verifyAccessToken(String accessToken, String expectedAudience) throws ProcessingException;
 }
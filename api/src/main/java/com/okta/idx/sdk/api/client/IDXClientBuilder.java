@@ -29,5 +29,7 @@ abstract class IDXClientBuilder {
 
     protected abstract IDXClientBuilder setRedirectUri(String redirectUri);
 
+    protected abstract IDXClientBuilder setDiscoveryEnabled(boolean discoveryEnabled);
+
     protected abstract IDXClient build();
 }
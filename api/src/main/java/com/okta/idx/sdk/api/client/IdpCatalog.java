@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.okta.idx.sdk.api.model.Idp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The identity providers an app offers for social login, kept so a login page can render its IdP buttons
+ * without starting a transaction.
+ * <p>
+ * Only the IdP types are kept: the redirect urls Okta returns belong to the transaction they were issued for.
+ * The list is replaced by every new transaction and, once it is older than the refresh interval, reloaded in
+ * the background the next time it is read.
+ */
+final class IdpCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdpCatalog.class);
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    /**
+     * Starts a transaction and returns the IdPs it offers, or null if it failed.
+     */
+    interface Loader {
+        List<Idp> load();
+    }
+
+    private final Loader loader;
+    private final Executor executor;
+    private final Clock clock;
+    private final long refreshIntervalMillis;
+    private final long retryIntervalMillis;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile List<Idp> idps;
+    private volatile long nextRefreshAt;
+
+    IdpCatalog(Loader loader, Duration refreshInterval) {
+        this(loader, defaultExecutor(), Clock.systemUTC(), refreshInterval);
+    }
+
+    IdpCatalog(Loader loader, Executor executor, Clock clock, Duration refreshInterval) {
+        this.loader = loader;
+        this.executor = executor;
+        this.clock = clock;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.retryIntervalMillis = Math.min(RETRY_INTERVAL.toMillis(), refreshIntervalMillis);
+    }
+
+    /**
+     * @return the IdPs seen on the most recent transaction, empty if none has been seen yet
+     */
+    List<Idp> get() {
+        if (clock.millis() >= nextRefreshAt) {
+            refreshInBackground();
+        }
+        List<Idp> current = idps;
+        return current != null ? current : Collections.emptyList();
+    }
+
+    void update(List<Idp> transactionIdps) {
+        List<Idp> types = new ArrayList<>(transactionIdps.size());
+        for (Idp idp : transactionIdps) {
+            types.add(new Idp(idp.getType(), null));
+        }
+        idps = Collections.unmodifiableList(types);
+        nextRefreshAt = clock.millis() + refreshIntervalMillis;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        // don't retry a failing org on every read
+        nextRefreshAt = clock.millis() + retryIntervalMillis;
+        try {
+            executor.execute(() -> {
+                try {
+                    List<Idp> loaded = loader.load();
+                    if (loaded != null) {
+                        update(loaded);
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to refresh the IdP list: {}", e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private static Executor defaultExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1), new DaemonThreadFactory("okta-idx-idp-catalog"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.okta.commons.lang.Strings;
+import com.okta.idx.sdk.api.config.ClientConfiguration;
+
+import static com.okta.idx.sdk.api.util.ClientUtil.normalizedIssuerUri;
+
+/**
+ * Immutable table of the endpoint URLs used by {@link BaseIDXClient}.
+ * <p>
+ * The table is built once from the issuer, using the same {@code /oauth2/v1/...} vs {@code /v1/...}
+ * heuristic as {@link com.okta.idx.sdk.api.util.ClientUtil#normalizedIssuerUri(String, String)},
+ * and can be overlaid with the authoritative values from the issuer's OpenID Connect discovery document.
+ */
+final class IssuerEndpoints {
+
+    private final String interactEndpoint;
+    private final String tokenEndpoint;
+    private final String revocationEndpoint;
+    private final String userInfoEndpoint;
+    private final String introspectionEndpoint;
+    private final String jwksUri;
+
+    private final String idxIntrospectEndpoint;
+    private final String idxCancelEndpoint;
+    private final String idxRecoverEndpoint;
+    private final String idxPollEndpoint;
+    private final String emailVerifyEndpoint;
+
+    private IssuerEndpoints(String interactEndpoint,
+                            String tokenEndpoint,
+                            String revocationEndpoint,
+                            String userInfoEndpoint,
+                            String introspectionEndpoint,
+                            String jwksUri,
+                            String baseUrl) {
+        this.interactEndpoint = interactEndpoint;
+        this.tokenEndpoint = tokenEndpoint;
+        this.revocationEndpoint = revocationEndpoint;
+        this.userInfoEndpoint = userInfoEndpoint;
+        this.introspectionEndpoint = introspectionEndpoint;
+        this.jwksUri = jwksUri;
+        this.idxIntrospectEndpoint = baseUrl + "/idp/idx/introspect";
+        this.idxCancelEndpoint = baseUrl + "/idp/idx/cancel";
+        this.idxRecoverEndpoint = baseUrl + "/idp/idx/recover";
+        this.idxPollEndpoint = baseUrl + "/idp/idx/challenge/poll";
+        this.emailVerifyEndpoint = baseUrl + "/email/verify";
+    }
+
+    /**
+     * Build the endpoint table from the issuer alone.
+     */
+    static IssuerEndpoints fromIssuer(ClientConfiguration clientConfiguration) {
+        String issuer = clientConfiguration.getIssuer();
+        return new IssuerEndpoints(
+                normalizedIssuerUri(issuer, "/v1/interact"),
+                normalizedIssuerUri(issuer, "/v1/token"),
+                normalizedIssuerUri(issuer, "/v1/revoke"),
+                normalizedIssuerUri(issuer, "/v1/userinfo"),
+                normalizedIssuerUri(issuer, "/v1/introspect"),
+                normalizedIssuerUri(issuer, "/v1/keys"),
+                clientConfiguration.getBaseUrl());
+    }
+
+    /**
+     * Return a copy of this table with the endpoints advertised in the discovery document.
+     * Endpoints missing from the document keep their current value.
+     *
+     * @param discoveryDocument the parsed {@code .well-known/openid-configuration} response
+     * @param baseUrl the org base url
+     */
+    IssuerEndpoints withDiscoveryDocument(JsonNode discoveryDocument, String baseUrl) {
+        return new IssuerEndpoints(
+                interactEndpoint,
+                valueOrDefault(discoveryDocument, "token_endpoint", tokenEndpoint),
+                valueOrDefault(discoveryDocument, "revocation_endpoint", revocationEndpoint),
+                valueOrDefault(discoveryDocument, "userinfo_endpoint", userInfoEndpoint),
+                valueOrDefault(discoveryDocument, "introspection_endpoint", introspectionEndpoint),
+                valueOrDefault(discoveryDocument, "jwks_uri", jwksUri),
+                baseUrl);
+    }
+
+    String getInteractEndpoint() {
+        return interactEndpoint;
+    }
+
+    String getTokenEndpoint() {
+        return tokenEndpoint;
+    }
+
+    String getRevocationEndpoint() {
+        return revocationEndpoint;
+    }
+
+    String getUserInfoEndpoint() {
+        return userInfoEndpoint;
+    }
+
+    String getIntrospectionEndpoint() {
+        return introspectionEndpoint;
+    }
+
+    String getJwksUri() {
+        return jwksUri;
+    }
+
+    String getIdxIntrospectEndpoint() {
+        return idxIntrospectEndpoint;
+    }
+
+    String getIdxCancelEndpoint() {
+        return idxCancelEndpoint;
+    }
+
+    String getIdxRecoverEndpoint() {
+        return idxRecoverEndpoint;
+    }
+
+    String getIdxPollEndpoint() {
+        return idxPollEndpoint;
+    }
+
+    String getEmailVerifyEndpoint() {
+        return emailVerifyEndpoint;
+    }
+
+    private static String valueOrDefault(JsonNode node, String fieldName, String defaultValue) {
+        JsonNode value = node.get(fieldName);
+        return value != null && Strings.hasText(value.asText()) ? value.asText() : defaultValue;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.okta.idx.sdk.api.exception.ProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory cache of the issuer's JSON Web Key Set.
+ * <p>
+ * Keys are served from an immutable snapshot without locking. The key set is re-fetched when the snapshot
+ * reaches {@code maxAge} or when a token references a key id that is not in the snapshot (key rotation).
+ * Re-fetches are never issued more often than once per {@code minRefreshInterval}, so a flood of tokens
+ * carrying an unknown {@code kid} cannot turn into a flood of requests to the keys endpoint.
+ */
+final class JwksCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwksCache.class);
+
+    static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+    static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    interface KeySetLoader {
+        JsonNode load() throws ProcessingException;
+    }
+
+    private final KeySetLoader loader;
+    private final Clock clock;
+    private final long maxAgeMillis;
+    private final long minRefreshIntervalMillis;
+
+    private volatile Snapshot snapshot;
+    private long nextRefreshAllowedAt;
+
+    JwksCache(KeySetLoader loader) {
+        this(loader, Clock.systemUTC(), DEFAULT_MAX_AGE, DEFAULT_MIN_REFRESH_INTERVAL);
+    }
+
+    JwksCache(KeySetLoader loader, Clock clock, Duration maxAge, Duration minRefreshInterval) {
+        this.loader = loader;
+        this.clock = clock;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.minRefreshIntervalMillis = minRefreshInterval.toMillis();
+    }
+
+    /**
+     * Look up the public key for the given key id, refreshing the key set if needed.
+     *
+     * @param kid the key id from the JWT header
+     * @return the public key, or null if the issuer does not publish a key with this id
+     * @throws ProcessingException if the key set has never been loaded successfully
+     */
+    PublicKey getKey(String kid) throws ProcessingException {
+        long now = clock.millis();
+
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(now)) {
+            PublicKey key = current.keys.get(kid);
+            if (key != null) {
+                return key;
+            }
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && !current.isExpired(now) && current.keys.containsKey(kid)) {
+                return current.keys.get(kid);
+            }
+
+            if (now < nextRefreshAllowedAt) {
+                if (current == null) {
+                    throw new ProcessingException(new IllegalStateException("JWKS is unavailable, refresh was attempted recently"));
+                }
+                // serve the (possibly stale) snapshot rather than hammering the keys endpoint
+                return current.keys.get(kid);
+            }
+            nextRefreshAllowedAt = now + minRefreshIntervalMillis;
+
+            try {
+                snapshot = new Snapshot(parseKeys(loader.load()), now);
+            } catch (ProcessingException | RuntimeException e) {
+                if (current == null) {
+                    throw e;
+                }
+                logger.warn("Failed to refresh JWKS, continuing with cached keys", e);
+                return current.keys.get(kid);
+            }
+            return snapshot.keys.get(kid);
+        }
+    }
+
+    /**
+     * Drop the cached key set; the next lookup re-fetches it (subject to the refresh rate bound).
+     */
+    void invalidate() {
+        snapshot = null;
+    }
+
+    private static Map<String, PublicKey> parseKeys(JsonNode jwks) {
+        if (jwks == null || !jwks.has("keys")) {
+            throw new IllegalArgumentException("JWKS response does not contain any keys");
+        }
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : jwks.get("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.has("kid")) {
+                continue;
+            }
+            if (jwk.has("use") && !"sig".equals(jwk.get("use").asText())) {
+                continue;
+            }
+            try {
+                keys.put(jwk.get("kid").asText(), toRsaPublicKey(jwk.get("n").asText(), jwk.get("e").asText()));
+            } catch (GeneralSecurityException | IllegalArgumentException | NullPointerException e) {
+                logger.warn("Ignoring malformed JWK with kid '{}'", jwk.get("kid").asText(), e);
+            }
+        }
+        return Collections.unmodifiableMap(keys);
+    }
+
+    private static PublicKey toRsaPublicKey(String modulus, String exponent) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        RSAPublicKeySpec keySpec = new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(modulus)),
+                new BigInteger(1, decoder.decode(exponent)));
+        return KeyFactory.getInstance("RSA").generatePublic(keySpec);
+    }
+
+    private final class Snapshot {
+        private final Map<String, PublicKey> keys;
+        private final long fetchedAt;
+
+        private Snapshot(Map<String, PublicKey> keys, long fetchedAt) {
+            this.keys = keys;
+            this.fetchedAt = fetchedAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - fetchedAt >= maxAgeMillis;
+        }
+    }
+}
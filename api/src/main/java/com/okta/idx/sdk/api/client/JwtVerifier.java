@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okta.commons.lang.Strings;
+import com.okta.idx.sdk.api.exception.InvalidTokenException;
+import com.okta.idx.sdk.api.exception.ProcessingException;
+import com.okta.idx.sdk.api.model.Jwt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifies the signature and standard claims of JWTs minted by the configured issuer,
+ * using keys from a {@link JwksCache}.
+ */
+final class JwtVerifier {
+
+    static final Duration DEFAULT_CLOCK_SKEW = Duration.ofMinutes(2);
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private static final Map<String, String> JCA_ALGORITHMS = new HashMap<>();
+
+    static {
+        JCA_ALGORITHMS.put("RS256", "SHA256withRSA");
+        JCA_ALGORITHMS.put("RS384", "SHA384withRSA");
+        JCA_ALGORITHMS.put("RS512", "SHA512withRSA");
+    }
+
+    private final String issuer;
+    private final String clientId;
+    private final JwksCache jwksCache;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration clockSkew;
+
+    JwtVerifier(String issuer, String clientId, JwksCache jwksCache, ObjectMapper objectMapper) {
+        this(issuer, clientId, jwksCache, objectMapper, Clock.systemUTC(), DEFAULT_CLOCK_SKEW);
+    }
+
+    JwtVerifier(String issuer, String clientId, JwksCache jwksCache, ObjectMapper objectMapper,
+                Clock clock, Duration clockSkew) {
+        this.issuer = stripTrailingSlash(issuer);
+        this.clientId = clientId;
+        this.jwksCache = jwksCache;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Verify an id_token: signature, issuer, expiry and that the audience is this client.
+     */
+    Jwt verifyIdToken(String idToken) throws ProcessingException {
+        Jwt jwt = verify(idToken);
+        if (!jwt.getAudience().contains(clientId)) {
+            throw new InvalidTokenException("id_token audience does not contain client id " + clientId);
+        }
+        return jwt;
+    }
+
+    /**
+     * Verify an access_token: signature, issuer, expiry and that it was issued to this client.
+     * <p>
+     * Only access tokens minted by a custom authorization server should be validated locally;
+     * access tokens from the org authorization server are meant to be opaque to clients.
+     *
+     * A token without a 'cid' claim cannot be tied to this client, so it is only accepted when its audience is
+     * checked.
+     *
+     * @param accessToken the access token
+     * @param expectedAudience the required 'aud' value, or null to skip the audience check
+     */
+    Jwt verifyAccessToken(String accessToken, String expectedAudience) throws ProcessingException {
+        Jwt jwt = verify(accessToken);
+        Object cid = jwt.getClaim("cid");
+        if (cid == null) {
+            if (expectedAudience == null) {
+                throw new InvalidTokenException("access_token has no 'cid' claim, an expected audience is required to verify it");
+            }
+        } else if (!clientId.equals(String.valueOf(cid))) {
+            throw new InvalidTokenException("access_token was not issued to client id " + clientId);
+        }
+        if (expectedAudience != null && !jwt.getAudience().contains(expectedAudience)) {
+            throw new InvalidTokenException("access_token audience does not contain " + expectedAudience);
+        }
+        return jwt;
+    }
+
+    private Jwt verify(String token) throws ProcessingException {
+        if (!Strings.hasText(token)) {
+            throw new InvalidTokenException("token cannot be empty");
+        }
+
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new InvalidTokenException("token is not a JWS compact serialization");
+        }
+
+        Map<String, Object> header = decodeJson(token.substring(0, firstDot));
+        Map<String, Object> claims = decodeJson(token.substring(firstDot + 1, secondDot));
+
+        String jcaAlgorithm = JCA_ALGORITHMS.get(String.valueOf(header.get("alg")));
+        if (jcaAlgorithm == null) {
+            throw new InvalidTokenException("Unsupported JWT signing algorithm: " + header.get("alg"));
+        }
+
+        Object kid = header.get("kid");
+        if (kid == null) {
+            throw new InvalidTokenException("JWT header is missing 'kid'");
+        }
+        PublicKey publicKey = jwksCache.getKey(String.valueOf(kid));
+        if (publicKey == null) {
+            throw new InvalidTokenException("No signing key found for kid " + kid);
+        }
+
+        try {
+            Signature signature = Signature.getInstance(jcaAlgorithm);
+            signature.initVerify(publicKey);
+            signature.update(token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(Base64.getUrlDecoder().decode(token.substring(secondDot + 1)))) {
+                throw new InvalidTokenException("JWT signature is invalid");
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new InvalidTokenException("JWT signature could not be verified", e);
+        }
+
+        Jwt jwt = new Jwt(token, header, claims);
+        validateClaims(jwt);
+        return jwt;
+    }
+
+    private void validateClaims(Jwt jwt) throws InvalidTokenException {
+        if (!issuer.equals(stripTrailingSlash(jwt.getIssuer()))) {
+            throw new InvalidTokenException("JWT issuer " + jwt.getIssuer() + " does not match " + issuer);
+        }
+
+        Instant now = clock.instant();
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null || now.minus(clockSkew).isAfter(expiresAt)) {
+            throw new InvalidTokenException("JWT is expired");
+        }
+        Instant notBefore = jwt.getNotBefore();
+        if (notBefore != null && now.plus(clockSkew).isBefore(notBefore)) {
+            throw new InvalidTokenException("JWT is not yet valid");
+        }
+        Instant issuedAt = jwt.getIssuedAt();
+        if (issuedAt != null && now.plus(clockSkew).isBefore(issuedAt)) {
+            throw new InvalidTokenException("JWT was issued in the future");
+        }
+    }
+
+    private Map<String, Object> decodeJson(String base64UrlSegment) throws InvalidTokenException {
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(base64UrlSegment), MAP_TYPE);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException("JWT segment is not valid base64url encoded JSON", e);
+        }
+    }
+
+    private static String stripTrailingSlash(String uri) {
+        if (uri != null && uri.endsWith("/")) {
+            return uri.substring(0, uri.length() - 1);
+        }
+        return uri;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.okta.commons.lang.Assert;
+import com.okta.idx.sdk.api.model.IDXClientContext;
+import com.okta.idx.sdk.api.model.PollInfo;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * What is needed to keep polling a transaction that waits on the user, e.g. for a push notification or an email
+ * magic link to be acted on.
+ * <p>
+ * Holding a snapshot instead of the {@link AuthenticationResponse} of the waiting step drops the authenticators,
+ * enrollments, user, idps and form values of that response; what is left is a handful of short strings, a few
+ * hundred bytes per user. Take one with {@link IDXAuthenticationWrapper#snapshotPoll(AuthenticationResponse)} and
+ * resume with {@link IDXAuthenticationWrapper#poll(PollSnapshot)}.
+ */
+public final class PollSnapshot {
+
+    private final IDXClientContext clientContext;
+    private final String stateHandle;
+    private final String pollHref;
+    private final Duration refresh;
+    private final Instant expiresAt;
+
+    /**
+     * @param clientContext the client context of the transaction
+     * @param stateHandle the state handle of the transaction
+     * @param pollHref the poll href
+     * @param refresh how long to wait between polls
+     * @param expiresAt when the transaction expires, may be null
+     */
+    public PollSnapshot(IDXClientContext clientContext, String stateHandle, String pollHref, Duration refresh, Instant expiresAt) {
+        Assert.notNull(clientContext, "clientContext cannot be null");
+        Assert.hasText(stateHandle, "stateHandle cannot be empty");
+        Assert.hasText(pollHref, "pollHref cannot be empty");
+        Assert.notNull(refresh, "refresh cannot be null");
+        this.clientContext = clientContext;
+        this.stateHandle = stateHandle;
+        this.pollHref = pollHref;
+        this.refresh = refresh;
+        this.expiresAt = expiresAt;
+    }
+
+    public IDXClientContext getClientContext() {
+        return clientContext;
+    }
+
+    public String getStateHandle() {
+        return stateHandle;
+    }
+
+    public String getPollHref() {
+        return pollHref;
+    }
+
+    /**
+     * @return how long to wait before the next poll, as asked by the server
+     */
+    public Duration getRefresh() {
+        return refresh;
+    }
+
+    /**
+     * @return when the transaction expires, or null if the server did not say
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @param now the current time
+     * @return true if the transaction has expired, polling it again is pointless
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    ProceedContext toProceedContext() {
+        return new ProceedContext(clientContext, stateHandle, pollHref, null, false, null, null,
+                new PollInfo(pollHref, refresh), null, expiresAt != null ? expiresAt.toString() : null);
+    }
+}
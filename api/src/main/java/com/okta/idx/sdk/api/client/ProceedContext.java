@@ -17,6 +17,11 @@ package com.okta.idx.sdk.api.client;
 
 import com.okta.idx.sdk.api.model.IDXClientContext;
 import com.okta.idx.sdk.api.model.PollInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 
 /**
  * An opaque to the developer object that's expected to be given back on the next request.
@@ -24,6 +29,9 @@ import com.okta.idx.sdk.api.model.PollInfo;
  * We use this internally to know the current state of the authentication flow.
  */
 public final class ProceedContext {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProceedContext.class);
+
     private final IDXClientContext clientContext;
     private final String stateHandle;
     private final String href;
@@ -33,9 +41,17 @@ public final class ProceedContext {
     private final String resendHref;
     private final PollInfo pollInfo;
     private final String refresh;
+    // kept as sent, only a poll snapshot needs it parsed
+    private final String expiresAt;
 
     ProceedContext(IDXClientContext clientContext, String stateHandle, String href, String skipHref, boolean isIdentifyInOneStep,
                    String selectProfileEnrollHref, String resendHref, PollInfo pollInfo, String refresh) {
+        this(clientContext, stateHandle, href, skipHref, isIdentifyInOneStep, selectProfileEnrollHref, resendHref, pollInfo,
+                refresh, null);
+    }
+
+    ProceedContext(IDXClientContext clientContext, String stateHandle, String href, String skipHref, boolean isIdentifyInOneStep,
+                   String selectProfileEnrollHref, String resendHref, PollInfo pollInfo, String refresh, String expiresAt) {
         this.clientContext = clientContext;
         this.stateHandle = stateHandle;
         this.href = href;
@@ -45,6 +61,7 @@ public final class ProceedContext {
         this.resendHref = resendHref;
         this.pollInfo = pollInfo;
         this.refresh = refresh;
+        this.expiresAt = expiresAt;
     }
 
     public IDXClientContext getClientContext() {
@@ -83,6 +100,21 @@ public final class ProceedContext {
         return refresh;
     }
 
+    /**
+     * @return when the transaction expires, or null if the response did not say
+     */
+    public Instant getExpiresAt() {
+        if (expiresAt == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(expiresAt);
+        } catch (DateTimeParseException e) {
+            logger.debug("Ignoring unparseable expiresAt {}", expiresAt);
+            return null;
+        }
+    }
+
     /**
      * Identifier first flow is one where just the identifier (email) is sufficient to start
      * the flow (i.e. password is not required at the start of flow).
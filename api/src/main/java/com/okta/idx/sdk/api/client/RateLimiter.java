@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out requests so that they do not exceed a fixed rate, and lets callers pause all requests
+ * until a point in time (e.g. the {@code X-Rate-Limit-Reset} of a 429 response).
+ * <p>
+ * A rate of zero or less means no fixed rate, only pauses apply.
+ */
+final class RateLimiter {
+
+    private final long intervalNanos;
+
+    private long nextPermitNanos = System.nanoTime();
+
+    RateLimiter(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+    }
+
+    /**
+     * Block until the caller may issue its next request.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long permitAt = Math.max(now, nextPermitNanos);
+            nextPermitNanos = permitAt + intervalNanos;
+            waitNanos = permitAt - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Hold back all permits until the given time.
+     *
+     * @param epochMillis the wall clock time at which requests may resume
+     */
+    synchronized void pauseUntil(long epochMillis) {
+        long pauseNanos = TimeUnit.MILLISECONDS.toNanos(epochMillis - System.currentTimeMillis());
+        if (pauseNanos > 0) {
+            nextPermitNanos = Math.max(nextPermitNanos, System.nanoTime() + pauseNanos);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * An encoded request body of known length.
+ * <p>
+ * The body is never copied again once encoded: {@link #stream()} reads the encoded bytes in place, and the exact
+ * {@link #length()} lets the transport send a {@code Content-Length} instead of buffering or chunking the body.
+ */
+final class RequestBody {
+
+    private final byte[] bytes;
+
+    RequestBody(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return a new stream over the body, each call starts from the beginning
+     */
+    InputStream stream() {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    long length() {
+        return bytes.length;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.okta.idx.sdk.api.request.AnswerChallengeRequest;
+import com.okta.idx.sdk.api.request.CancelRequest;
+import com.okta.idx.sdk.api.request.ChallengeRequest;
+import com.okta.idx.sdk.api.request.EnrollRequest;
+import com.okta.idx.sdk.api.request.EnrollUserProfileUpdateRequest;
+import com.okta.idx.sdk.api.request.IdentifyRequest;
+import com.okta.idx.sdk.api.request.IntrospectRequest;
+import com.okta.idx.sdk.api.request.PollRequest;
+import com.okta.idx.sdk.api.request.RecoverRequest;
+import com.okta.idx.sdk.api.request.SkipAuthenticatorEnrollmentRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes IDX request objects as compact JSON.
+ * <p>
+ * Each request type gets an {@link ObjectWriter} bound to it once, so a call does not resolve serializers again,
+ * and output is never indented. Jackson recycles its encoding buffers per thread, so a call only allocates the
+ * encoded body itself.
+ */
+final class RequestEncoder {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    RequestEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (Class<?> requestType : new Class<?>[] {
+                AnswerChallengeRequest.class, CancelRequest.class, ChallengeRequest.class, EnrollRequest.class,
+                EnrollUserProfileUpdateRequest.class, IdentifyRequest.class, IntrospectRequest.class,
+                PollRequest.class, RecoverRequest.class, SkipAuthenticatorEnrollmentRequest.class}) {
+            writers.put(requestType, newWriter(requestType));
+        }
+    }
+
+    RequestBody json(Object request) throws JsonProcessingException {
+        ObjectWriter writer = writers.computeIfAbsent(request.getClass(), this::newWriter);
+        return new RequestBody(writer.writeValueAsBytes(request));
+    }
+
+    private ObjectWriter newWriter(Class<?> requestType) {
+        return objectMapper.writerFor(requestType).without(SerializationFeature.INDENT_OUTPUT);
+    }
+}
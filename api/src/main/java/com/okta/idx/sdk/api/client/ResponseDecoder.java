@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.okta.commons.http.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Undoes the {@code Content-Encoding} of response bodies while they are read, and counts the bytes received and
+ * decoded, so the saving of response compression can be measured.
+ * <p>
+ * Compressed bodies are inflated as the JSON parser reads them, never into an intermediate buffer.
+ */
+final class ResponseDecoder {
+
+    /** The encodings {@link #body(Response)} can decode, as sent in {@code Accept-Encoding}. */
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder bytesDecoded = new LongAdder();
+
+    /**
+     * @param response the response whose body to read
+     * @return the decoded body, or null if the response has none
+     * @throws IOException if the body uses an unsupported encoding or is not validly encoded
+     */
+    InputStream body(Response response) throws IOException {
+        InputStream body = response.getBody();
+        if (body == null) {
+            return null;
+        }
+        InputStream received = new CountingInputStream(body, bytesReceived);
+
+        String contentEncoding = response.getHeaders().getFirst("Content-Encoding");
+        String encoding = contentEncoding != null ? contentEncoding.trim().toLowerCase(Locale.ROOT) : "identity";
+        switch (encoding) {
+            case "":
+            case "identity":
+                return new CountingInputStream(received, bytesDecoded);
+            case "gzip":
+            case "x-gzip":
+                return new CountingInputStream(new GZIPInputStream(received), bytesDecoded);
+            case "deflate":
+                return new CountingInputStream(inflate(received), bytesDecoded);
+            default:
+                throw new IOException("Unsupported Content-Encoding: " + contentEncoding);
+        }
+    }
+
+    /**
+     * Copies a body to {@code out} unless it turns out to be longer than {@code maxBytes}.
+     *
+     * @return true if the whole body was copied, false if copying stopped after more than maxBytes were read, in
+     * which case the rest of the body is left in {@code in}
+     */
+    static boolean copy(InputStream in, ByteArrayOutputStream out, int maxBytes) throws IOException {
+        long limit = (long) maxBytes + 1;
+        byte[] chunk = new byte[(int) Math.min(limit, 8192)];
+        int read;
+        while ((read = in.read(chunk, 0, (int) Math.min(chunk.length, limit - out.size()))) != -1) {
+            out.write(chunk, 0, read);
+            if (out.size() > maxBytes) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    long getBytesDecoded() {
+        return bytesDecoded.sum();
+    }
+
+    /**
+     * "deflate" is meant to be zlib wrapped, but some servers send raw deflate data; tell them apart by the zlib header.
+     */
+    private static InputStream inflate(InputStream in) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        int first = pushback.read();
+        int second = first != -1 ? pushback.read() : -1;
+        if (second != -1) {
+            pushback.unread(second);
+        }
+        if (first != -1) {
+            pushback.unread(first);
+        }
+        boolean zlib = second != -1 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+        Inflater inflater = new Inflater(!zlib);
+        return new InflaterInputStream(pushback, inflater) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final LongAdder counter;
+
+        CountingInputStream(InputStream in, LongAdder counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                counter.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                counter.add(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            counter.add(skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.okta.commons.lang.Assert;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The top level sections of an IDX response to bind into an {@link com.okta.idx.sdk.api.response.IDXResponse}.
+ * <p>
+ * Sections outside the projection are skipped by the parser token by token, they are never materialized; the
+ * corresponding getters of the response return null.
+ */
+public final class ResponseProjection {
+
+    /** Binds every section of the response. */
+    public static final ResponseProjection FULL = new ResponseProjection(null);
+
+    /**
+     * What a caller of {@link IDXClient#poll}, {@link IDXClient#cancel} or {@link IDXClient#skip} needs to take the
+     * next step: the state handle, remediation options, messages, the success response, the current authenticator
+     * (for its poll and resend links) and the expiry. The user, enrollments, authenticators and app are left out,
+     * and so is whatever {@link com.okta.idx.sdk.api.response.IDXResponse#raw()} would re-serialize from them.
+     */
+    public static final ResponseProjection STEP = of(
+            "stateHandle",
+            "expiresAt",
+            "remediation",
+            "messages",
+            "successWithInteractionCode",
+            "currentAuthenticator",
+            "currentAuthenticatorEnrollment");
+
+    private final Set<String> sections;
+    private final TokenFilter filter;
+
+    private ResponseProjection(Set<String> sections) {
+        this.sections = sections;
+        this.filter = sections != null ? new SectionFilter(sections) : null;
+    }
+
+    /**
+     * @param sections the JSON names of the top level sections to bind, e.g. {@code "stateHandle"}, {@code "remediation"}
+     * @return the projection
+     */
+    public static ResponseProjection of(String... sections) {
+        Assert.notNull(sections, "sections cannot be null");
+        return new ResponseProjection(Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(sections))));
+    }
+
+    /**
+     * @return the names of the bound sections, or null if every section is bound
+     */
+    public Set<String> getSections() {
+        return sections;
+    }
+
+    public boolean isFull() {
+        return sections == null;
+    }
+
+    /**
+     * @return the parser filter that keeps only the projected sections, null for {@link #FULL}
+     */
+    TokenFilter filter() {
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return isFull() ? "ResponseProjection[*]" : "ResponseProjection" + sections;
+    }
+
+    private static final class SectionFilter extends TokenFilter {
+
+        private final Set<String> sections;
+
+        SectionFilter(Set<String> sections) {
+            this.sections = sections;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            // only asked for the properties of the root object, nested ones inherit INCLUDE_ALL
+            return sections.contains(name) ? TokenFilter.INCLUDE_ALL : null;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.okta.commons.lang.Assert;
+import com.okta.idx.sdk.api.exception.ProcessingException;
+import com.okta.idx.sdk.api.model.TokenType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revokes tokens in the background, so that logout does not have to wait on the revocation endpoint.
+ * <p>
+ * Submitted tokens are queued and revoked by a small, fixed pool of worker threads. Each worker drains
+ * all pending revocations (up to a batch size) per wake-up, so a burst of logouts is processed back to back
+ * instead of one hand-off at a time. Revocations that fail with a transient error (network error, HTTP 429 or 5xx)
+ * are retried with exponential backoff; other failures are logged and counted.
+ * <p>
+ * If the queue is full, the token is revoked on the calling thread instead of being dropped.
+ *
+ * @see IDXAuthenticationWrapper#revokeTokenAsync(TokenType, String)
+ */
+public final class TokenRevocationQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationQueue.class);
+
+    static final int DEFAULT_WORKERS = 2;
+    static final int DEFAULT_CAPACITY = 10_000;
+    static final int DEFAULT_MAX_BATCH_SIZE = 50;
+    static final int DEFAULT_MAX_ATTEMPTS = 5;
+    static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(500);
+    static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final IDXClient client;
+    private final BlockingQueue<Revocation> queue;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final AtomicLong revokedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicInteger retryingCount = new AtomicInteger();
+
+    private volatile boolean shutdown;
+
+    TokenRevocationQueue(IDXClient client) {
+        this(client, DEFAULT_WORKERS, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    TokenRevocationQueue(IDXClient client, int workerCount, int capacity, int maxBatchSize, int maxAttempts,
+                         Duration initialBackoff, Duration maxBackoff) {
+        this.client = client;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+
+        this.workers = Executors.newFixedThreadPool(workerCount, new DaemonThreadFactory("okta-idx-revocation"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("okta-idx-revocation-retry"));
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    /**
+     * Queue a token for revocation and return immediately.
+     *
+     * @param tokenType the token type (access|refresh)
+     * @param token the token
+     */
+    public void submit(TokenType tokenType, String token) {
+        Assert.notNull(tokenType, "tokenType cannot be null");
+        Assert.hasText(token, "token cannot be empty");
+
+        enqueue(new Revocation(tokenType, token, 1));
+    }
+
+    /**
+     * @return the number of revocations waiting for a worker
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of revocations waiting for a retry after a transient failure
+     */
+    public int getRetryingCount() {
+        return retryingCount.get();
+    }
+
+    /**
+     * @return the number of tokens revoked successfully
+     */
+    public long getRevokedCount() {
+        return revokedCount.get();
+    }
+
+    /**
+     * @return the number of tokens that could not be revoked
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Stop the worker threads. Revocations still queued or waiting for a retry are abandoned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        workers.shutdownNow();
+        retryScheduler.shutdownNow();
+    }
+
+    private void enqueue(Revocation revocation) {
+        if (shutdown || !queue.offer(revocation)) {
+            logger.warn("Token revocation queue is full or shut down, revoking {} synchronously", revocation.tokenType);
+            revoke(revocation);
+        }
+    }
+
+    private void work() {
+        List<Revocation> batch = new ArrayList<>(maxBatchSize);
+        while (!shutdown) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+
+            for (Revocation revocation : batch) {
+                revoke(revocation);
+            }
+            batch.clear();
+        }
+    }
+
+    private void revoke(Revocation revocation) {
+        try {
+            client.revokeToken(revocation.tokenType.toString(), revocation.token);
+            revokedCount.incrementAndGet();
+        } catch (ProcessingException e) {
+            if (isRetryable(e) && revocation.attempt < maxAttempts && !shutdown) {
+                scheduleRetry(revocation);
+            } else {
+                failedCount.incrementAndGet();
+                logger.warn("Failed to revoke {} after {} attempt(s)", revocation.tokenType, revocation.attempt, e);
+            }
+        } catch (RuntimeException e) {
+            failedCount.incrementAndGet();
+            logger.warn("Failed to revoke {}", revocation.tokenType, e);
+        }
+    }
+
+    private void scheduleRetry(Revocation revocation) {
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(revocation.attempt - 1, 20));
+        // jitter, so that a burst of failures does not come back as a burst of retries
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+
+        retryingCount.incrementAndGet();
+        try {
+            retryScheduler.schedule(() -> {
+                retryingCount.decrementAndGet();
+                enqueue(revocation.nextAttempt());
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            retryingCount.decrementAndGet();
+            failedCount.incrementAndGet();
+        }
+    }
+
+    private static boolean isRetryable(ProcessingException e) {
+        int httpStatus = e.getHttpStatus();
+        // status 0 means the request never got a response (connection error, timeout)
+        return httpStatus == 0 || httpStatus == 429 || httpStatus >= 500;
+    }
+
+    private static final class Revocation {
+
+        private final TokenType tokenType;
+        private final String token;
+        private final int attempt;
+
+        private Revocation(TokenType tokenType, String token, int attempt) {
+            this.tokenType = tokenType;
+            this.token = token;
+            this.attempt = attempt;
+        }
+
+        private Revocation nextAttempt() {
+            return new Revocation(tokenType, token, attempt + 1);
+        }
+    }
+}
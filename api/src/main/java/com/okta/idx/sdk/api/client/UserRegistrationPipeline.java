@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client;
+
+import com.okta.commons.lang.Assert;
+import com.okta.idx.sdk.api.model.AuthenticatorType;
+import com.okta.idx.sdk.api.model.UserRegistration;
+import com.okta.idx.sdk.api.model.UserRegistrationResult;
+import com.okta.idx.sdk.api.model.VerifyAuthenticatorOptions;
+import com.okta.idx.sdk.api.response.AuthenticationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Registers many users through the IDX registration flow, e.g. to migrate an existing user store into Okta.
+ * <p>
+ * Each user goes through {@link IDXAuthenticationWrapper#begin()}, {@link IDXAuthenticationWrapper#fetchSignUpFormValues},
+ * {@link IDXAuthenticationWrapper#register} and, when a password is given, the enrollment of the password
+ * authenticator. Users are registered by a fixed number of workers; the source stream is only read as fast as
+ * the workers keep up, so it may be backed by a large file or a database cursor. Every step is paced by a shared
+ * rate limit.
+ * <p>
+ * The key of every registered user is appended to a checkpoint file. Users already listed in it are skipped,
+ * so a run that crashed or was interrupted can be started again with the same source and checkpoint file.
+ * Failed users are not recorded and are retried by the next run.
+ * <p>
+ * A user that was created but whose password could not be enrolled is reported as
+ * {@link UserRegistrationResult.Status#INCOMPLETE} and recorded as well, since the registration flow cannot
+ * enroll it again. Every user is also noted in a {@code .pending} file next to the checkpoint file before it is
+ * created, so a user that a crashed run created without recording the outcome is recognized by the next run,
+ * whose registration is rejected because the user already exists, and is reported as incomplete instead of failed.
+ * <p>
+ * Sample usage:
+ * <pre>
+ * UserRegistrationPipeline pipeline = UserRegistrationPipeline.builder(idxAuthenticationWrapper)
+ *         .withParallelism(8)
+ *         .withRateLimit(20)
+ *         .withCheckpointFile(Paths.get("migration.checkpoint"))
+ *         .build();
+ * pipeline.run(users, result -&gt; { if (result.getStatus() == Status.FAILED) log(result); });
+ * </pre>
+ */
+public final class UserRegistrationPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserRegistrationPipeline.class);
+
+    private static final String STARTED = "started";
+    private static final String REJECTED = "rejected";
+
+    private final IDXAuthenticationWrapper authenticationWrapper;
+    private final int parallelism;
+    private final double rateLimit;
+    private final Path checkpointFile;
+    private final Path pendingFile;
+
+    private final AtomicLong registeredCount = new AtomicLong();
+    private final AtomicLong incompleteCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private UserRegistrationPipeline(Builder builder) {
+        this.authenticationWrapper = builder.authenticationWrapper;
+        this.parallelism = builder.parallelism;
+        this.rateLimit = builder.rateLimit;
+        this.checkpointFile = builder.checkpointFile;
+        this.pendingFile = checkpointFile != null
+                ? checkpointFile.resolveSibling(checkpointFile.getFileName() + ".pending")
+                : null;
+    }
+
+    public static Builder builder(IDXAuthenticationWrapper authenticationWrapper) {
+        return new Builder(authenticationWrapper);
+    }
+
+    /**
+     * Register the given users and block until all of them are done.
+     *
+     * @param registrations the users to register, consumed lazily
+     * @param listener called with each result as soon as it is known, may be null
+     * @throws IOException if the checkpoint file cannot be read or written; the run is stopped
+     * @throws InterruptedException if interrupted while waiting; users that were not started yet are left for the next run
+     */
+    public void run(Stream<UserRegistration> registrations, Consumer<UserRegistrationResult> listener)
+            throws IOException, InterruptedException {
+
+        Assert.notNull(registrations, "registrations cannot be null");
+
+        Set<String> completed = readCheckpoint();
+        Set<String> started = readPending();
+        RateLimiter rateLimiter = new RateLimiter(rateLimit);
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        AtomicReference<IOException> checkpointError = new AtomicReference<>();
+        Object listenerLock = new Object();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory("okta-idx-registration"));
+        startNanos = System.nanoTime();
+        endNanos = 0;
+
+        try (BufferedWriter checkpoint = openCheckpoint(checkpointFile);
+             BufferedWriter pending = openCheckpoint(pendingFile)) {
+            Consumer<UserRegistrationResult> report = result -> {
+                if (listener != null) {
+                    synchronized (listenerLock) {
+                        listener.accept(result);
+                    }
+                }
+            };
+
+            try {
+                Iterator<UserRegistration> iterator = registrations.iterator();
+                while (iterator.hasNext() && checkpointError.get() == null) {
+                    UserRegistration registration = iterator.next();
+                    if (completed.contains(registration.getKey())) {
+                        skippedCount.incrementAndGet();
+                        report.accept(new UserRegistrationResult(registration, UserRegistrationResult.Status.SKIPPED, null));
+                        continue;
+                    }
+
+                    // backpressure, read no further ahead of the workers than one pending user each
+                    inFlight.acquire();
+                    executor.execute(() -> {
+                        try {
+                            UserRegistrationResult result;
+                            try {
+                                result = register(registration, rateLimiter, started, pending);
+                            } catch (IOException e) {
+                                checkpointError.compareAndSet(null, e);
+                                result = new UserRegistrationResult(registration, UserRegistrationResult.Status.FAILED,
+                                        Collections.singletonList("Checkpoint could not be written: " + e.getMessage()));
+                            }
+                            count(result);
+                            if (result.getStatus() != UserRegistrationResult.Status.FAILED) {
+                                try {
+                                    appendCheckpoint(checkpoint, registration.getKey());
+                                } catch (IOException e) {
+                                    // still reported below, the run stops after the users in flight
+                                    checkpointError.compareAndSet(null, e);
+                                }
+                            }
+                            report.accept(result);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                executor.shutdown();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                throw e;
+            } finally {
+                executor.shutdown();
+                endNanos = System.nanoTime();
+            }
+        }
+
+        IOException e = checkpointError.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of users registered so far
+     */
+    public long getRegisteredCount() {
+        return registeredCount.get();
+    }
+
+    /**
+     * @return the number of users created without their password so far
+     */
+    public long getIncompleteCount() {
+        return incompleteCount.get();
+    }
+
+    /**
+     * @return the number of users whose registration failed so far
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return the number of users skipped because the checkpoint file lists them as registered or incomplete
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * @return the number of registered, incomplete or failed users per second over the current (or last) run
+     */
+    public double getThroughput() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        double seconds = (end - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        return seconds > 0 ? (registeredCount.get() + incompleteCount.get() + failedCount.get()) / seconds : 0;
+    }
+
+    private void count(UserRegistrationResult result) {
+        switch (result.getStatus()) {
+            case REGISTERED:
+                registeredCount.incrementAndGet();
+                break;
+            case INCOMPLETE:
+                incompleteCount.incrementAndGet();
+                break;
+            default:
+                failedCount.incrementAndGet();
+        }
+    }
+
+    private UserRegistrationResult register(UserRegistration registration, RateLimiter rateLimiter,
+                                            Set<String> started, BufferedWriter pending) throws IOException {
+        boolean created = false;
+        try {
+            rateLimiter.acquire();
+            AuthenticationResponse response = authenticationWrapper.begin();
+            if (failed(response)) {
+                return failure(registration, false, response);
+            }
+
+            rateLimiter.acquire();
+            response = authenticationWrapper.fetchSignUpFormValues(response.getProceedContext());
+            if (failed(response)) {
+                return failure(registration, false, response);
+            }
+
+            appendCheckpoint(pending, registration.getKey() + '\t' + STARTED);
+            rateLimiter.acquire();
+            response = authenticationWrapper.register(response.getProceedContext(), registration.getUserProfile());
+            if (failed(response)) {
+                if (started.contains(registration.getKey()) && alreadyExists(response)) {
+                    // created by an earlier run that stopped before recording the outcome
+                    return registration.getPassword() == null
+                            ? new UserRegistrationResult(registration, UserRegistrationResult.Status.REGISTERED, null)
+                            : new UserRegistrationResult(registration, UserRegistrationResult.Status.INCOMPLETE,
+                                    Collections.singletonList("User was created by an earlier run, its password was not enrolled"));
+                }
+                if (!response.getErrors().isEmpty()) {
+                    appendCheckpoint(pending, registration.getKey() + '\t' + REJECTED);
+                }
+                return failure(registration, false, response);
+            }
+            created = true;
+
+            if (registration.getPassword() != null) {
+                Optional<Authenticator> passwordAuthenticator = response.getAuthenticators() == null
+                        ? Optional.empty()
+                        : response.getAuthenticators().stream()
+                                .filter(authenticator -> AuthenticatorType.PASSWORD.getValue().equals(authenticator.getType()))
+                                .findFirst();
+                if (!passwordAuthenticator.isPresent()) {
+                    return new UserRegistrationResult(registration, UserRegistrationResult.Status.INCOMPLETE,
+                            Collections.singletonList("Password authenticator is not available for enrollment"));
+                }
+
+                rateLimiter.acquire();
+                response = authenticationWrapper.enrollAuthenticator(response.getProceedContext(), passwordAuthenticator.get().getId());
+                if (failed(response)) {
+                    return failure(registration, true, response);
+                }
+
+                rateLimiter.acquire();
+                response = authenticationWrapper.verifyAuthenticator(response.getProceedContext(),
+                        new VerifyAuthenticatorOptions(registration.getPassword()));
+                if (failed(response)) {
+                    return failure(registration, true, response);
+                }
+            }
+
+            return new UserRegistrationResult(registration, UserRegistrationResult.Status.REGISTERED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new UserRegistrationResult(registration, status(created),
+                    Collections.singletonList("Registration was interrupted"));
+        } catch (RuntimeException e) {
+            logger.error("Registration of {} failed", registration.getKey(), e);
+            return new UserRegistrationResult(registration, status(created),
+                    Collections.singletonList(String.valueOf(e.getMessage())));
+        }
+    }
+
+    private static UserRegistrationResult.Status status(boolean created) {
+        return created ? UserRegistrationResult.Status.INCOMPLETE : UserRegistrationResult.Status.FAILED;
+    }
+
+    private static boolean alreadyExists(AuthenticationResponse response) {
+        return response.getErrors().stream().anyMatch(error -> error.contains("already exists"));
+    }
+
+    private static boolean failed(AuthenticationResponse response) {
+        return !response.getErrors().isEmpty() || response.getProceedContext() == null;
+    }
+
+    private static UserRegistrationResult failure(UserRegistration registration, boolean created,
+                                                  AuthenticationResponse response) {
+        return new UserRegistrationResult(registration, status(created),
+                response.getErrors().isEmpty()
+                        ? Collections.singletonList("Registration flow ended unexpectedly")
+                        : response.getErrors());
+    }
+
+    private Set<String> readCheckpoint() throws IOException {
+        Set<String> completed = ConcurrentHashMap.newKeySet();
+        if (checkpointFile != null && Files.exists(checkpointFile)) {
+            try (Stream<String> lines = Files.lines(checkpointFile, StandardCharsets.UTF_8)) {
+                lines.filter(line -> !line.isEmpty()).forEach(completed::add);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * @return the users a previous run started to create, and may have created, without recording the outcome
+     */
+    private Set<String> readPending() throws IOException {
+        Set<String> started = ConcurrentHashMap.newKeySet();
+        if (pendingFile != null && Files.exists(pendingFile)) {
+            try (Stream<String> lines = Files.lines(pendingFile, StandardCharsets.UTF_8)) {
+                // the last line of a user wins, a user rejected after it was started was not created
+                lines.forEach(line -> {
+                    int separator = line.lastIndexOf('\t');
+                    if (separator < 0) {
+                        return;
+                    }
+                    String key = line.substring(0, separator);
+                    if (STARTED.equals(line.substring(separator + 1))) {
+                        started.add(key);
+                    } else {
+                        started.remove(key);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return started;
+    }
+
+    private static BufferedWriter openCheckpoint(Path file) throws IOException {
+        if (file == null) {
+            return null;
+        }
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void appendCheckpoint(BufferedWriter checkpoint, String key) throws IOException {
+        if (checkpoint == null) {
+            return;
+        }
+        synchronized (checkpoint) {
+            checkpoint.write(key);
+            checkpoint.newLine();
+            // flushed per user, so a crash loses at most the users in flight
+            checkpoint.flush();
+        }
+    }
+
+    public static final class Builder {
+
+        private final IDXAuthenticationWrapper authenticationWrapper;
+        private int parallelism = 4;
+        private double rateLimit;
+        private Path checkpointFile;
+
+        private Builder(IDXAuthenticationWrapper authenticationWrapper) {
+            Assert.notNull(authenticationWrapper, "authenticationWrapper cannot be null");
+            this.authenticationWrapper = authenticationWrapper;
+        }
+
+        /**
+         * @param parallelism the number of users registered concurrently, defaults to 4
+         * @return this builder
+         */
+        public Builder withParallelism(int parallelism) {
+            Assert.isTrue(parallelism > 0, "parallelism must be positive");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @param stepsPerSecond the maximum number of registration flow steps started per second across all
+         *                       workers, zero or less for no limit (the default)
+         * @return this builder
+         */
+        public Builder withRateLimit(double stepsPerSecond) {
+            this.rateLimit = stepsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param checkpointFile the file recording registered users, created if missing along with its
+         *                       {@code .pending} file; without one a run cannot be resumed
+         * @return this builder
+         */
+        public Builder withCheckpointFile(Path checkpointFile) {
+            this.checkpointFile = checkpointFile;
+            return this;
+        }
+
+        public UserRegistrationPipeline build() {
+            return new UserRegistrationPipeline(this);
+        }
+    }
+}
@@ -47,6 +47,18 @@ final class WrapperUtil {
         logger.error("Exception occurred", e);
 
         AuthenticationResponse authenticationResponse = new AuthenticationResponse();
+        addErrors(authenticationResponse, e);
+        logger.error("Error Detail: {}", authenticationResponse.getErrors());
+        return authenticationResponse;
+    }
+
+    /**
+     * Add the error messages of a {@link ProcessingException} to a response.
+     *
+     * @param authenticationResponse the response
+     * @param e the {@link ProcessingException} reference
+     */
+    static void addErrors(AuthenticationResponse authenticationResponse, ProcessingException e) {
         ErrorResponse errorResponse = e.getErrorResponse();
         if (errorResponse != null) {
             if (errorResponse.getMessages() != null) {
@@ -58,8 +70,6 @@ final class WrapperUtil {
         } else {
             authenticationResponse.addError(e.getMessage());
         }
-        logger.error("Error Detail: {}", authenticationResponse.getErrors());
-        return authenticationResponse;
     }
 
     static void printRemediationOptions(IDXResponse idxResponse) {
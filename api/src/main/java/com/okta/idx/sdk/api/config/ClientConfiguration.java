@@ -22,6 +22,7 @@ import com.okta.commons.http.config.HttpClientConfiguration;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -41,6 +42,17 @@ public class ClientConfiguration extends HttpClientConfiguration {
     private String clientSecret;
     private Set<String> scopes = new HashSet<>();
     private String redirectUri;
+    private boolean discoveryEnabled = false;
+    private Duration discoveryRefreshInterval = Duration.ofHours(1);
+    private boolean userInfoPrefetchEnabled = false;
+    private int revocationParallelism = 8;
+    private double revocationRateLimit = 0;
+    private Duration signUpFormTtl = Duration.ZERO;
+    private Duration idpRefreshInterval = Duration.ofMinutes(5);
+    private boolean compressionEnabled = false;
+    private int rawResponseMaxBytes = 0;
+    private int formStringCacheSize = 0;
+    private boolean tokenExchangeAsyncEnabled = false;
 
     public String getIssuer() {
         return issuer;
@@ -82,6 +94,161 @@ public class ClientConfiguration extends HttpClientConfiguration {
         this.redirectUri = redirectUri;
     }
 
+    /**
+     * Whether endpoint urls are read from the issuer's {@code .well-known/openid-configuration} document
+     * instead of being derived from the issuer url.
+     *
+     * @return true if OpenID Connect discovery is enabled
+     */
+    public boolean isDiscoveryEnabled() {
+        return discoveryEnabled;
+    }
+
+    public void setDiscoveryEnabled(boolean discoveryEnabled) {
+        this.discoveryEnabled = discoveryEnabled;
+    }
+
+    /**
+     * How long a loaded discovery document is used before it is fetched again.
+     *
+     * @return the discovery document refresh interval
+     */
+    public Duration getDiscoveryRefreshInterval() {
+        return discoveryRefreshInterval;
+    }
+
+    public void setDiscoveryRefreshInterval(Duration discoveryRefreshInterval) {
+        this.discoveryRefreshInterval = discoveryRefreshInterval;
+    }
+
+    /**
+     * Whether the userinfo request is started in the background as soon as tokens are issued, so that a
+     * subsequent {@code userInfo} call finds it already cached. Only applies when the {@code openid} scope is requested.
+     *
+     * @return true if userinfo prefetch is enabled
+     */
+    public boolean isUserInfoPrefetchEnabled() {
+        return userInfoPrefetchEnabled;
+    }
+
+    public void setUserInfoPrefetchEnabled(boolean userInfoPrefetchEnabled) {
+        this.userInfoPrefetchEnabled = userInfoPrefetchEnabled;
+    }
+
+    /**
+     * Whether gzip or deflate compressed responses are requested with {@code Accept-Encoding}. Compressed
+     * responses are inflated while they are parsed.
+     *
+     * @return true if response compression is enabled
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    /**
+     * The largest IDX response body kept as is for {@link com.okta.idx.sdk.api.response.IDXResponse#raw()}, or 0 to
+     * keep none. Larger bodies are parsed as usual and {@code raw()} falls back to re-serializing the response.
+     *
+     * @return the maximum size in bytes of a retained response body
+     */
+    public int getRawResponseMaxBytes() {
+        return rawResponseMaxBytes;
+    }
+
+    public void setRawResponseMaxBytes(int rawResponseMaxBytes) {
+        this.rawResponseMaxBytes = rawResponseMaxBytes;
+    }
+
+    /**
+     * The number of distinct form names, labels, types and hrefs shared between parsed IDX responses, or 0 to not
+     * share them. Every response repeats the same form descriptors, so sharing them cuts the heap held by
+     * in-flight transactions.
+     *
+     * @return the maximum size of the shared form string table
+     */
+    public int getFormStringCacheSize() {
+        return formStringCacheSize;
+    }
+
+    public void setFormStringCacheSize(int formStringCacheSize) {
+        this.formStringCacheSize = formStringCacheSize;
+    }
+
+    /**
+     * Whether the interaction code of a successful login is exchanged for tokens in the background, so the caller
+     * can prepare its session while {@code /v1/token} is in flight. The token exchange then completes
+     * {@link com.okta.idx.sdk.api.response.AuthenticationResponse#getTokenResponseFuture()}, a {@code SUCCESS}
+     * status then means the tokens are pending and a failed exchange is thrown by
+     * {@link com.okta.idx.sdk.api.response.AuthenticationResponse#awaitTokenResponse()}.
+     *
+     * @return true if the token exchange is asynchronous
+     */
+    public boolean isTokenExchangeAsyncEnabled() {
+        return tokenExchangeAsyncEnabled;
+    }
+
+    public void setTokenExchangeAsyncEnabled(boolean tokenExchangeAsyncEnabled) {
+        this.tokenExchangeAsyncEnabled = tokenExchangeAsyncEnabled;
+    }
+
+    /**
+     * The maximum number of concurrent requests made by a bulk token revocation.
+     *
+     * @return the bulk revocation parallelism
+     */
+    public int getRevocationParallelism() {
+        return revocationParallelism;
+    }
+
+    public void setRevocationParallelism(int revocationParallelism) {
+        this.revocationParallelism = revocationParallelism;
+    }
+
+    /**
+     * The maximum number of revocation requests per second made by a bulk token revocation, or 0 to only
+     * slow down when the org's rate limit is hit.
+     *
+     * @return the bulk revocation rate limit
+     */
+    public double getRevocationRateLimit() {
+        return revocationRateLimit;
+    }
+
+    public void setRevocationRateLimit(double revocationRateLimit) {
+        this.revocationRateLimit = revocationRateLimit;
+    }
+
+    /**
+     * How long the authentication wrapper keeps the sign up form it last fetched, or zero (the default) to fetch it
+     * for every registration page. A cached form does not see profile enrollment policy changes until it expires.
+     *
+     * @return the sign up form cache time to live
+     */
+    public Duration getSignUpFormTtl() {
+        return signUpFormTtl;
+    }
+
+    public void setSignUpFormTtl(Duration signUpFormTtl) {
+        this.signUpFormTtl = signUpFormTtl;
+    }
+
+    /**
+     * How old the IdP list returned by the authentication wrapper may get before it is reloaded in the background.
+     *
+     * @return the IdP list refresh interval
+     */
+    public Duration getIdpRefreshInterval() {
+        return idpRefreshInterval;
+    }
+
+    public void setIdpRefreshInterval(Duration idpRefreshInterval) {
+        this.idpRefreshInterval = idpRefreshInterval;
+    }
+
     @Override
     public RequestAuthenticator getRequestAuthenticator() {
         return new DisabledAuthenticator();
@@ -35,7 +35,17 @@ public class DefaultEnvVarNameConverter implements EnvVarNameConverter {
                 DEFAULT_CLIENT_ID_PROPERTY_NAME,
                 DEFAULT_CLIENT_SECRET_PROPERTY_NAME,
                 DEFAULT_CLIENT_SCOPES_PROPERTY_NAME,
-                DEFAULT_CLIENT_REDIRECT_URI_PROPERTY_NAME);
+                DEFAULT_CLIENT_REDIRECT_URI_PROPERTY_NAME,
+                DEFAULT_CLIENT_DISCOVERY_ENABLED_PROPERTY_NAME,
+                DEFAULT_CLIENT_DISCOVERY_REFRESH_INTERVAL_PROPERTY_NAME,
+                DEFAULT_CLIENT_USERINFO_PREFETCH_PROPERTY_NAME,
+                DEFAULT_CLIENT_REVOCATION_RATE_LIMIT_PROPERTY_NAME,
+                DEFAULT_CLIENT_SIGN_UP_FORM_TTL_PROPERTY_NAME,
+                DEFAULT_CLIENT_IDP_REFRESH_INTERVAL_PROPERTY_NAME,
+                DEFAULT_CLIENT_COMPRESSION_ENABLED_PROPERTY_NAME,
+                DEFAULT_CLIENT_RAW_RESPONSE_MAX_BYTES_PROPERTY_NAME,
+                DEFAULT_CLIENT_FORM_STRING_CACHE_SIZE_PROPERTY_NAME,
+                DEFAULT_CLIENT_TOKEN_EXCHANGE_ASYNC_PROPERTY_NAME);
     }
 
     private Map<String, String> buildReverseLookupToMap(String... dottedPropertyNames) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.deserializers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializes the strings of IDX form descriptors through the {@link CanonicalStrings} table set as the
+ * {@code CanonicalStrings.class} attribute of the deserialization, or as plain strings if there is none.
+ */
+public class CanonicalStringDeserializer extends JsonDeserializer<String> {
+
+    @Override
+    public String deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+
+        String value = StringDeserializer.instance.deserialize(jsonParser, deserializationContext);
+
+        CanonicalStrings canonicalStrings = (CanonicalStrings) deserializationContext.getAttribute(CanonicalStrings.class);
+        return canonicalStrings != null && value != null ? canonicalStrings.canonicalize(value) : value;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.deserializers;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded table of canonical string instances, so the form names, labels and types repeated in every IDX response
+ * are held once on the heap instead of once per response.
+ * <p>
+ * Once the table is full new strings are returned as they are; entries are never evicted, since the strings worth
+ * sharing are the ones that recur from the first responses on.
+ */
+public final class CanonicalStrings {
+
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public CanonicalStrings(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param value the string
+     * @return the canonical instance equal to {@code value}, or {@code value} itself
+     */
+    public String canonicalize(String value) {
+        String canonical = strings.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (strings.size() >= maxSize) {
+            return value;
+        }
+        canonical = strings.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+}
@@ -31,6 +31,14 @@ public class ProcessingException extends Exception {
         super(cause);
     }
 
+    protected ProcessingException(String message) {
+        super(message);
+    }
+
+    protected ProcessingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
     public ProcessingException(int httpStatus, String message, ErrorResponse errorResponse) {
         super(message + " HTTP status: " + httpStatus);
         this.httpStatus = httpStatus;
@@ -16,10 +16,13 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class App {
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String type;
 
     private AppValue value;
@@ -16,14 +16,19 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class AppValue {
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String name;
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String label;
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String id;
 
     public String getName() {
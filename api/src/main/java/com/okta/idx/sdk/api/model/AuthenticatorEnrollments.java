@@ -16,6 +16,8 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,6 +28,7 @@ import java.util.stream.Stream;
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class AuthenticatorEnrollments implements Iterable<AuthenticatorEnrollment> {
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String type;
 
     private AuthenticatorEnrollment[] value;
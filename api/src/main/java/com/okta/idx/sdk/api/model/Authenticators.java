@@ -16,12 +16,15 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 
 import java.util.Arrays;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class Authenticators {
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String type;
 
     private AuthenticatorsValue[] value;
@@ -16,18 +16,24 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 
 import java.util.Arrays;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class AuthenticatorsValue {
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String type;
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String key;
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String id;
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String displayName;
 
     private MethodType[] methods;
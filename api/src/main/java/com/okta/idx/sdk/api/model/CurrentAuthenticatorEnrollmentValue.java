@@ -16,18 +16,23 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class CurrentAuthenticatorEnrollmentValue {
 
     private Recover recover;
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String type;
 
     private String id;
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String key;
 
+    @JsonDeserialize(using = CanonicalStringDeserializer.class)
     private String displayName;
 
     private RemediationOption resend;
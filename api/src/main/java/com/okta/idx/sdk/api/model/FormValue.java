@@ -16,64 +16,95 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 
-import java.util.Arrays;
+import java.util.List;
 
+/**
+ * A form field of a remediation option. Instances are immutable and can be shared between threads.
+ */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
-public class FormValue {
+@JsonDeserialize(builder = FormValue.Builder.class)
+public final class FormValue {
 
     /**
      * The name of the form item that can be used in a UI.
      * This relates to the name that is used for the body of the request for the RemediationStep.
      */
-    public String name;
+    private final String name;
 
     /**
      * Indicates whether the item is a required field
      */
-    public boolean required;
+    private final boolean required;
 
     /**
      * A user friendly name that could be used for a UI
      */
-    public String label;
+    private final String label;
 
     /**
      * Describes the type of value that is expected
      */
-    public String type;
+    private final String type;
 
     /**
      * Is the value a secret value
      */
-    public boolean secret;
+    private final boolean secret;
 
     /**
      * Default value for the current form value
      */
-    public Object value;
+    private final Object value;
 
-    private OptionsFormVal form;
+    private final OptionsFormVal form;
 
-    public Options[] options;
+    @JsonProperty
+    private final List<Options> options;
 
     /**
      * Should this form value be visible in a UI
      */
-    public boolean visible;
+    private final boolean visible;
 
     /**
      * Should this form value be mutable in a UI. MAY relate to the form fields disabled property
      */
-    public boolean mutable;
+    private final boolean mutable;
 
     /**
      * Error messages could appear here
      */
-    public Messages messages;
+    private final Messages messages;
+
+    private FormValue(Builder builder) {
+        this.name = builder.name;
+        this.required = builder.required;
+        this.label = builder.label;
+        this.type = builder.type;
+        this.secret = builder.secret;
+        this.value = builder.value;
+        this.form = builder.form;
+        this.options = ModelLists.copyOf(builder.options);
+        this.visible = builder.visible;
+        this.mutable = builder.mutable;
+        this.messages = builder.messages;
+    }
 
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return what the first option relates to, null if there are no options
+     */
     public String relatesTo() {
-        return Arrays.stream(options).findFirst().get().getRelatesTo();
+        return options != null && !options.isEmpty() ? options.get(0).getRelatesTo() : null;
     }
 
     /**
@@ -89,12 +120,18 @@ public class FormValue {
      * return a list of options that is described as an array of formValue
      *
      * @return {@link Options} array
+     * @see #getOptions()
      */
     public Options[] options() {
-        if (options == null) {
-            return new Options[0];
-        }
-        return Arrays.copyOf(this.options, this.options.length);
+        return options != null ? options.toArray(new Options[0]) : new Options[0];
+    }
+
+    /**
+     * @return the options of this form value, an unmodifiable view; empty if there are none
+     */
+    @JsonIgnore
+    public List<Options> getOptions() {
+        return ModelLists.orEmpty(options);
     }
 
     public String getName() {
@@ -105,6 +142,18 @@ public class FormValue {
         return required;
     }
 
+    public String getLabel() {
+        return label;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isSecret() {
+        return secret;
+    }
+
     public Object getValue() {
         return value;
     }
@@ -113,7 +162,96 @@ public class FormValue {
         return form;
     }
 
-    public String getLabel() {
-        return label;
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public boolean isMutable() {
+        return mutable;
+    }
+
+    public Messages getMessages() {
+        return messages;
+    }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    public static final class Builder {
+
+        private String name;
+        private boolean required;
+        private String label;
+        private String type;
+        private boolean secret;
+        private Object value;
+        private OptionsFormVal form;
+        private List<Options> options;
+        private boolean visible;
+        private boolean mutable;
+        private Messages messages;
+
+        private Builder() {
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withRequired(boolean required) {
+            this.required = required;
+            return this;
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withLabel(String label) {
+            this.label = label;
+            return this;
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withType(String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder withSecret(boolean secret) {
+            this.secret = secret;
+            return this;
+        }
+
+        public Builder withValue(Object value) {
+            this.value = value;
+            return this;
+        }
+
+        public Builder withForm(OptionsFormVal form) {
+            this.form = form;
+            return this;
+        }
+
+        public Builder withOptions(List<Options> options) {
+            this.options = options;
+            return this;
+        }
+
+        public Builder withVisible(boolean visible) {
+            this.visible = visible;
+            return this;
+        }
+
+        public Builder withMutable(boolean mutable) {
+            this.mutable = mutable;
+            return this;
+        }
+
+        public Builder withMessages(Messages messages) {
+            this.messages = messages;
+            return this;
+        }
+
+        public FormValue build() {
+            return new FormValue(this);
+        }
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.model;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JWT (id_token or access_token) whose signature and standard claims have been verified locally.
+ */
+public class Jwt {
+
+    private final String tokenValue;
+
+    private final Map<String, Object> header;
+
+    private final Map<String, Object> claims;
+
+    public Jwt(String tokenValue, Map<String, Object> header, Map<String, Object> claims) {
+        this.tokenValue = tokenValue;
+        this.header = Collections.unmodifiableMap(header);
+        this.claims = Collections.unmodifiableMap(claims);
+    }
+
+    public String getTokenValue() {
+        return tokenValue;
+    }
+
+    public Map<String, Object> getHeader() {
+        return header;
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+
+    public String getIssuer() {
+        return stringClaim("iss");
+    }
+
+    public String getSubject() {
+        return stringClaim("sub");
+    }
+
+    /**
+     * The 'aud' claim, which may be serialized either as a single string or as an array of strings.
+     *
+     * @return the audience values, never null
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getAudience() {
+        Object aud = claims.get("aud");
+        if (aud instanceof List) {
+            return Collections.unmodifiableList((List<String>) aud);
+        }
+        return aud != null ? Collections.singletonList(String.valueOf(aud)) : Collections.emptyList();
+    }
+
+    public Instant getExpiresAt() {
+        return instantClaim("exp");
+    }
+
+    public Instant getIssuedAt() {
+        return instantClaim("iat");
+    }
+
+    public Instant getNotBefore() {
+        return instantClaim("nbf");
+    }
+
+    private String stringClaim(String name) {
+        Object value = claims.get(name);
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    private Instant instantClaim(String name) {
+        Object value = claims.get(name);
+        return value instanceof Number ? Instant.ofEpochSecond(((Number) value).longValue()) : null;
+    }
+}
@@ -1,33 +1,30 @@
-/*
- * Copyright (c) 2020-Present, Okta, Inc.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 import com.okta.idx.sdk.api.deserializers.OptionsValueDeserializer;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
-public class Options {
+@JsonDeserialize(builder = Options.Builder.class)
+public final class Options {
 
-    private String label;
+    private final String label;
 
-    @JsonDeserialize(using = OptionsValueDeserializer.class)
-    private Object value;
+    private final Object value;
 
-    private String relatesTo;
+    private final String relatesTo;
+
+    private Options(Builder builder) {
+        this.label = builder.label;
+        this.value = builder.value;
+        this.relatesTo = builder.relatesTo;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 
     public String getLabel() {
         return label;
@@ -40,4 +37,37 @@ public class Options {
     public String getRelatesTo() {
         return relatesTo;
     }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    public static final class Builder {
+
+        private String label;
+        private Object value;
+        private String relatesTo;
+
+        private Builder() {
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withLabel(String label) {
+            this.label = label;
+            return this;
+        }
+
+        @JsonDeserialize(using = OptionsValueDeserializer.class)
+        public Builder withValue(Object value) {
+            this.value = value;
+            return this;
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withRelatesTo(String relatesTo) {
+            this.relatesTo = relatesTo;
+            return this;
+        }
+
+        public Options build() {
+            return new Options(this);
+        }
+    }
 }
@@ -1,28 +1,42 @@
-/*
- * Copyright (c) 2020-Present, Okta, Inc.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
-public class OptionsForm {
+@JsonDeserialize(builder = OptionsForm.Builder.class)
+public final class OptionsForm {
 
-    private OptionsFormVal form;
+    private final OptionsFormVal form;
+
+    private OptionsForm(Builder builder) {
+        this.form = builder.form;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 
     public OptionsFormVal getForm() {
         return form;
     }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    public static final class Builder {
+
+        private OptionsFormVal form;
+
+        private Builder() {
+        }
+
+        public Builder withForm(OptionsFormVal form) {
+            this.form = form;
+            return this;
+        }
+
+        public OptionsForm build() {
+            return new OptionsForm(this);
+        }
+    }
 }
@@ -1,30 +1,57 @@
-/*
- * Copyright (c) 2020-Present, Okta, Inc.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 
-import java.util.Arrays;
+import java.util.List;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
-public class OptionsFormVal {
+@JsonDeserialize(builder = OptionsFormVal.Builder.class)
+public final class OptionsFormVal {
 
-    private FormValue[] value;
+    private final List<FormValue> value;
 
+    private OptionsFormVal(Builder builder) {
+        this.value = ModelLists.copyOf(builder.value);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a copy of the form values
+     * @see #getFormValues()
+     */
     public FormValue[] getValue() {
-        return Arrays.copyOf(value, value.length);
+        return ModelLists.toArray(value, new FormValue[0]);
+    }
+
+    /**
+     * @return the form values, an unmodifiable view; empty if there are none
+     */
+    @JsonIgnore
+    public List<FormValue> getFormValues() {
+        return ModelLists.orEmpty(value);
+    }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    public static final class Builder {
+
+        private List<FormValue> value;
+
+        private Builder() {
+        }
+
+        public Builder withValue(List<FormValue> value) {
+            this.value = value;
+            return this;
+        }
+
+        public OptionsFormVal build() {
+            return new OptionsFormVal(this);
+        }
     }
 }
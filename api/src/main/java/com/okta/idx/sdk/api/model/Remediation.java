@@ -1,41 +1,51 @@
-/*
- * Copyright (c) 2020-Present, Okta, Inc.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 
-import java.util.Arrays;
+import java.util.List;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
-public class Remediation {
+@JsonDeserialize(builder = Remediation.Builder.class)
+public final class Remediation {
 
     /**
      * The type of the `value` value
      */
-    private String type;
+    private final String type;
 
-    private RemediationOption[] value;
+    private final List<RemediationOption> value;
+
+    private Remediation(Builder builder) {
+        this.type = builder.type;
+        this.value = ModelLists.copyOf(builder.value);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 
     /**
      * The list of remediation options available to continue the flow based on `remediation.value`
      *
      * @return array array of RemediationOptions objects
+     * @see #getRemediationOptions()
      */
     public RemediationOption[] remediationOptions() {
-        return Arrays.copyOf(value, value.length);
+        return ModelLists.toArray(value, new RemediationOption[0]);
+    }
+
+    /**
+     * The remediation options available to continue the flow, an unmodifiable view; empty if there are none.
+     *
+     * @return list of RemediationOption objects
+     */
+    @JsonIgnore
+    public List<RemediationOption> getRemediationOptions() {
+        return ModelLists.orEmpty(value);
     }
 
     public String getType() {
@@ -43,6 +53,31 @@ public class Remediation {
     }
 
     public RemediationOption[] getValue() {
-        return Arrays.copyOf(value, value.length);
+        return remediationOptions();
+    }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    public static final class Builder {
+
+        private String type;
+        private List<RemediationOption> value;
+
+        private Builder() {
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withType(String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder withValue(List<RemediationOption> value) {
+            this.value = value;
+            return this;
+        }
+
+        public Remediation build() {
+            return new Remediation(this);
+        }
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The remediation names the SDK acts on, as an enum so flow decisions can use {@link java.util.EnumMap} lookups
+ * instead of comparing strings. {@link RemediationType} keeps the raw string values.
+ * <p>
+ * A name maps to the {@link AuthenticationStatus} reported for it; the next request is still chosen by the
+ * {@code IDXAuthenticationWrapper} method the caller invokes.
+ */
+public enum RemediationName {
+
+    IDENTIFY(RemediationType.IDENTIFY),
+
+    SKIP(RemediationType.SKIP),
+
+    ENROLL_AUTHENTICATOR(RemediationType.ENROLL_AUTHENTICATOR),
+
+    REENROLL_AUTHENTICATOR(RemediationType.REENROLL_AUTHENTICATOR),
+
+    CHALLENGE_AUTHENTICATOR(RemediationType.CHALLENGE_AUTHENTICATOR),
+
+    SUCCESS_WITH_INTERACTION_CODE(RemediationType.SUCCESS_WITH_INTERACTION_CODE),
+
+    SELECT_AUTHENTICATOR_AUTHENTICATE(RemediationType.SELECT_AUTHENTICATOR_AUTHENTICATE),
+
+    RESET_AUTHENTICATOR(RemediationType.RESET_AUTHENTICATOR),
+
+    ENROLL_PROFILE(RemediationType.ENROLL_PROFILE),
+
+    ENROLL_POLL(RemediationType.ENROLL_POLL),
+
+    SELECT_ENROLL_PROFILE(RemediationType.SELECT_ENROLL_PROFILE),
+
+    SELECT_AUTHENTICATOR_ENROLL(RemediationType.SELECT_AUTHENTICATOR_ENROLL),
+
+    IDENTIFY_RECOVERY(RemediationType.IDENTIFY_RECOVERY),
+
+    AUTHENTICATOR_ENROLLMENT_DATA(RemediationType.AUTHENTICATOR_ENROLLMENT_DATA),
+
+    AUTHENTICATOR_VERIFICATION_DATA(RemediationType.AUTHENTICATOR_VERIFICATION_DATA),
+
+    ENROLLMENT_CHANNEL_DATA(RemediationType.ENROLLMENT_CHANNEL_DATA),
+
+    CHALLENGE_POLL(RemediationType.CHALLENGE_POLL),
+
+    // any name the SDK does not know about
+    UNKNOWN(RemediationType.UNKNOWN);
+
+    private static final Map<String, RemediationName> BY_VALUE = new HashMap<>();
+
+    static {
+        for (RemediationName name : values()) {
+            BY_VALUE.put(name.value, name);
+        }
+    }
+
+    private final String value;
+
+    RemediationName(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the name as it appears in IDX responses, e.g. {@code select-authenticator-authenticate}
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @param value a remediation name from an IDX response, may be {@code null}
+     * @return the matching constant, or {@link #UNKNOWN}
+     */
+    public static RemediationName fromValue(String value) {
+        RemediationName name = value != null ? BY_VALUE.get(value) : null;
+        return name != null ? name : UNKNOWN;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
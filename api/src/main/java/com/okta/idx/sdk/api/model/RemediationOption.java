@@ -16,6 +16,10 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.okta.idx.sdk.api.deserializers.CanonicalStringDeserializer;
 import com.okta.commons.lang.Assert;
 import com.okta.idx.sdk.api.client.IDXClient;
 import com.okta.idx.sdk.api.exception.ProcessingException;
@@ -27,50 +31,75 @@ import com.okta.idx.sdk.api.request.IdentifyRequest;
 import com.okta.idx.sdk.api.request.SkipAuthenticatorEnrollmentRequest;
 import com.okta.idx.sdk.api.response.IDXResponse;
 
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
-public class RemediationOption {
+@JsonDeserialize(builder = RemediationOption.Builder.class)
+public final class RemediationOption {
+
+    /**
+     * The IDX client method each request type is sent with, bound once instead of re-checked on every proceed call.
+     * Dispatch is keyed on the request type, not on this option's {@link RemediationName}: the wrapper already picks
+     * the request for each state, and some states are advanced by more than one request type.
+     */
+    private static final Map<Class<?>, ProceedHandler> PROCEED_HANDLERS = proceedHandlers();
 
     /**
      * Ion spec rel member based around the (form structure)[https://ionspec.org/#form-structure] rules
      */
-    private String[] rel;
+    private final List<String> rel;
 
     /**
      * Identifier for the remediation option
      */
-    private String name;
+    private final String name;
 
     /**
      * Type for this remediation option
      */
-    private String type;
+    private final String type;
 
     /**
      * HTTP Method to use for this remediation option.
      */
-    private String method;
+    private final String method;
 
     /**
      * Href for the remediation option
      */
-    private String href;
+    private final String href;
 
-    private FormValue[] value;
+    private final List<FormValue> value;
 
     /**
      * Accepts Header for this remediation option.
      */
-    private String accepts;
+    private final String accepts;
 
     /**
      * Refresh value for this remediation option.
      */
-    private String refresh;
+    private final String refresh;
+
+    private RemediationOption(Builder builder) {
+        this.rel = ModelLists.copyOf(builder.rel);
+        this.name = builder.name;
+        this.type = builder.type;
+        this.method = builder.method;
+        this.href = builder.href;
+        this.value = ModelLists.copyOf(builder.value);
+        this.accepts = builder.accepts;
+        this.refresh = builder.refresh;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 
     /**
      * Allow you to continue the remediation with this option.
@@ -86,15 +115,20 @@ public class RemediationOption {
     public IDXResponse proceed(IDXClient client, Object request) throws IllegalStateException, IllegalArgumentException, ProcessingException {
         Assert.notNull(request, "request cannot be null");
 
-        if (request instanceof IdentifyRequest) return client.identify((IdentifyRequest) request, href);
-        else if (request instanceof ChallengeRequest) return client.challenge((ChallengeRequest) request, href);
-        else if (request instanceof AnswerChallengeRequest)
-            return client.answerChallenge((AnswerChallengeRequest) request, href);
-        else if (request instanceof EnrollRequest) return client.enroll((EnrollRequest) request, href);
-        else if (request instanceof EnrollUserProfileUpdateRequest) return client.enrollUpdateUserProfile((EnrollUserProfileUpdateRequest) request, href);
-        else if (request instanceof SkipAuthenticatorEnrollmentRequest) return client.skip((SkipAuthenticatorEnrollmentRequest) request, href);
-        else
+        ProceedHandler handler = PROCEED_HANDLERS.get(request.getClass());
+        if (handler == null) {
+            // subclasses of the request types
+            for (Map.Entry<Class<?>, ProceedHandler> entry : PROCEED_HANDLERS.entrySet()) {
+                if (entry.getKey().isInstance(request)) {
+                    handler = entry.getValue();
+                    break;
+                }
+            }
+        }
+        if (handler == null) {
             throw new IllegalStateException("Cannot invoke proceed with the supplied request type " + request.getClass().getSimpleName());
+        }
+        return handler.proceed(client, request, href);
     }
 
     /**
@@ -103,7 +137,21 @@ public class RemediationOption {
      * @return array an array of FormValue
      */
     public FormValue[] form() {
-        return value != null ? Arrays.copyOf(value, value.length) : null;
+        return ModelLists.toArray(value, new FormValue[0]);
+    }
+
+    /**
+     * Get all form values as an unmodifiable view; empty if there are none.
+     *
+     * @return list of FormValue
+     */
+    @JsonIgnore
+    public List<FormValue> getFormValues() {
+        return ModelLists.orEmpty(value);
+    }
+
+    public String[] getRel() {
+        return ModelLists.toArray(rel, new String[0]);
     }
 
     public String getName() {
@@ -114,10 +162,18 @@ public class RemediationOption {
         return type;
     }
 
+    public String getMethod() {
+        return method;
+    }
+
     public String getHref() {
         return href;
     }
 
+    public String getAccepts() {
+        return accepts;
+    }
+
     public String getRefresh() {
         return refresh;
     }
@@ -135,25 +191,20 @@ public class RemediationOption {
 
         Map<String, String> authenticatorOptionsMap = new HashMap<>();
 
-        FormValue[] formValues = this.form();
-
-        Optional<FormValue> formValueOptional = Arrays.stream(formValues)
+        Optional<FormValue> formValueOptional = getFormValues().stream()
             .filter(x -> "authenticator".equals(x.getName()))
             .findFirst();
 
         if (formValueOptional.isPresent()) {
-            Options[] options = formValueOptional.get().options();
-
-            for (Options option : options) {
+            for (Options option : formValueOptional.get().getOptions()) {
                 String key = null, val = null;
-                FormValue[] optionFormValues = ((OptionsForm) option.getValue()).getForm().getValue();
-                for (FormValue formValue : optionFormValues) {
+                for (FormValue formValue : ((OptionsForm) option.getValue()).getForm().getFormValues()) {
                     if (formValue.getName().equals("methodType")) {
                         key = String.valueOf(formValue.getValue());
                         StringBuilder nestedKeys = new StringBuilder();
                         if (key.equals("null")) {
                             // parse value from children
-                            for (Options children : formValue.options()) {
+                            for (Options children : formValue.getOptions()) {
                                 nestedKeys.append(children.getValue());
                                 nestedKeys.append(",");
                             }
@@ -182,4 +233,86 @@ public class RemediationOption {
         }
         return authenticatorOptionsMap;
     }
+
+    private static Map<Class<?>, ProceedHandler> proceedHandlers() {
+        Map<Class<?>, ProceedHandler> handlers = new LinkedHashMap<>();
+        handlers.put(IdentifyRequest.class, (client, request, href) -> client.identify((IdentifyRequest) request, href));
+        handlers.put(ChallengeRequest.class, (client, request, href) -> client.challenge((ChallengeRequest) request, href));
+        handlers.put(AnswerChallengeRequest.class, (client, request, href) -> client.answerChallenge((AnswerChallengeRequest) request, href));
+        handlers.put(EnrollRequest.class, (client, request, href) -> client.enroll((EnrollRequest) request, href));
+        handlers.put(EnrollUserProfileUpdateRequest.class, (client, request, href) -> client.enrollUpdateUserProfile((EnrollUserProfileUpdateRequest) request, href));
+        handlers.put(SkipAuthenticatorEnrollmentRequest.class, (client, request, href) -> client.skip((SkipAuthenticatorEnrollmentRequest) request, href));
+        return Collections.unmodifiableMap(handlers);
+    }
+
+    @FunctionalInterface
+    private interface ProceedHandler {
+        IDXResponse proceed(IDXClient client, Object request, String href) throws ProcessingException;
+    }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    public static final class Builder {
+
+        private List<String> rel;
+        private String name;
+        private String type;
+        private String method;
+        private String href;
+        private List<FormValue> value;
+        private String accepts;
+        private String refresh;
+
+        private Builder() {
+        }
+
+        @JsonDeserialize(contentUsing = CanonicalStringDeserializer.class)
+        public Builder withRel(List<String> rel) {
+            this.rel = rel;
+            return this;
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withType(String type) {
+            this.type = type;
+            return this;
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withMethod(String method) {
+            this.method = method;
+            return this;
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withHref(String href) {
+            this.href = href;
+            return this;
+        }
+
+        public Builder withValue(List<FormValue> value) {
+            this.value = value;
+            return this;
+        }
+
+        @JsonDeserialize(using = CanonicalStringDeserializer.class)
+        public Builder withAccepts(String accepts) {
+            this.accepts = accepts;
+            return this;
+        }
+
+        public Builder withRefresh(String refresh) {
+            this.refresh = refresh;
+            return this;
+        }
+
+        public RemediationOption build() {
+            return new RemediationOption(this);
+        }
+    }
 }
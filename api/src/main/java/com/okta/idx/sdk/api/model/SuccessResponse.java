@@ -16,49 +16,67 @@
 package com.okta.idx.sdk.api.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import com.okta.commons.lang.Assert;
 import com.okta.idx.sdk.api.client.IDXClient;
 import com.okta.idx.sdk.api.exception.ProcessingException;
 import com.okta.idx.sdk.api.response.TokenResponse;
 
-import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
-public class SuccessResponse {
+@JsonDeserialize(builder = SuccessResponse.Builder.class)
+public final class SuccessResponse {
 
     /**
      * Ion spec rel member based around the (form structure)[https://ionspec.org/#form-structure] rules
      */
-    private String[] rel;
+    private final List<String> rel;
 
     /**
      * Identifier
      */
-    private String name;
+    private final String name;
 
     /**
      * HTTP Method
      */
-    private String method;
+    private final String method;
 
     /**
      * Href for token endpoint
      */
-    private String href;
+    private final String href;
 
     /**
      * Array of form values
      */
-    private FormValue[] value;
+    private final List<FormValue> value;
 
     /**
      * Accepts Header
      */
-    private String accepts;
+    private final String accepts;
+
+    private SuccessResponse(Builder builder) {
+        this.rel = ModelLists.copyOf(builder.rel);
+        this.name = builder.name;
+        this.method = builder.method;
+        this.href = builder.href;
+        this.value = ModelLists.copyOf(builder.value);
+        this.accepts = builder.accepts;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 
     public String[] getRel() {
-        return Arrays.copyOf(this.rel, this.rel.length);
+        return ModelLists.toArray(rel, new String[0]);
     }
 
     public String getName() {
@@ -74,7 +92,15 @@ public class SuccessResponse {
     }
 
     public FormValue[] getValue() {
-        return Arrays.copyOf(this.value, this.value.length);
+        return ModelLists.toArray(value, new FormValue[0]);
+    }
+
+    /**
+     * @return the form values, an unmodifiable view; empty if there are none
+     */
+    @JsonIgnore
+    public List<FormValue> getFormValues() {
+        return ModelLists.orEmpty(value);
     }
 
     public String getAccepts() {
@@ -90,7 +116,7 @@ public class SuccessResponse {
      * @return grant_type
      */
     private String parseGrantType() {
-        Optional<FormValue> grantTypeForm = Arrays.stream(this.value)
+        Optional<FormValue> grantTypeForm = getFormValues().stream()
             .filter(x -> "grant_type".equals(x.getName()))
             .findAny();
         Assert.isTrue(grantTypeForm.isPresent());
@@ -103,7 +129,7 @@ public class SuccessResponse {
      */
     private String parseInteractionCode() {
         String interactionCodeLookupKey = this.parseGrantType();
-        Optional<FormValue> interactionCodeForm = Arrays.stream(this.value)
+        Optional<FormValue> interactionCodeForm = getFormValues().stream()
             .filter(x -> interactionCodeLookupKey.equals(x.getName()))
             .findAny();
         Assert.isTrue(interactionCodeForm.isPresent());
@@ -124,4 +150,66 @@ public class SuccessResponse {
         String tokenUrl = this.getHref();
         return client.token(tokenUrl, grantType, interactionCode, idxClientContext);
     }
+
+    /**
+     * Start exchanging the interaction code for tokens, see {@link IDXClient#tokenAsync}.
+     *
+     * @param client the idx client instance
+     * @param idxClientContext the idc client context instance
+     * @return the TokenResponse, completed exceptionally with a {@link ProcessingException} if the exchange fails
+     */
+    public CompletableFuture<TokenResponse> exchangeCodeAsync(IDXClient client, IDXClientContext idxClientContext) {
+        String grantType = this.parseGrantType();
+        String interactionCode = this.parseInteractionCode();
+        String tokenUrl = this.getHref();
+        return client.tokenAsync(tokenUrl, grantType, interactionCode, idxClientContext);
+    }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    public static final class Builder {
+
+        private List<String> rel;
+        private String name;
+        private String method;
+        private String href;
+        private List<FormValue> value;
+        private String accepts;
+
+        private Builder() {
+        }
+
+        public Builder withRel(List<String> rel) {
+            this.rel = rel;
+            return this;
+        }
+
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withMethod(String method) {
+            this.method = method;
+            return this;
+        }
+
+        public Builder withHref(String href) {
+            this.href = href;
+            return this;
+        }
+
+        public Builder withValue(List<FormValue> value) {
+            this.value = value;
+            return this;
+        }
+
+        public Builder withAccepts(String accepts) {
+            this.accepts = accepts;
+            return this;
+        }
+
+        public SuccessResponse build() {
+            return new SuccessResponse(this);
+        }
+    }
 }
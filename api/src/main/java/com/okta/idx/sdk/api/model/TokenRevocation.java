@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.model;
+
+import com.okta.commons.lang.Assert;
+
+/**
+ * A token to be revoked with {@link com.okta.idx.sdk.api.client.IDXClient#revokeTokens}.
+ */
+public class TokenRevocation {
+
+    private final TokenType tokenType;
+    private final String token;
+
+    public TokenRevocation(TokenType tokenType, String token) {
+        Assert.notNull(tokenType, "tokenType cannot be null");
+        Assert.hasText(token, "token cannot be empty");
+        this.tokenType = tokenType;
+        this.token = token;
+    }
+
+    public TokenType getTokenType() {
+        return tokenType;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    @Override
+    public String toString() {
+        // never log the token itself
+        return "TokenRevocation {tokenType=" + tokenType + " }";
+    }
+}
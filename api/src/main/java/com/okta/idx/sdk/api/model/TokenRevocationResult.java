@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.model;
+
+import com.okta.idx.sdk.api.exception.ProcessingException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a single revocation in a {@link com.okta.idx.sdk.api.client.IDXClient#revokeTokens} call.
+ */
+public class TokenRevocationResult {
+
+    public enum Status {
+        /** The token was revoked (or was already invalid). */
+        REVOKED,
+        /** The revocation endpoint rejected the request or could not be reached. */
+        FAILED,
+        /** The revocation was not attempted because the bulk operation was interrupted. */
+        NOT_ATTEMPTED
+    }
+
+    private final TokenRevocation revocation;
+    private final Status status;
+    private final ProcessingException error;
+
+    public TokenRevocationResult(TokenRevocation revocation, Status status, ProcessingException error) {
+        this.revocation = revocation;
+        this.status = status;
+        this.error = error;
+    }
+
+    public TokenRevocation getRevocation() {
+        return revocation;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isRevoked() {
+        return status == Status.REVOKED;
+    }
+
+    /**
+     * @return the failure cause if the status is {@link Status#FAILED}, null otherwise
+     */
+    public ProcessingException getError() {
+        return error;
+    }
+
+    /**
+     * Collect the revocations that still need to be done, to resume a bulk revocation after a partial failure.
+     *
+     * @param results the results of a previous {@code revokeTokens} call
+     * @return the revocations that were not revoked
+     */
+    public static List<TokenRevocation> remaining(Collection<TokenRevocationResult> results) {
+        return results.stream()
+                .filter(result -> !result.isRevoked())
+                .map(TokenRevocationResult::getRevocation)
+                .collect(Collectors.toList());
+    }
+}
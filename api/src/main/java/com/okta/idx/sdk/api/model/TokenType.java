@@ -17,7 +17,8 @@ package com.okta.idx.sdk.api.model;
 
 public enum TokenType {
 
-    ACCESS_TOKEN("access_token");
+    ACCESS_TOKEN("access_token"),
+    REFRESH_TOKEN("refresh_token");
 
     private final String value;
 
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.model;
+
+import com.okta.commons.lang.Assert;
+
+/**
+ * A user to register in a {@link com.okta.idx.sdk.api.client.UserRegistrationPipeline} run.
+ */
+public class UserRegistration {
+
+    private final String key;
+    private final UserProfile userProfile;
+    private final String password;
+
+    /**
+     * @param userProfile the profile to register, keyed by its {@code email} (or {@code login}) attribute
+     * @param password the password to enroll, or null to only register the profile
+     */
+    public UserRegistration(UserProfile userProfile, String password) {
+        this(defaultKey(userProfile), userProfile, password);
+    }
+
+    /**
+     * @param key the unique key recorded in the checkpoint file once the user is registered
+     * @param userProfile the profile to register
+     * @param password the password to enroll, or null to only register the profile
+     */
+    public UserRegistration(String key, UserProfile userProfile, String password) {
+        Assert.hasText(key, "key cannot be empty");
+        Assert.isTrue(key.indexOf('\n') < 0 && key.indexOf('\r') < 0, "key cannot contain line breaks");
+        Assert.notNull(userProfile, "userProfile cannot be null");
+        this.key = key;
+        this.userProfile = userProfile;
+        this.password = password;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public UserProfile getUserProfile() {
+        return userProfile;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    private static String defaultKey(UserProfile userProfile) {
+        Assert.notNull(userProfile, "userProfile cannot be null");
+        Object key = userProfile.getFields().get("email");
+        if (key == null) {
+            key = userProfile.getFields().get("login");
+        }
+        return key != null ? key.toString() : null;
+    }
+}
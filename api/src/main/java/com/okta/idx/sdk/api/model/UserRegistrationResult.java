@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a single registration in a {@link com.okta.idx.sdk.api.client.UserRegistrationPipeline} run.
+ */
+public class UserRegistrationResult {
+
+    public enum Status {
+        /** The user was registered (and its password enrolled, if one was given). */
+        REGISTERED,
+        /**
+         * The user was created, but its password could not be enrolled, see {@link #getErrors()}. It is recorded in
+         * the checkpoint file and not retried, set its password some other way, e.g. with a password reset.
+         */
+        INCOMPLETE,
+        /** A step of the registration flow failed before the user was created, see {@link #getErrors()}. */
+        FAILED,
+        /** The user was already registered (or found incomplete) by a previous run, according to the checkpoint file. */
+        SKIPPED
+    }
+
+    private final UserRegistration registration;
+    private final Status status;
+    private final List<String> errors;
+
+    public UserRegistrationResult(UserRegistration registration, Status status, List<String> errors) {
+        this.registration = registration;
+        this.status = status;
+        this.errors = errors != null ? Collections.unmodifiableList(errors) : Collections.emptyList();
+    }
+
+    public UserRegistration getRegistration() {
+        return registration;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isRegistered() {
+        return status == Status.REGISTERED;
+    }
+
+    /**
+     * @return the errors reported by Okta if the status is {@link Status#INCOMPLETE} or {@link Status#FAILED},
+     * empty otherwise
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -17,6 +17,7 @@ package com.okta.idx.sdk.api.response;
 
 import com.okta.idx.sdk.api.client.Authenticator;
 import com.okta.idx.sdk.api.client.ProceedContext;
+import com.okta.idx.sdk.api.exception.ProcessingException;
 import com.okta.idx.sdk.api.model.AuthenticationStatus;
 import com.okta.idx.sdk.api.model.AuthenticatorEnrollments;
 import com.okta.idx.sdk.api.model.ContextualData;
@@ -29,26 +30,38 @@ import com.okta.idx.sdk.webauthn.WebAuthnParams;
 
 import java.util.LinkedList;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * The outcome of an authentication step.
+ * <p>
+ * The proceed context, errors, idps, authenticators and security questions can be deferred by the SDK, in which case
+ * they are computed on first access and memoized. Instances may be read from any thread.
+ */
 public class AuthenticationResponse {
 
-    private TokenResponse tokenResponse;
+    private volatile CompletableFuture<TokenResponse> tokenResponse;
 
-    private ProceedContext proceedContext;
+    private final LazyValue<ProceedContext> proceedContext = new LazyValue<>(() -> null);
 
     private AuthenticationStatus authenticationStatus;
 
-    private final List<String> errors = new LinkedList<>();
+    // copy on write, errors are added by the SDK while the caller may be reading them on another thread
+    private final LazyValue<List<String>> errors = new LazyValue<>(CopyOnWriteArrayList::new);
 
     private List<FormValue> formValues;
 
-    private List<Authenticator> authenticators;
+    private final LazyValue<List<Authenticator>> authenticators = new LazyValue<>(() -> null);
 
-    private List<Idp> idps = new LinkedList<>();
+    private final LazyValue<List<Idp>> idps = new LazyValue<>(LinkedList::new);
 
     private ContextualData contextualData;
 
-    private List<SecurityQuestion> securityQuestions;
+    private final LazyValue<List<SecurityQuestion>> securityQuestions = new LazyValue<>(() -> null);
 
     private AuthenticatorEnrollments authenticatorEnrollments;
 
@@ -58,20 +71,72 @@ public class AuthenticationResponse {
 
     private User user;
 
+    /**
+     * @return the tokens, or null if there are none; with asynchronous token exchange this waits for the exchange
+     * @throws CompletionException if an asynchronous token exchange failed, see {@link #awaitTokenResponse()}
+     * @see com.okta.idx.sdk.api.config.ClientConfiguration#isTokenExchangeAsyncEnabled()
+     */
     public TokenResponse getTokenResponse() {
-        return tokenResponse;
+        CompletableFuture<TokenResponse> tokenResponse = this.tokenResponse;
+        return tokenResponse != null ? tokenResponse.join() : null;
     }
 
     public void setTokenResponse(TokenResponse tokenResponse) {
+        this.tokenResponse = tokenResponse != null ? CompletableFuture.completedFuture(tokenResponse) : null;
+    }
+
+    /**
+     * Waits for a token exchange still in flight.
+     *
+     * @return the tokens, or null if there are none
+     * @throws ProcessingException if the token exchange failed
+     */
+    public TokenResponse awaitTokenResponse() throws ProcessingException {
+        CompletableFuture<TokenResponse> tokenResponse = this.tokenResponse;
+        if (tokenResponse == null) {
+            return null;
+        }
+        try {
+            return tokenResponse.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProcessingException) {
+                throw (ProcessingException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ProcessingException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the tokens of a successful login, possibly still being exchanged, or null if there are none
+     * @see com.okta.idx.sdk.api.config.ClientConfiguration#isTokenExchangeAsyncEnabled()
+     */
+    public CompletableFuture<TokenResponse> getTokenResponseFuture() {
+        return tokenResponse;
+    }
+
+    public void setTokenResponseFuture(CompletableFuture<TokenResponse> tokenResponse) {
         this.tokenResponse = tokenResponse;
     }
 
     public ProceedContext getProceedContext() {
-        return proceedContext;
+        return proceedContext.get();
     }
 
     public void setProceedContext(ProceedContext proceedContext) {
-        this.proceedContext = proceedContext;
+        this.proceedContext.set(proceedContext);
+    }
+
+    /**
+     * @param proceedContext computes the proceed context on the first {@link #getProceedContext()}
+     */
+    public void deferProceedContext(Supplier<ProceedContext> proceedContext) {
+        this.proceedContext.defer(proceedContext);
     }
 
     public AuthenticationStatus getAuthenticationStatus() {
@@ -82,8 +147,18 @@ public class AuthenticationResponse {
         this.authenticationStatus = authenticationStatus;
     }
 
+    /**
+     * @return the errors of this step; the list is thread-safe and can be iterated while errors are added
+     */
     public List<String> getErrors() {
-        return errors;
+        return errors.get();
+    }
+
+    /**
+     * @param errors computes the error list on the first {@link #getErrors()}
+     */
+    public void deferErrors(Supplier<List<String>> errors) {
+        this.errors.defer(() -> new CopyOnWriteArrayList<>(errors.get()));
     }
 
     public void addError(String error) {
@@ -99,19 +174,33 @@ public class AuthenticationResponse {
     }
 
     public List<Authenticator> getAuthenticators() {
-        return authenticators;
+        return authenticators.get();
     }
 
     public void setAuthenticators(List<Authenticator> authenticators) {
-        this.authenticators = authenticators;
+        this.authenticators.set(authenticators);
+    }
+
+    /**
+     * @param authenticators computes the authenticators on the first {@link #getAuthenticators()}
+     */
+    public void deferAuthenticators(Supplier<List<Authenticator>> authenticators) {
+        this.authenticators.defer(authenticators);
     }
 
     public List<Idp> getIdps() {
-        return idps;
+        return idps.get();
     }
 
     public void setIdps(List<Idp> idps) {
-        this.idps = idps;
+        this.idps.set(idps);
+    }
+
+    /**
+     * @param idps computes the idps on the first {@link #getIdps()}
+     */
+    public void deferIdps(Supplier<List<Idp>> idps) {
+        this.idps.defer(idps);
     }
 
     public AuthenticatorEnrollments getAuthenticatorEnrollments() {
@@ -139,11 +228,18 @@ public class AuthenticationResponse {
     }
 
     public List<SecurityQuestion> getSecurityQuestions() {
-        return securityQuestions;
+        return securityQuestions.get();
     }
 
     public void setSecurityQuestions(List<SecurityQuestion> securityQuestions) {
-        this.securityQuestions = securityQuestions;
+        this.securityQuestions.set(securityQuestions);
+    }
+
+    /**
+     * @param securityQuestions computes the security questions on the first {@link #getSecurityQuestions()}
+     */
+    public void deferSecurityQuestions(Supplier<List<SecurityQuestion>> securityQuestions) {
+        this.securityQuestions.defer(securityQuestions);
     }
 
     public WebAuthnParams getWebAuthnParams() {
@@ -16,6 +16,7 @@
 package com.okta.idx.sdk.api.response;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -32,6 +33,9 @@ import com.okta.idx.sdk.api.model.Remediation;
 import com.okta.idx.sdk.api.model.SuccessResponse;
 import com.okta.idx.sdk.api.model.User;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class IDXResponse {
 
@@ -89,6 +93,26 @@ public class IDXResponse {
 
     private Cancel cancel;
 
+    /**
+     * The body this response was parsed from, when the client keeps it (see
+     * {@link com.okta.idx.sdk.api.config.ClientConfiguration#getRawResponseMaxBytes()}).
+     */
+    @JsonIgnore
+    private transient byte[] rawBody;
+
+    public IDXResponse() {
+    }
+
+    /**
+     * Creates an empty response that keeps the body it is about to be parsed from, for {@link #raw()} and
+     * {@link #rawBytes()}.
+     *
+     * @param rawBody the response body, copied
+     */
+    public IDXResponse(byte[] rawBody) {
+        this.rawBody = rawBody != null ? rawBody.clone() : null;
+    }
+
     /**
      * Return the current remediation object. MAY be null if there are no further remediation steps necessary
      *
@@ -129,18 +153,37 @@ public class IDXResponse {
 
     /**
      * Returns the raw JSON body of the Okta Identity Engine response.
+     * <p>
+     * If the client kept the response body (see {@link #rawBytes()}) it is returned as received, otherwise the
+     * response is re-serialized, which drops the sections this class does not map.
      *
      * @return String
      * @throws JsonProcessingException json processing exception
      */
     public String raw() throws JsonProcessingException {
+        if (rawBody != null) {
+            return new String(rawBody, StandardCharsets.UTF_8);
+        }
         return objectMapper.writeValueAsString(this);
     }
 
+    /**
+     * Returns the JSON body of the Okta Identity Engine response exactly as received.
+     *
+     * @return a read-only view of the body, or null if the client did not keep it
+     */
+    public ByteBuffer rawBytes() {
+        return rawBody != null ? ByteBuffer.wrap(rawBody).asReadOnlyBuffer() : null;
+    }
+
     public String getStateHandle() {
         return stateHandle;
     }
 
+    public String getExpiresAt() {
+        return expiresAt;
+    }
+
     public Messages getMessages() {
         return messages;
     }
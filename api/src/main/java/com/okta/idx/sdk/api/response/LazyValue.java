@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.response;
+
+import java.util.function.Supplier;
+
+/**
+ * A value that is computed by a {@link Supplier} on first access and memoized, or set directly.
+ * Safe to read from any thread; the supplier runs at most once unless it throws.
+ */
+final class LazyValue<T> {
+
+    // null once the value is computed or set, the volatile write publishes value
+    private volatile Supplier<? extends T> supplier;
+
+    private T value;
+
+    LazyValue(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    T get() {
+        if (supplier != null) {
+            synchronized (this) {
+                Supplier<? extends T> pending = supplier;
+                if (pending != null) {
+                    value = pending.get();
+                    supplier = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    synchronized void set(T value) {
+        this.value = value;
+        this.supplier = null;
+    }
+
+    synchronized void defer(Supplier<? extends T> supplier) {
+        this.value = null;
+        this.supplier = supplier;
+    }
+}
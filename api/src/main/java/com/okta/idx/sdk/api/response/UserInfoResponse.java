@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.response;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Claims returned by the OpenID Connect {@code /userinfo} endpoint.
+ */
+@JsonAutoDetect(getterVisibility = JsonAutoDetect.Visibility.NONE)
+public class UserInfoResponse {
+
+    private final Map<String, Object> claims = new LinkedHashMap<>();
+
+    @JsonAnySetter
+    void setClaim(String name, Object value) {
+        claims.put(name, value);
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getClaims() {
+        return Collections.unmodifiableMap(claims);
+    }
+
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+
+    public String getSubject() {
+        return getStringClaim("sub");
+    }
+
+    public String getName() {
+        return getStringClaim("name");
+    }
+
+    public String getPreferredUsername() {
+        return getStringClaim("preferred_username");
+    }
+
+    public String getEmail() {
+        return getStringClaim("email");
+    }
+
+    private String getStringClaim(String name) {
+        Object value = claims.get(name);
+        return value != null ? String.valueOf(value) : null;
+    }
+}
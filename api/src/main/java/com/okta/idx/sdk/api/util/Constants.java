@@ -22,6 +22,17 @@ public abstract class Constants {
     public static final String DEFAULT_CLIENT_SECRET_PROPERTY_NAME = "okta.idx.clientSecret";
     public static final String DEFAULT_CLIENT_SCOPES_PROPERTY_NAME = "okta.idx.scopes";
     public static final String DEFAULT_CLIENT_REDIRECT_URI_PROPERTY_NAME = "okta.idx.redirectUri";
+    public static final String DEFAULT_CLIENT_DISCOVERY_ENABLED_PROPERTY_NAME = "okta.idx.discovery.enabled";
+    public static final String DEFAULT_CLIENT_DISCOVERY_REFRESH_INTERVAL_PROPERTY_NAME = "okta.idx.discovery.refreshIntervalSeconds";
+    public static final String DEFAULT_CLIENT_USERINFO_PREFETCH_PROPERTY_NAME = "okta.idx.userInfo.prefetch";
+    public static final String DEFAULT_CLIENT_REVOCATION_PARALLELISM_PROPERTY_NAME = "okta.idx.revocation.parallelism";
+    public static final String DEFAULT_CLIENT_REVOCATION_RATE_LIMIT_PROPERTY_NAME = "okta.idx.revocation.rateLimit";
+    public static final String DEFAULT_CLIENT_SIGN_UP_FORM_TTL_PROPERTY_NAME = "okta.idx.signUpForm.ttlSeconds";
+    public static final String DEFAULT_CLIENT_IDP_REFRESH_INTERVAL_PROPERTY_NAME = "okta.idx.idps.refreshIntervalSeconds";
+    public static final String DEFAULT_CLIENT_COMPRESSION_ENABLED_PROPERTY_NAME = "okta.idx.compression.enabled";
+    public static final String DEFAULT_CLIENT_RAW_RESPONSE_MAX_BYTES_PROPERTY_NAME = "okta.idx.rawResponse.maxBytes";
+    public static final String DEFAULT_CLIENT_FORM_STRING_CACHE_SIZE_PROPERTY_NAME = "okta.idx.formStrings.cacheSize";
+    public static final String DEFAULT_CLIENT_TOKEN_EXCHANGE_ASYNC_PROPERTY_NAME = "okta.idx.tokenExchange.async";
     public static final String DEFAULT_CLIENT_TESTING_DISABLE_HTTPS_CHECK_PROPERTY_NAME = "okta.testing.disableHttpsCheck";
 
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.okta.idx.sdk.api.model.Credentials
+import com.okta.idx.sdk.api.model.IDXClientContext
+import com.okta.idx.sdk.api.model.UserProfile
+import com.okta.idx.sdk.api.request.AnswerChallengeRequestBuilder
+import com.okta.idx.sdk.api.request.CancelRequestBuilder
+import com.okta.idx.sdk.api.request.ChallengeRequestBuilder
+import com.okta.idx.sdk.api.request.EnrollRequestBuilder
+import com.okta.idx.sdk.api.request.EnrollUserProfileUpdateRequestBuilder
+import com.okta.idx.sdk.api.request.IdentifyRequestBuilder
+import com.okta.idx.sdk.api.request.IntrospectRequestBuilder
+import com.okta.idx.sdk.api.request.PollRequestBuilder
+import com.okta.idx.sdk.api.request.RecoverRequestBuilder
+import com.okta.idx.sdk.api.request.SkipAuthenticatorEnrollmentRequestBuilder
+import com.okta.idx.sdk.api.request.WebAuthnRequest
+import com.okta.idx.sdk.api.response.AuthenticationResponse
+import com.okta.idx.sdk.api.response.IDXResponse
+import com.sun.management.HotSpotDiagnosticMXBean
+import groovy.transform.CompileStatic
+import org.testng.SkipException
+import org.testng.annotations.BeforeClass
+import org.testng.annotations.DataProvider
+import org.testng.annotations.Test
+
+import java.lang.management.ManagementFactory
+import java.util.concurrent.Callable
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.lessThanOrEqualTo
+import static org.hamcrest.Matchers.notNullValue
+
+/**
+ * Fails when an SDK hot path allocates more per operation than its budget in {@code allocation-budgets.properties}.
+ * Allocation is read from the JVM's per-thread counter after a JIT warm-up, so the numbers are steady state.
+ */
+@CompileStatic
+class AllocationBudgetTest {
+
+    private static final int WARMUP_ITERATIONS = 5_000
+    private static final int MEASURED_ITERATIONS = 2_000
+    private static final String STATE_HANDLE = "02tYS1NHhCxXj9QoDJ1-6E8gFB3ZuwjYzPxhlqB3dJ"
+
+    // configured like BaseIDXClient's, so the budgets measure production parsing and serialization
+    private final ObjectMapper objectMapper = BaseIDXClient.newObjectMapper()
+    private final RequestEncoder requestEncoder = new RequestEncoder(objectMapper)
+    private final Properties budgets = new Properties()
+    private com.sun.management.ThreadMXBean threadBean
+
+    @BeforeClass
+    void setUp() {
+        def bean = ManagementFactory.getThreadMXBean()
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            throw new SkipException("Per-thread allocation accounting is not available on this JVM")
+        }
+        threadBean = (com.sun.management.ThreadMXBean) bean
+        threadBean.setThreadAllocatedMemoryEnabled(true)
+        getClass().getResourceAsStream("/allocation-budgets.properties").withCloseable { budgets.load(it) }
+
+        // object layout, and so bytes per operation, depends on the JDK and on compressed oops
+        String javaVersion = System.getProperty("java.specification.version")
+        if (!budgets.getProperty("jvm.specificationVersions").split(",").contains(javaVersion)) {
+            throw new SkipException("Allocation budgets were not measured on Java " + javaVersion)
+        }
+        if (!compressedOops()) {
+            throw new SkipException("Allocation budgets were measured with compressed oops")
+        }
+    }
+
+    @Test
+    void testParseIdentifyResponse() {
+        byte[] json = getClass().getResourceAsStream("/identify-response.json").bytes
+        assertWithinBudget("identifyResponse.parse") {
+            objectMapper.convertValue(objectMapper.readTree(json), IDXResponse)
+        }
+    }
+
+    @Test
+    void testAsAuthenticationResponse() {
+        AuthenticationTransaction transaction = identifyTransaction()
+        assertWithinBudget("authenticationTransaction.asAuthenticationResponse") {
+            transaction.asAuthenticationResponse()
+        }
+    }
+
+    @Test
+    void testAsAuthenticationResponseViews() {
+        AuthenticationTransaction transaction = identifyTransaction()
+        assertWithinBudget("authenticationTransaction.asAuthenticationResponse.views") {
+            AuthenticationResponse response = transaction.asAuthenticationResponse()
+            response.getProceedContext()
+            response.getErrors()
+            response.getIdps()
+            response.getAuthenticators()
+            response.getSecurityQuestions()
+        }
+    }
+
+    @Test
+    void testCreateProceedContext() {
+        AuthenticationTransaction transaction = identifyTransaction()
+        assertWithinBudget("authenticationTransaction.createProceedContext") {
+            transaction.createProceedContext()
+        }
+    }
+
+    @DataProvider
+    Object[][] requests() {
+        Credentials credentials = new Credentials()
+        credentials.setPasscode("Abcd1234!".toCharArray())
+        com.okta.idx.sdk.api.model.Authenticator authenticator = new com.okta.idx.sdk.api.model.Authenticator()
+        authenticator.setId("aut2h3fft4y9pDPCS1d7")
+        authenticator.setMethodType("email")
+        UserProfile userProfile = new UserProfile()
+        userProfile.addAttribute("email", "jane.doe@example.com")
+        userProfile.addAttribute("firstName", "Jane")
+        userProfile.addAttribute("lastName", "Doe")
+
+        return [
+                ["AnswerChallengeRequest", { AnswerChallengeRequestBuilder.builder()
+                        .withStateHandle(STATE_HANDLE).withCredentials(credentials).build() }],
+                ["CancelRequest", { CancelRequestBuilder.builder().withStateHandle(STATE_HANDLE).build() }],
+                ["ChallengeRequest", { ChallengeRequestBuilder.builder()
+                        .withStateHandle(STATE_HANDLE).withAuthenticator(authenticator).build() }],
+                ["EnrollRequest", { EnrollRequestBuilder.builder()
+                        .withStateHandle(STATE_HANDLE).withAuthenticator(authenticator).build() }],
+                ["EnrollUserProfileUpdateRequest", { EnrollUserProfileUpdateRequestBuilder.builder()
+                        .withStateHandle(STATE_HANDLE).withUserProfile(userProfile).build() }],
+                ["IdentifyRequest", { IdentifyRequestBuilder.builder().withStateHandle(STATE_HANDLE)
+                        .withIdentifier("jane.doe@example.com").withCredentials(credentials).build() }],
+                ["IntrospectRequest", { IntrospectRequestBuilder.builder().withStateHandle(STATE_HANDLE).build() }],
+                ["PollRequest", { PollRequestBuilder.builder().withStateHandle(STATE_HANDLE).build() }],
+                ["RecoverRequest", { RecoverRequestBuilder.builder().withStateHandle(STATE_HANDLE).build() }],
+                ["SkipAuthenticatorEnrollmentRequest", { SkipAuthenticatorEnrollmentRequestBuilder.builder()
+                        .withStateHandle(STATE_HANDLE).build() }],
+                ["WebAuthnRequest", {
+                    WebAuthnRequest request = new WebAuthnRequest()
+                    request.clientData = "eyJjaGFsbGVuZ2UiOiJ0ZXN0In0"
+                    request.attestation = "o2NmbXRkbm9uZWdhdHRTdG10oGhhdXRoRGF0YVjE"
+                    return request
+                }]
+        ] as Object[][]
+    }
+
+    @Test(dataProvider = "requests")
+    void testBuildAndSerializeRequest(String name, Callable<Object> factory) {
+        assertWithinBudget("request." + name) {
+            objectMapper.writeValueAsBytes(factory.call())
+        }
+    }
+
+    @Test(dataProvider = "requests")
+    void testBuildAndEncodeRequest(String name, Callable<Object> factory) {
+        assertWithinBudget("encode." + name) {
+            requestEncoder.json(factory.call())
+        }
+    }
+
+    @Test
+    void testEncodeTokenForm() {
+        assertWithinBudget("form.token") {
+            new FormEncoder()
+                    .add("grant_type", "interaction_code")
+                    .add("client_id", "0oa3jxy2kpqZs9fOU0g7")
+                    .add("client_secret", "ZeDDWrT7pB_Ua1jHmhb1R2KPmzLb3yPIixhV0lEc")
+                    .add("interaction_code", "Txd_5odx08kzZ_oxeEbBk8PNjI5UDnTM2P1rMCmHDyA")
+                    .add("code_verifier", "x7U8s9qTqjCeZmrlczhvJ5vI0MCRRtMEAs0TJkGaZ6c")
+                    .encode()
+        }
+    }
+
+    private static boolean compressedOops() {
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean)
+            return hotSpot != null && Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue())
+        } catch (IllegalArgumentException e) {
+            // not a HotSpot JVM, or one without the option
+            return false
+        }
+    }
+
+    private AuthenticationTransaction identifyTransaction() {
+        byte[] json = getClass().getResourceAsStream("/identify-response.json").bytes
+        IDXResponse idxResponse = objectMapper.convertValue(objectMapper.readTree(json), IDXResponse)
+        IDXClientContext clientContext = new IDXClientContext("code-verifier", "code-challenge", "interaction-handle", "state")
+        return new AuthenticationTransaction(null, clientContext, idxResponse)
+    }
+
+    private void assertWithinBudget(String operation, Callable<Object> operationUnderTest) {
+        String budget = budgets.getProperty(operation)
+        assertThat("No allocation budget for " + operation, budget, notNullValue())
+
+        long overhead = bytesPerOperation({ null } as Callable<Object>)
+        long allocated = bytesPerOperation(operationUnderTest) - overhead
+
+        assertThat("Bytes allocated per " + operation, allocated, lessThanOrEqualTo(Long.parseLong(budget.trim())))
+    }
+
+    private long bytesPerOperation(Callable<Object> operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.call()
+        }
+        long threadId = Thread.currentThread().getId()
+        long before = threadBean.getThreadAllocatedBytes(threadId)
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.call()
+        }
+        return (threadBean.getThreadAllocatedBytes(threadId) - before).intdiv(MEASURED_ITERATIONS) as long
+    }
+}
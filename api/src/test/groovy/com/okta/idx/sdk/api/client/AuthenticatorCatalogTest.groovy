@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client
+
+import com.fasterxml.jackson.databind.DeserializationFeature
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.node.ObjectNode
+import com.okta.idx.sdk.api.model.FormValue
+import com.okta.idx.sdk.api.model.Options
+import com.okta.idx.sdk.api.model.SecurityQuestion
+import com.okta.idx.sdk.api.response.AuthenticationResponse
+import com.okta.idx.sdk.api.response.IDXResponse
+import org.testng.annotations.Test
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.hasSize
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.not
+import static org.hamcrest.Matchers.notNullValue
+import static org.hamcrest.Matchers.nullValue
+import static org.hamcrest.Matchers.sameInstance
+
+class AuthenticatorCatalogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+
+    @Test
+    void testAuthenticatorsAreSharedAcrossTransactions() {
+        AuthenticationResponse first = asAuthenticationResponse(parse("/identify-response.json"))
+        AuthenticationResponse second = asAuthenticationResponse(parse("/identify-response.json"))
+
+        assertThat(first.getAuthenticators(), hasSize(3))
+        assertThat(second.getAuthenticators(), sameInstance(first.getAuthenticators()))
+    }
+
+    @Test
+    void testSecurityQuestionsAreSharedAcrossTransactions() {
+        AuthenticationResponse first = asAuthenticationResponse(parse("/enroll-response.json"))
+        AuthenticationResponse second = asAuthenticationResponse(parse("/enroll-response.json"))
+
+        assertThat(first.getSecurityQuestions(), notNullValue())
+        assertThat(second.getSecurityQuestions(), sameInstance(first.getSecurityQuestions()))
+    }
+
+    @Test
+    void testChangedOptionsAreParsedAgain() {
+        AuthenticationResponse original = asAuthenticationResponse(parse("/identify-response.json"))
+
+        // the org's password authenticator got a new label
+        ObjectNode json = objectMapper.readTree(getClass().getResourceAsStream("/identify-response.json")) as ObjectNode
+        (json.at("/remediation/value/0/value/0/options/1") as ObjectNode).put("label", "Passphrase")
+        AuthenticationResponse changed = asAuthenticationResponse(objectMapper.convertValue(json, IDXResponse))
+
+        assertThat(changed.getAuthenticators(), not(sameInstance(original.getAuthenticators())))
+        assertThat(changed.getAuthenticators().get(1).getLabel(), is("Passphrase"))
+        assertThat(original.getAuthenticators().get(1).getLabel(), is("Password"))
+    }
+
+    @Test
+    void testCatalogCountsHitsAndMisses() {
+        AuthenticatorCatalog catalog = new AuthenticatorCatalog(16, Duration.ofHours(1))
+        FormValue authenticatorForm = parse("/identify-response.json").remediation().remediationOptions()[0].form()[0]
+        List<Options> options = authenticatorForm.getOptions()
+        List<Authenticator> parsed = asAuthenticationResponse(parse("/identify-response.json")).getAuthenticators()
+
+        List<Authenticator> authenticators = catalog.authenticators(options, { parsed })
+        assertThat(catalog.authenticators(options, { null }), sameInstance(authenticators))
+        assertThat(catalog.getMissCount(), is(1L))
+        assertThat(catalog.getHitCount(), is(1L))
+
+        catalog.clear()
+        assertThat(catalog.authenticators(options, { null }), nullValue())
+        assertThat(catalog.getMissCount(), is(2L))
+    }
+
+    @Test
+    void testSecurityQuestionsFromOtherOptionsAreNotServed() {
+        AuthenticatorCatalog catalog = new AuthenticatorCatalog(16, Duration.ofHours(1))
+        List<Options> options = parse("/enroll-response.json").remediation().getRemediationOptions()[0]
+                .getFormValues().find { it.getName() == "credentials" }.getOptions()
+        List<SecurityQuestion> questions = asAuthenticationResponse(parse("/enroll-response.json")).getSecurityQuestions()
+
+        // an entry parsed from other options that share the fingerprint
+        catalog.securityQuestions(options, { [new SecurityQuestion("Another question", "another")] })
+
+        assertThat(catalog.securityQuestions(options, { questions }), is(questions))
+        assertThat(catalog.securityQuestions(options, { null }), is(questions))
+        assertThat(catalog.getMissCount(), is(2L))
+        assertThat(catalog.getHitCount(), is(1L))
+    }
+
+    @Test
+    void testDerivedViewsAreComputedOnceAcrossThreads() {
+        AuthenticationResponse response = asAuthenticationResponse(parse("/identify-response.json"))
+
+        ExecutorService executor = Executors.newFixedThreadPool(4)
+        try {
+            List<Future<ProceedContext>> futures = (1..8).collect { executor.submit({ response.getProceedContext() } as Callable<ProceedContext>) }
+            ProceedContext proceedContext = futures.first().get()
+            assertThat(proceedContext, notNullValue())
+            futures.each { assertThat(it.get(), sameInstance(proceedContext)) }
+        } finally {
+            executor.shutdown()
+        }
+        assertThat(response.getIdps(), sameInstance(response.getIdps()))
+
+        // an explicit value replaces the deferred one
+        response.setAuthenticators(Collections.emptyList())
+        assertThat(response.getAuthenticators(), hasSize(0))
+    }
+
+    @Test
+    void testErrorsCanBeReadWhileAdded() {
+        AuthenticationResponse response = asAuthenticationResponse(parse("/identify-response.json"))
+        response.addError("first")
+
+        for (String error : response.getErrors()) {
+            response.addError("second")
+        }
+        assertThat(response.getErrors(), hasSize(2))
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException)
+    void testSharedAuthenticatorsAreUnmodifiable() {
+        AuthenticationResponse response = asAuthenticationResponse(parse("/identify-response.json"))
+        response.getAuthenticators().get(0).getFactors().clear()
+    }
+
+    private IDXResponse parse(String resource) {
+        return objectMapper.convertValue(objectMapper.readTree(getClass().getResourceAsStream(resource)), IDXResponse)
+    }
+
+    private static AuthenticationResponse asAuthenticationResponse(IDXResponse idxResponse) {
+        return new AuthenticationTransaction(null, null, idxResponse).asAuthenticationResponse()
+    }
+}
@@ -33,6 +33,9 @@ import com.okta.idx.sdk.api.model.IDXClientContext
 import com.okta.idx.sdk.api.model.Options
 import com.okta.idx.sdk.api.model.RemediationOption
 import com.okta.idx.sdk.api.model.RequestContext
+import com.okta.idx.sdk.api.model.TokenRevocation
+import com.okta.idx.sdk.api.model.TokenRevocationResult
+import com.okta.idx.sdk.api.model.TokenType
 import com.okta.idx.sdk.api.model.UserProfile
 import com.okta.idx.sdk.api.request.AnswerChallengeRequest
 import com.okta.idx.sdk.api.request.AnswerChallengeRequestBuilder
@@ -44,19 +47,29 @@ import com.okta.idx.sdk.api.request.EnrollUserProfileUpdateRequest
 import com.okta.idx.sdk.api.request.EnrollUserProfileUpdateRequestBuilder
 import com.okta.idx.sdk.api.request.IdentifyRequest
 import com.okta.idx.sdk.api.request.IdentifyRequestBuilder
+import com.okta.idx.sdk.api.request.PollRequest
+import com.okta.idx.sdk.api.request.PollRequestBuilder
 import com.okta.idx.sdk.api.request.RecoverRequest
 import com.okta.idx.sdk.api.request.RecoverRequestBuilder
 import com.okta.idx.sdk.api.request.SkipAuthenticatorEnrollmentRequest
 import com.okta.idx.sdk.api.request.SkipAuthenticatorEnrollmentRequestBuilder
 
+import com.okta.idx.sdk.api.response.AuthenticationResponse
 import com.okta.idx.sdk.api.response.IDXResponse
 import com.okta.idx.sdk.api.response.TokenResponse
+import com.okta.idx.sdk.api.response.UserInfoResponse
+import com.okta.idx.sdk.api.util.TestUtil
 import com.okta.idx.sdk.api.config.ClientConfiguration
 import org.hamcrest.CoreMatchers
 import org.mockito.ArgumentCaptor
 import org.testng.annotations.Test
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 import java.util.stream.Collectors
+import java.util.zip.GZIPOutputStream
 
 import static com.okta.idx.sdk.api.util.ClientUtil.normalizedIssuerUri
 
@@ -98,8 +111,9 @@ class BaseIDXClientTest {
 
         def httpHeaders = argumentCaptor.getValue().getHeaders()
 
-        assertThat(httpHeaders.size(), is(3))
+        assertThat(httpHeaders.size(), is(4))
         assertThat(httpHeaders.getFirst("Content-Type"), is("application/x-www-form-urlencoded"))
+        assertThat(httpHeaders.getContentLength(), is((long) argumentCaptor.getValue().getBody().bytes.length))
         assertThat(httpHeaders.getFirst("Accept"), is("application/json"))
         assertThat(httpHeaders.getFirst(HttpHeaders.USER_AGENT), notNullValue())
 
@@ -135,8 +149,9 @@ class BaseIDXClientTest {
         verify(requestExecutor, times(1)).executeRequest(argumentCaptor.capture())
 
         def httpHeaders = argumentCaptor.getValue().getHeaders()
-        assertThat(httpHeaders.size(), is(6))
+        assertThat(httpHeaders.size(), is(7))
         assertThat(httpHeaders.getFirst("Content-Type"), is("application/x-www-form-urlencoded"))
+        assertThat(httpHeaders.getContentLength(), is((long) argumentCaptor.getValue().getBody().bytes.length))
         assertThat(httpHeaders.getFirst("Accept"), is("application/json"))
         assertThat(httpHeaders.getFirst(HttpHeaders.USER_AGENT), notNullValue())
 
@@ -181,8 +196,9 @@ class BaseIDXClientTest {
         verify(requestExecutor, times(1)).executeRequest(argumentCaptor.capture())
 
         def httpHeaders = argumentCaptor.getValue().getHeaders()
-        assertThat(httpHeaders.size(), is(4))
+        assertThat(httpHeaders.size(), is(5))
         assertThat(httpHeaders.getFirst("Content-Type"), is("application/x-www-form-urlencoded"))
+        assertThat(httpHeaders.getContentLength(), is((long) argumentCaptor.getValue().getBody().bytes.length))
         assertThat(httpHeaders.getFirst("Accept"), is("application/json"))
         assertThat(httpHeaders.getFirst(HttpHeaders.USER_AGENT), notNullValue())
 
@@ -199,6 +215,62 @@ class BaseIDXClientTest {
         assertThat(idxClientContext.getInteractionHandle(), is("003Q14X7li"))
     }
 
+    @Test
+    void testInteractFormIsUrlEncoded() {
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+        final Response stubbedResponse = new DefaultResponse(
+                200,
+                MediaType.APPLICATION_JSON,
+                new FileInputStream(getClass().getClassLoader().getResource("interact-response.json").getFile()),
+                -1)
+        when(requestExecutor.executeRequest(any(Request.class))).thenReturn(stubbedResponse)
+        ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class)
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setClientSecret("s3cr&t+/=")
+        clientConfiguration.setScopes(["openid", "profile"] as Set)
+        clientConfiguration.setRedirectUri("http://localhost:8080/login/callback?tenant=a b")
+        final IDXClient idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+
+        idxClient.interact()
+
+        verify(requestExecutor, times(1)).executeRequest(argumentCaptor.capture())
+        Request request = argumentCaptor.getValue()
+        byte[] body = request.getBody().bytes
+        String parameters = new String(body, "UTF-8")
+
+        assertThat(request.getHeaders().getContentLength(), is((long) body.length))
+        assertThat(parameters, CoreMatchers.containsString("&client_secret=s3cr%26t%2B%2F%3D&"))
+        assertThat(parameters, CoreMatchers.containsString("&scope=openid+profile&"))
+        assertThat(parameters, CoreMatchers.containsString("&redirect_uri=http%3A%2F%2Flocalhost%3A8080%2Flogin%2Fcallback%3Ftenant%3Da+b&"))
+    }
+
+    @Test
+    void testInteractWithGzipCompressedResponse() {
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+        byte[] json = getClass().getClassLoader().getResource("interact-response.json").bytes
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream()
+        new GZIPOutputStream(compressed).withCloseable { it.write(json) }
+        final Response stubbedResponse = new DefaultResponse(
+                200,
+                MediaType.APPLICATION_JSON,
+                new ByteArrayInputStream(compressed.toByteArray()),
+                -1)
+        stubbedResponse.getHeaders().set("Content-Encoding", "gzip")
+        when(requestExecutor.executeRequest(any(Request.class))).thenReturn(stubbedResponse)
+        ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class)
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setCompressionEnabled(true)
+        final BaseIDXClient idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+
+        IDXClientContext idxClientContext = idxClient.interact()
+
+        verify(requestExecutor, times(1)).executeRequest(argumentCaptor.capture())
+        assertThat(argumentCaptor.getValue().getHeaders().getFirst("Accept-Encoding"), is("gzip, deflate"))
+        assertThat(idxClientContext.getInteractionHandle(), is("003Q14X7li"))
+        assertThat(idxClient.getResponseBytesReceived(), is((long) compressed.size()))
+        assertThat(idxClient.getResponseBytesDecoded(), is((long) json.length))
+    }
+
     @Test
     void testInteractWithRecoveryToken() {
         RequestExecutor requestExecutor = mock(RequestExecutor)
@@ -799,6 +871,136 @@ class BaseIDXClientTest {
         assertThat(cancelResponse.app.value.id, is("0oazsmpxZpVEg4chS2o4"))
     }
 
+    @Test
+    void testPollWithProjection() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+
+        final IDXClient idxClient =
+                new BaseIDXClient(getClientConfiguration(), requestExecutor)
+
+        final Response stubbedPollResponse = new DefaultResponse(
+                200,
+                MediaType.valueOf("application/ion+json; okta-version=1.0.0"),
+                new FileInputStream(getClass().getClassLoader().getResource("poll-response.json").getFile()),
+                -1)
+
+        when(requestExecutor.executeRequest(any(Request.class))).thenReturn(stubbedPollResponse)
+
+        PollRequest pollRequest = PollRequestBuilder.builder().withStateHandle("029ZAB").build()
+        IDXResponse pollResponse = idxClient.poll(pollRequest, null, ResponseProjection.STEP)
+
+        assertThat(pollResponse.stateHandle, is("029ZAB"))
+        assertThat(pollResponse.remediation().remediationOptions().collect { it.name },
+                is(["challenge-authenticator", "select-authenticator-authenticate"]))
+        assertThat(pollResponse.currentAuthenticatorEnrollment.value.resend.href,
+                is("https://foo.oktapreview.com/idp/idx/challenge/resend"))
+
+        assertThat(pollResponse.version, nullValue())
+        assertThat(pollResponse.authenticators, nullValue())
+        assertThat(pollResponse.authenticatorEnrollments, nullValue())
+        assertThat(pollResponse.user, nullValue())
+        assertThat(pollResponse.app, nullValue())
+        assertThat(pollResponse.cancel, nullValue())
+    }
+
+    @Test
+    void testRawResponseIsRetained() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+        byte[] body = getClass().getClassLoader().getResource("poll-response.json").bytes
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer {
+            new DefaultResponse(200, MediaType.valueOf("application/ion+json; okta-version=1.0.0"), new ByteArrayInputStream(body), -1)
+        }
+        PollRequest pollRequest = PollRequestBuilder.builder().withStateHandle("029ZAB").build()
+
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setRawResponseMaxBytes(body.length)
+        IDXResponse pollResponse = new BaseIDXClient(clientConfiguration, requestExecutor).poll(pollRequest, null)
+
+        assertThat(pollResponse.raw(), is(new String(body, "UTF-8")))
+        assertThat(pollResponse.rawBytes().readOnly, is(true))
+        assertThat(pollResponse.rawBytes().remaining(), is(body.length))
+        assertThat(pollResponse.stateHandle, is("029ZAB"))
+
+        // larger than the cap: parsed as usual, raw() re-serializes
+        clientConfiguration.setRawResponseMaxBytes(body.length - 1)
+        pollResponse = new BaseIDXClient(clientConfiguration, requestExecutor).poll(pollRequest, null)
+
+        assertThat(pollResponse.rawBytes(), nullValue())
+        assertThat(pollResponse.stateHandle, is("029ZAB"))
+        assertThat(pollResponse.user, notNullValue())
+    }
+
+    @Test
+    void testFormStringsAreSharedBetweenResponses() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+        byte[] body = getClass().getClassLoader().getResource("poll-response.json").bytes
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer {
+            new DefaultResponse(200, MediaType.valueOf("application/ion+json; okta-version=1.0.0"), new ByteArrayInputStream(body), -1)
+        }
+        PollRequest pollRequest = PollRequestBuilder.builder().withStateHandle("029ZAB").build()
+
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setFormStringCacheSize(1024)
+        final IDXClient idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+
+        RemediationOption first = idxClient.poll(pollRequest, null).remediation().remediationOptions()[0]
+        RemediationOption second = idxClient.poll(pollRequest, null).remediation().remediationOptions()[0]
+
+        assertThat(first.is(second), is(false))
+        assertThat(first.name.is(second.name), is(true))
+        assertThat(first.href.is(second.href), is(true))
+        assertThat(first.form()[0].name.is(second.form()[0].name), is(true))
+        assertThat(first.form()[0].label.is(second.form()[0].label), is(true))
+
+        // without the table, equal strings stay separate instances
+        final IDXClient plainClient = new BaseIDXClient(getClientConfiguration(), requestExecutor)
+        first = plainClient.poll(pollRequest, null).remediation().remediationOptions()[0]
+        second = plainClient.poll(pollRequest, null).remediation().remediationOptions()[0]
+
+        assertThat(first.name, is(second.name))
+        assertThat(first.name.is(second.name), is(false))
+    }
+
+    @Test
+    void testParsedFormModelIsUnmodifiable() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+        byte[] body = getClass().getClassLoader().getResource("identify-response.json").bytes
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer {
+            new DefaultResponse(200, MediaType.valueOf("application/ion+json; okta-version=1.0.0"), new ByteArrayInputStream(body), -1)
+        }
+        PollRequest pollRequest = PollRequestBuilder.builder().withStateHandle("029ZAB").build()
+
+        final IDXClient idxClient = new BaseIDXClient(getClientConfiguration(), requestExecutor)
+        IDXResponse response = idxClient.poll(pollRequest, null)
+
+        RemediationOption remediationOption = response.remediation().getRemediationOptions().get(0)
+        FormValue authenticatorForm = remediationOption.getFormValues().get(0)
+        assertThat(authenticatorForm.getName(), is("authenticator"))
+        assertThat(authenticatorForm.getOptions().size(), is(3))
+
+        TestUtil.expect(UnsupportedOperationException) { response.remediation().getRemediationOptions().clear() }
+        TestUtil.expect(UnsupportedOperationException) { remediationOption.getFormValues().add(authenticatorForm) }
+        TestUtil.expect(UnsupportedOperationException) { authenticatorForm.getOptions().remove(0) }
+
+        // the legacy array accessors still hand out copies
+        remediationOption.form()[0] = null
+        assertThat(remediationOption.form()[0], is(authenticatorForm))
+    }
+
+    @Test
+    void testRelatesToWithoutOptions() {
+
+        assertThat(FormValue.builder().withName("identifier").build().relatesTo(), nullValue())
+        assertThat(FormValue.builder().withName("authenticator").withOptions([]).build().relatesTo(), nullValue())
+        assertThat(FormValue.builder().withName("authenticator")
+                .withOptions([Options.builder().withRelatesTo("\$.authenticators.value[0]").build()])
+                .build().relatesTo(), is("\$.authenticators.value[0]"))
+    }
+
     @Test
     void testToken() {
 
@@ -829,6 +1031,46 @@ class BaseIDXClientTest {
         assertThat(tokenResponse.scope, is("openid email"))
     }
 
+    @Test
+    void testTokenAsync() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setTokenExchangeAsyncEnabled(true)
+        final IDXClient idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+
+        final IDXClientContext idxClientContext = new IDXClientContext(
+                "codeVerifier", "codeChallenge", "interactionHandle", "state")
+
+        CountDownLatch release = new CountDownLatch(1)
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer {
+            release.await()
+            new DefaultResponse(200, MediaType.valueOf("application/json"),
+                    getClass().getClassLoader().getResourceAsStream("token-response.json"), -1)
+        }
+
+        CompletableFuture<TokenResponse> tokenResponse =
+                idxClient.tokenAsync("tokenUrl", "grantType", "interactionCode", idxClientContext)
+
+        // the exchange is in flight while the caller carries on
+        assertThat(tokenResponse.isDone(), is(false))
+        release.countDown()
+        assertThat(tokenResponse.get(5, TimeUnit.SECONDS).accessToken, notNullValue())
+
+        when(requestExecutor.executeRequest(any(Request.class))).thenReturn(new DefaultResponse(
+                400, MediaType.valueOf("application/json"),
+                getClass().getClassLoader().getResourceAsStream("token-error-response.json"), -1))
+
+        AuthenticationResponse authenticationResponse = new AuthenticationResponse()
+        authenticationResponse.setTokenResponseFuture(
+                idxClient.tokenAsync("tokenUrl", "grantType", "interactionCode", idxClientContext))
+
+        ProcessingException e = TestUtil.expect(ProcessingException) { authenticationResponse.awaitTokenResponse() }
+        assertThat(e.getHttpStatus(), is(400))
+        TestUtil.expect(CompletionException) { authenticationResponse.getTokenResponse() }
+    }
+
     @Test
     void testSecondFactorSuccessResponse() {
 
@@ -939,7 +1181,7 @@ class BaseIDXClientTest {
         assertThat(chooseSecQnOption.value.form.value[0].name, is("questionKey"))
         assertThat(chooseSecQnOption.value.form.value[0].label, is("Choose a security question"))
         assertThat(chooseSecQnOption.value.form.value[0].required, equalTo(true))
-        assertThat(chooseSecQnOption.value.form.value[0].options, arrayWithSize(19)) // default sec qn list
+        assertThat(chooseSecQnOption.value.form.value[0].options(), arrayWithSize(19)) // default sec qn list
         assertThat(chooseSecQnOption.value.form.value[1].name, is("answer"))
         assertThat(chooseSecQnOption.value.form.value[1].label, is("Answer"))
         assertThat(chooseSecQnOption.value.form.value[1].required, equalTo(true))
@@ -1398,6 +1640,193 @@ class BaseIDXClientTest {
         }
     }
 
+    @Test
+    void testDiscoveryDocumentEndpoints() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setDiscoveryEnabled(true)
+
+        final IDXClient idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer({ invocation ->
+            Request request = invocation.getArgument(0)
+            String resourceName = request.getResourceUrl().getPath().endsWith("/.well-known/openid-configuration") ?
+                    "openid-configuration-response.json" : "token-response.json"
+            return new DefaultResponse(
+                    200,
+                    MediaType.valueOf("application/json"),
+                    new FileInputStream(getClass().getClassLoader().getResource(resourceName).getFile()),
+                    -1)
+        })
+        ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class)
+
+        idxClient.revokeToken("access_token", "token-1")
+        idxClient.revokeToken("access_token", "token-2")
+
+        // the discovery document is loaded once and then served from memory
+        verify(requestExecutor, times(3)).executeRequest(argumentCaptor.capture())
+        def urls = argumentCaptor.getAllValues().collect { it.getResourceUrl().toString() }
+        assertThat(urls, is([
+                "http://example.com/.well-known/openid-configuration",
+                "https://login.example.com/oauth2/v1/revoke",
+                "https://login.example.com/oauth2/v1/revoke"]))
+    }
+
+    @Test
+    void testDiscoveryDocumentFailureFallsBackToIssuerEndpoints() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setDiscoveryEnabled(true)
+
+        final IDXClient idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer({ invocation ->
+            Request request = invocation.getArgument(0)
+            int httpStatus = request.getResourceUrl().getPath().endsWith("/.well-known/openid-configuration") ? 503 : 200
+            return new DefaultResponse(
+                    httpStatus,
+                    MediaType.valueOf("application/json"),
+                    new ByteArrayInputStream("{}".getBytes()),
+                    -1)
+        })
+        ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class)
+
+        idxClient.revokeToken("access_token", "token-1")
+
+        verify(requestExecutor, times(2)).executeRequest(argumentCaptor.capture())
+        assertThat(argumentCaptor.getAllValues().get(1).getResourceUrl().toString(),
+                is(normalizedIssuerUri(clientConfiguration.getIssuer(), "/v1/revoke")))
+    }
+
+    @Test
+    void testUserInfoIsCached() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+
+        final IDXClient idxClient = new BaseIDXClient(getClientConfiguration(), requestExecutor)
+
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer({
+            new DefaultResponse(
+                    200,
+                    MediaType.valueOf("application/json"),
+                    new FileInputStream(getClass().getClassLoader().getResource("userinfo-response.json").getFile()),
+                    -1)
+        })
+        ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class)
+
+        UserInfoResponse userInfo = idxClient.userInfo("access-token")
+        UserInfoResponse cachedUserInfo = idxClient.userInfo("access-token")
+
+        verify(requestExecutor, times(1)).executeRequest(argumentCaptor.capture())
+        assertThat(argumentCaptor.getValue().getResourceUrl().toString(),
+                is(normalizedIssuerUri(getClientConfiguration().getIssuer(), "/v1/userinfo")))
+        assertThat(argumentCaptor.getValue().getHeaders().getFirst("Authorization"), is("Bearer access-token"))
+
+        assertThat(userInfo.getSubject(), is("00u10kvvFC06GOmhu2o5"))
+        assertThat(userInfo.getPreferredUsername(), is("mary@example.com"))
+        assertThat(userInfo.getClaim("email_verified"), is(true))
+        assertThat(cachedUserInfo, is(userInfo))
+
+        // a different token is a different cache entry
+        idxClient.userInfo("another-access-token")
+        verify(requestExecutor, times(2)).executeRequest(any(Request.class))
+    }
+
+    @Test
+    void testUserInfoIsPrefetchedAfterTokenExchange() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setScopes(["openid", "profile"] as Set)
+        clientConfiguration.setUserInfoPrefetchEnabled(true)
+
+        final IDXClient idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer({ invocation ->
+            Request request = invocation.getArgument(0)
+            String resourceName = request.getResourceUrl().getPath().endsWith("/userinfo") ?
+                    "userinfo-response.json" : "token-response.json"
+            return new DefaultResponse(
+                    200,
+                    MediaType.valueOf("application/json"),
+                    new FileInputStream(getClass().getClassLoader().getResource(resourceName).getFile()),
+                    -1)
+        })
+
+        final IDXClientContext idxClientContext = new IDXClientContext(
+                "codeVerifier", "codeChallenge", "interactionHandle", "state")
+
+        TokenResponse tokenResponse = idxClient.token("interaction_code", "interactionCode", idxClientContext)
+        UserInfoResponse userInfo = idxClient.userInfo(tokenResponse.getAccessToken())
+
+        // the token request plus the single (background) userinfo request
+        verify(requestExecutor, times(2)).executeRequest(any(Request.class))
+        assertThat(userInfo.getName(), is("Mary Smith"))
+    }
+
+    @Test
+    void testRevokeTokens() {
+
+        RequestExecutor requestExecutor = mock(RequestExecutor)
+
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setRevocationParallelism(4)
+
+        final IDXClient idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+
+        Response rateLimitedResponse = mock(Response)
+        HttpHeaders rateLimitHeaders = new HttpHeaders()
+        rateLimitHeaders.add("X-Rate-Limit-Reset", String.valueOf(System.currentTimeMillis().intdiv(1000)))
+        when(rateLimitedResponse.getHttpStatus()).thenReturn(429)
+        when(rateLimitedResponse.getHeaders()).thenReturn(rateLimitHeaders)
+
+        boolean rateLimited = false
+        when(requestExecutor.executeRequest(any(Request.class))).thenAnswer({ invocation ->
+            Request request = invocation.getArgument(0)
+            String body = request.getBody().getText()
+            if (body.contains("token=rate-limited-token") && !rateLimited) {
+                rateLimited = true
+                return rateLimitedResponse
+            }
+            if (body.contains("token=invalid-client-token")) {
+                return new DefaultResponse(
+                        400,
+                        MediaType.valueOf("application/json"),
+                        new ByteArrayInputStream('{"error":"invalid_client","error_description":"Client authentication failed."}'.getBytes()),
+                        -1)
+            }
+            return new DefaultResponse(200, MediaType.valueOf("application/json"), new ByteArrayInputStream(new byte[0]), 0)
+        })
+
+        List<TokenRevocation> revocations = (1..20).collect { new TokenRevocation(TokenType.ACCESS_TOKEN, "token-" + it) }
+        revocations.add(5, new TokenRevocation(TokenType.REFRESH_TOKEN, "rate-limited-token"))
+        revocations.add(10, new TokenRevocation(TokenType.ACCESS_TOKEN, "invalid-client-token"))
+
+        List<TokenRevocationResult> streamed = []
+        List<TokenRevocationResult> results = idxClient.revokeTokens(revocations, { streamed.add(it) })
+
+        assertThat(results.size(), is(22))
+        assertThat(streamed.size(), is(22))
+        assertThat(results.collect { it.getRevocation() }, is(revocations))
+        assertThat(results.get(5).getStatus(), is(TokenRevocationResult.Status.REVOKED))
+        assertThat(results.get(10).getStatus(), is(TokenRevocationResult.Status.FAILED))
+        assertThat(results.get(10).getError().getHttpStatus(), is(400))
+        assertThat(results.count { it.isRevoked() }, is(21))
+
+        // resume with what is left
+        List<TokenRevocation> remaining = TokenRevocationResult.remaining(results)
+        assertThat(remaining.size(), is(1))
+        assertThat(remaining.get(0).getToken(), is("invalid-client-token"))
+
+        // 22 revocations plus the retry of the rate limited one
+        verify(requestExecutor, times(23)).executeRequest(any(Request.class))
+    }
+
     ClientConfiguration getClientConfiguration() {
         ClientConfiguration clientConfiguration = new ClientConfiguration()
         clientConfiguration.setIssuer("http://example.com")
@@ -18,6 +18,7 @@ package com.okta.idx.sdk.api.client
 
 import com.okta.commons.http.*
 import com.okta.idx.sdk.api.config.ClientConfiguration
+import com.okta.idx.sdk.api.exception.ProcessingException
 import com.okta.idx.sdk.api.model.AuthenticationOptions
 import com.okta.idx.sdk.api.model.AuthenticationStatus
 import com.okta.idx.sdk.api.model.IDXClientContext
@@ -30,14 +31,22 @@ import com.okta.idx.sdk.api.model.VerifyAuthenticatorOptions
 import com.okta.idx.sdk.api.model.VerifyChannelDataOptions
 import com.okta.idx.sdk.api.request.WebAuthnRequest
 import com.okta.idx.sdk.api.response.AuthenticationResponse
+import com.okta.idx.sdk.api.util.TestUtil
 import org.testng.annotations.Test
 
 import java.lang.reflect.Field
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CountDownLatch
 
 import static org.hamcrest.MatcherAssert.assertThat
 import static org.hamcrest.Matchers.*
+import static org.mockito.ArgumentMatchers.any
 import static org.mockito.ArgumentMatchers.argThat
 import static org.mockito.Mockito.mock
+import static org.mockito.Mockito.times
+import static org.mockito.Mockito.verify
 import static org.mockito.Mockito.when
 
 class IDXAuthenticationWrapperTest {
@@ -119,6 +128,59 @@ class IDXAuthenticationWrapperTest {
                 equalTo(newUserRegistrationResponse.getProceedContext().getClientContext().codeChallenge))
     }
 
+    @Test
+    void fetchSignUpFormSchemaIsCachedTest() {
+
+        def requestExecutor = mock(RequestExecutor)
+        def clientConfiguration = getClientConfiguration()
+        clientConfiguration.setSignUpFormTtl(Duration.ofMinutes(10))
+        def idxAuthenticationWrapper = new IDXAuthenticationWrapper(clientConfiguration, requestExecutor)
+
+        setMockResponse(requestExecutor, "interact", "interact-response", 200, MediaType.APPLICATION_JSON)
+        setMockResponse(requestExecutor, "introspect", "introspect-response", 200, mediaTypeAppIonJson)
+        setMockResponse(requestExecutor, "enroll", "enroll-user-response", 200, mediaTypeAppIonJson)
+
+        AuthenticationResponse schemaResponse = idxAuthenticationWrapper.fetchSignUpFormSchema(null)
+        assertThat(schemaResponse.getErrors(), empty())
+        assertThat(schemaResponse.getFormValues(), hasSize(1))
+        assertThat(schemaResponse.getProceedContext(), notNullValue())
+        verify(requestExecutor, times(3)).executeRequest(any(Request))
+
+        // served from the cache, no transaction is started
+        AuthenticationResponse cachedResponse = idxAuthenticationWrapper.fetchSignUpFormSchema(null)
+        assertThat(cachedResponse.getErrors(), empty())
+        assertThat(cachedResponse.getFormValues(), hasSize(1))
+        assertThat(cachedResponse.getFormValues().get(0).getName(), is("userProfile"))
+        assertThat(cachedResponse.getProceedContext(), nullValue())
+        verify(requestExecutor, times(3)).executeRequest(any(Request))
+
+        setMockResponse(requestExecutor, "interact", "interact-response", 200, MediaType.APPLICATION_JSON)
+        setMockResponse(requestExecutor, "introspect", "introspect-response", 200, mediaTypeAppIonJson)
+        setMockResponse(requestExecutor, "enroll", "enroll-user-response", 200, mediaTypeAppIonJson)
+
+        idxAuthenticationWrapper.invalidateSignUpFormSchema()
+        assertThat(idxAuthenticationWrapper.fetchSignUpFormSchema(null).getProceedContext(), notNullValue())
+        verify(requestExecutor, times(6)).executeRequest(any(Request))
+    }
+
+    @Test
+    void fetchSignUpFormSchemaIsNotCachedByDefaultTest() {
+
+        def requestExecutor = mock(RequestExecutor)
+        def idxAuthenticationWrapper = new IDXAuthenticationWrapper(getClientConfiguration(), requestExecutor)
+
+        2.times {
+            setMockResponse(requestExecutor, "interact", "interact-response", 200, MediaType.APPLICATION_JSON)
+            setMockResponse(requestExecutor, "introspect", "introspect-response", 200, mediaTypeAppIonJson)
+            setMockResponse(requestExecutor, "enroll", "enroll-user-response", 200, mediaTypeAppIonJson)
+
+            AuthenticationResponse schemaResponse = idxAuthenticationWrapper.fetchSignUpFormSchema(null)
+            assertThat(schemaResponse.getFormValues(), hasSize(1))
+            assertThat(schemaResponse.getProceedContext(), notNullValue())
+        }
+        verify(requestExecutor, times(6)).executeRequest(any(Request))
+    }
+
     @Test
     void registerFailTest() {
 
@@ -614,6 +676,48 @@ class IDXAuthenticationWrapperTest {
         assertThat(authenticationResponse.getAuthenticationStatus(), is(AuthenticationStatus.AWAITING_AUTHENTICATOR_VERIFICATION))
     }
 
+    @Test
+    void pollSnapshotTest() {
+        def scenario = "scenario_6_1_2"
+        def requestExecutor = mock(RequestExecutor)
+        def idxClient = new BaseIDXClient(getClientConfiguration(), requestExecutor)
+        def idxAuthenticationWrapper = new IDXAuthenticationWrapper()
+        //replace idxClient with mock idxClient
+        setInternalState(idxAuthenticationWrapper, "client", idxClient)
+
+        setMockResponse(requestExecutor, "interact", scenario + "/interact-response", 200, MediaType.APPLICATION_JSON)
+        setMockResponse(requestExecutor, "introspect", scenario + "/introspect-response", 200, mediaTypeAppIonJson)
+        setMockResponse(requestExecutor, "identify", scenario + "/identify-response", 200, mediaTypeAppIonJson)
+        setMockResponse(requestExecutor, "challenge", scenario + "/challenge-response", 200, mediaTypeAppIonJson)
+        setMockResponse(requestExecutor, "poll", "poll-response", 200, mediaTypeAppIonJson)
+
+        AuthenticationResponse beginResponse = idxAuthenticationWrapper.begin()
+        AuthenticationResponse authenticationResponse = idxAuthenticationWrapper.authenticate(
+                new AuthenticationOptions("username", "password".toCharArray()), beginResponse.proceedContext
+        )
+        assertThat(idxAuthenticationWrapper.snapshotPoll(authenticationResponse), nullValue())
+
+        authenticationResponse = idxAuthenticationWrapper.selectAuthenticator(
+                authenticationResponse.getProceedContext(), authenticationResponse.authenticators.first())
+
+        PollSnapshot pollSnapshot = idxAuthenticationWrapper.snapshotPoll(authenticationResponse)
+
+        assertThat(pollSnapshot, notNullValue())
+        assertThat(pollSnapshot.getClientContext(), is(beginResponse.proceedContext.clientContext))
+        assertThat(pollSnapshot.getPollHref(), equalTo("https://foo.oktapreview.com/idp/idx/challenge/poll"))
+        assertThat(pollSnapshot.getRefresh().getSeconds(), is(4L))
+        assertThat(pollSnapshot.getExpiresAt(), is(Instant.parse("2021-05-24T15:15:15.000Z")))
+        assertThat(pollSnapshot.isExpired(Instant.parse("2021-05-24T15:15:14Z")), is(false))
+        assertThat(pollSnapshot.isExpired(Instant.parse("2021-05-24T15:15:15Z")), is(true))
+
+        AuthenticationResponse pollResponse = idxAuthenticationWrapper.poll(pollSnapshot)
+
+        assertThat(pollResponse.getErrors(), empty())
+        assertThat(pollResponse.getProceedContext().getHref(), equalTo("https://foo.oktapreview.com/idp/idx/challenge/answer"))
+        assertThat(pollResponse.getProceedContext().getClientContext(), is(beginResponse.proceedContext.clientContext))
+        assertThat(pollResponse.getProceedContext().getExpiresAt(), is(Instant.parse("2021-12-08T19:08:35.000Z")))
+    }
+
     @Test
     void cancelTest() {
 
@@ -639,6 +743,70 @@ class IDXAuthenticationWrapperTest {
         )
     }
 
+    @Test
+    void pollAndCancelReportUserAndEnrollmentsTest() {
+
+        def requestExecutor = mock(RequestExecutor)
+        def idxClient = new BaseIDXClient(getClientConfiguration(), requestExecutor)
+        def idxAuthenticationWrapper = new IDXAuthenticationWrapper()
+        //replace idxClient with mock idxClient
+        setInternalState(idxAuthenticationWrapper, "client", idxClient)
+
+        // the cancel fixture has no user, any response with one will do
+        setMockResponse(requestExecutor, "poll", "poll-response", 200, mediaTypeAppIonJson)
+        setMockResponse(requestExecutor, "cancel", "poll-response", 200, mediaTypeAppIonJson)
+
+        ProceedContext proceedContext = new ProceedContext(null, "stateHandle",
+                "https://foo.oktapreview.com/idp/idx/challenge/poll", null, false, null, null, null, null)
+
+        [idxAuthenticationWrapper.poll(proceedContext), idxAuthenticationWrapper.cancel(proceedContext)].each { response ->
+            assertThat(response.getErrors(), empty())
+            assertThat(response.getUser().getValue().getIdentifier(), is("arvind.mercedes@gmail.com"))
+            assertThat(response.getAuthenticatorEnrollments().getValues(), hasSize(2))
+        }
+    }
+
+    @Test
+    void testFailedAsyncTokenExchangeIsThrownToTheWaiter() {
+
+        def scenario = "scenario_1_1_1"
+        def requestExecutor = mock(RequestExecutor)
+        ClientConfiguration clientConfiguration = getClientConfiguration()
+        clientConfiguration.setTokenExchangeAsyncEnabled(true)
+        def idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+        def idxAuthenticationWrapper = new IDXAuthenticationWrapper()
+        //replace idxClient with mock idxClient
+        setInternalState(idxAuthenticationWrapper, "client", idxClient)
+
+        setMockResponse(requestExecutor, "interact", scenario + "/interact-response", 200, MediaType.APPLICATION_JSON)
+        setMockResponse(requestExecutor, "introspect", scenario + "/introspect-response", 200, mediaTypeAppIonJson)
+        setMockResponse(requestExecutor, "identify", scenario + "/identify-response", 200, mediaTypeAppIonJson)
+        setMockResponse(requestExecutor, "answer", scenario + "/answer-response", 200, mediaTypeAppIonJson)
+        // hold the exchange until the response is back so it fails in the background
+        CountDownLatch release = new CountDownLatch(1)
+        when(requestExecutor.executeRequest(
+                argThat({
+                    request -> request != null && (request as Request).getResourceUrl().getPath().endsWith("token")
+                }) as Request)
+        ).thenAnswer {
+            release.await()
+            getResponseByResourceFileName("token-error-response", 400, MediaType.APPLICATION_JSON)
+        }
+
+        AuthenticationResponse beginResponse = idxAuthenticationWrapper.begin()
+        AuthenticationResponse authenticationResponse = idxAuthenticationWrapper.authenticate(
+                new AuthenticationOptions("username", "password".toCharArray()), beginResponse.proceedContext)
+        release.countDown()
+
+        // authenticated, the tokens were pending
+        assertThat(authenticationResponse.getAuthenticationStatus(), is(AuthenticationStatus.SUCCESS))
+        ProcessingException e = TestUtil.expect(ProcessingException) { authenticationResponse.awaitTokenResponse() }
+        assertThat(e.getErrorResponse().getError(), is("invalid_grant"))
+        TestUtil.expect(CompletionException) { authenticationResponse.getTokenResponse() }
+        // the exchange never writes to the response
+        assertThat(authenticationResponse.getErrors(), empty())
+    }
+
     @Test(testName = "User logs in with password")
     void testLoginWithCorrectUsernamePassword() {
 
@@ -1263,6 +1431,26 @@ class IDXAuthenticationWrapperTest {
         assertThat(idpList.first().href, is("https://foo.oktapreview.com/oauth2/ausko2zk1B3kDU2d65d6/v1/authorize?client_id=0oal2s4yhspmifyt65d6&request_uri=urn:okta:bGNlQkY4NzltNXRWeHNheUlOVVJwOWN2Rk1DSElfS0JQVUlSaE5LWlQtTTowb2Fyc2Q5dWZmUjh0alNBTDVkNg"))
     }
 
+    @Test
+    void testSocialIdpsAreKeptForLoginPage() {
+
+        def scenario = "scenario_5_1_1"
+        def requestExecutor = mock(RequestExecutor)
+        def idxAuthenticationWrapper = new IDXAuthenticationWrapper(getClientConfiguration(), requestExecutor)
+
+        setMockResponse(requestExecutor, "interact", scenario + "/interact-response", 200, MediaType.APPLICATION_JSON)
+        setMockResponse(requestExecutor, "introspect", scenario + "/introspect-response", 200, mediaTypeAppIonJson)
+
+        idxAuthenticationWrapper.begin()
+
+        // read without starting another transaction
+        List<Idp> idpList = idxAuthenticationWrapper.getIdps()
+        assertThat(idpList, hasSize(1))
+        assertThat(idpList.first().type, is("GOOGLE"))
+        assertThat(idpList.first().href, nullValue())
+        verify(requestExecutor, times(2)).executeRequest(any(Request))
+    }
+
     @Test(testName = "2FA Login with Email")
     void test2FAWithEmail() {
 
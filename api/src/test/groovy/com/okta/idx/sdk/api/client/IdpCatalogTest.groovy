@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client
+
+import com.okta.idx.sdk.api.model.Idp
+import org.testng.annotations.Test
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.empty
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.nullValue
+
+class IdpCatalogTest {
+
+    @Test
+    void testLoadsOnFirstRead() {
+        TestClock clock = new TestClock()
+        int loads = 0
+        IdpCatalog catalog = new IdpCatalog({ loads++; [new Idp("GOOGLE", "https://example.com/authorize?request_uri=1")] },
+                { it.run() }, clock, Duration.ofMinutes(5))
+
+        List<Idp> idps = catalog.get()
+        assertThat(idps*.type, contains("GOOGLE"))
+        assertThat(idps.first().href, nullValue())
+
+        catalog.get()
+        assertThat(loads, is(1))
+    }
+
+    @Test
+    void testReloadsOnceRefreshIntervalHasPassed() {
+        TestClock clock = new TestClock()
+        List<Idp> offered = [new Idp("GOOGLE", "https://example.com/authorize")]
+        int loads = 0
+        IdpCatalog catalog = new IdpCatalog({ loads++; offered }, { it.run() }, clock, Duration.ofMinutes(5))
+
+        catalog.update([new Idp("FACEBOOK", "https://example.com/authorize")])
+        assertThat(catalog.get()*.type, contains("FACEBOOK"))
+
+        clock.advance(Duration.ofMinutes(4))
+        assertThat(catalog.get()*.type, contains("FACEBOOK"))
+        assertThat(loads, is(0))
+
+        clock.advance(Duration.ofMinutes(1))
+        assertThat(catalog.get()*.type, contains("GOOGLE"))
+        assertThat(loads, is(1))
+    }
+
+    @Test
+    void testFailedLoadIsRetriedLater() {
+        TestClock clock = new TestClock()
+        int loads = 0
+        IdpCatalog catalog = new IdpCatalog({ loads++; null }, { it.run() }, clock, Duration.ofMinutes(5))
+
+        assertThat(catalog.get(), empty())
+        assertThat(catalog.get(), empty())
+        assertThat(loads, is(1))
+
+        clock.advance(Duration.ofSeconds(30))
+        catalog.get()
+        assertThat(loads, is(2))
+    }
+
+    static class TestClock extends Clock {
+
+        private Instant now = Instant.parse("2022-01-01T00:00:00Z")
+
+        void advance(Duration duration) {
+            now = now.plus(duration)
+        }
+
+        @Override
+        ZoneId getZone() {
+            return ZoneOffset.UTC
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            return this
+        }
+
+        @Override
+        Instant instant() {
+            return now
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.okta.commons.http.DefaultResponse
+import com.okta.commons.http.MediaType
+import com.okta.commons.http.Request
+import com.okta.commons.http.RequestExecutor
+import com.okta.idx.sdk.api.config.ClientConfiguration
+import com.okta.idx.sdk.api.exception.InvalidTokenException
+import com.okta.idx.sdk.api.model.Jwt
+import com.okta.idx.sdk.api.util.TestUtil
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import java.nio.charset.StandardCharsets
+import java.security.KeyPair
+import java.security.KeyPairGenerator
+import java.security.Signature
+import java.security.interfaces.RSAPublicKey
+import java.time.Instant
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.is
+import static org.mockito.ArgumentMatchers.any
+import static org.mockito.ArgumentMatchers.argThat
+import static org.mockito.Mockito.mock
+import static org.mockito.Mockito.times
+import static org.mockito.Mockito.verify
+import static org.mockito.Mockito.when
+
+class JwtVerifierTest {
+
+    static final String ISSUER = "https://example.com/oauth2/default"
+    static final String CLIENT_ID = "test-client-id"
+
+    final ObjectMapper objectMapper = new ObjectMapper()
+
+    KeyPair keyPair
+    RequestExecutor requestExecutor
+    IDXClient idxClient
+
+    @BeforeMethod
+    void setup() {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA")
+        generator.initialize(2048)
+        keyPair = generator.generateKeyPair()
+
+        requestExecutor = mock(RequestExecutor)
+        when(requestExecutor.executeRequest(argThat({
+            request -> request != null && (request as Request).getResourceUrl().getPath().endsWith("/v1/keys")
+        }) as Request)).thenAnswer({
+            new DefaultResponse(200, MediaType.APPLICATION_JSON,
+                    new ByteArrayInputStream(jwks("kid-1").getBytes(StandardCharsets.UTF_8)), -1)
+        })
+
+        ClientConfiguration clientConfiguration = new ClientConfiguration()
+        clientConfiguration.setIssuer(ISSUER)
+        clientConfiguration.setClientId(CLIENT_ID)
+        clientConfiguration.setScopes(["openid"] as Set)
+        idxClient = new BaseIDXClient(clientConfiguration, requestExecutor)
+    }
+
+    @Test
+    void testValidIdToken() {
+        long now = Instant.now().epochSecond
+        String idToken = sign("kid-1", [iss: ISSUER, aud: CLIENT_ID, sub: "00u1", iat: now, exp: now + 3600])
+
+        Jwt jwt = idxClient.verifyIdToken(idToken)
+
+        assertThat(jwt.getSubject(), is("00u1"))
+        assertThat(jwt.getAudience(), contains(CLIENT_ID))
+        assertThat(jwt.getTokenValue(), is(idToken))
+
+        // keys are served from the cache on subsequent verifications
+        idxClient.verifyIdToken(idToken)
+        verify(requestExecutor, times(1)).executeRequest(any(Request))
+    }
+
+    @Test
+    void testValidAccessToken() {
+        long now = Instant.now().epochSecond
+        String accessToken = sign("kid-1", [iss: ISSUER, aud: "api://default", cid: CLIENT_ID, sub: "joe", exp: now + 3600])
+
+        Jwt jwt = idxClient.verifyAccessToken(accessToken, "api://default")
+
+        assertThat(jwt.getClaim("cid"), is(CLIENT_ID))
+        TestUtil.expect(InvalidTokenException) { idxClient.verifyAccessToken(accessToken, "api://other") }
+    }
+
+    @Test
+    void testAccessTokenWithoutClientId() {
+        long now = Instant.now().epochSecond
+        String accessToken = sign("kid-1", [iss: ISSUER, aud: "api://default", sub: "joe", exp: now + 3600])
+
+        // nothing ties the token to this client unless its audience is checked
+        TestUtil.expect(InvalidTokenException) { idxClient.verifyAccessToken(accessToken, null) }
+        TestUtil.expect(InvalidTokenException) { idxClient.verifyAccessToken(accessToken, "api://other") }
+        assertThat(idxClient.verifyAccessToken(accessToken, "api://default").getClaim("sub"), is("joe"))
+    }
+
+    @Test
+    void testTamperedSignature() {
+        long now = Instant.now().epochSecond
+        String idToken = sign("kid-1", [iss: ISSUER, aud: CLIENT_ID, sub: "00u1", exp: now + 3600])
+        String[] parts = idToken.split("\\.")
+        String tampered = parts[0] + "." + base64Url(objectMapper.writeValueAsBytes([iss: ISSUER, aud: CLIENT_ID, sub: "00u2", exp: now + 3600])) + "." + parts[2]
+
+        TestUtil.expect(InvalidTokenException) { idxClient.verifyIdToken(tampered) }
+    }
+
+    @Test
+    void testExpiredAndWrongClaims() {
+        long now = Instant.now().epochSecond
+
+        TestUtil.expect(InvalidTokenException) {
+            idxClient.verifyIdToken(sign("kid-1", [iss: ISSUER, aud: CLIENT_ID, exp: now - 3600]))
+        }
+        TestUtil.expect(InvalidTokenException) {
+            idxClient.verifyIdToken(sign("kid-1", [iss: "https://evil.example.com", aud: CLIENT_ID, exp: now + 3600]))
+        }
+        TestUtil.expect(InvalidTokenException) {
+            idxClient.verifyIdToken(sign("kid-1", [iss: ISSUER, aud: "another-client", exp: now + 3600]))
+        }
+        TestUtil.expect(InvalidTokenException) { idxClient.verifyIdToken("not-a-jwt") }
+    }
+
+    @Test
+    void testUnknownKidRefetchIsBounded() {
+        long now = Instant.now().epochSecond
+        String idToken = sign("rotated-kid", [iss: ISSUER, aud: CLIENT_ID, exp: now + 3600])
+
+        10.times {
+            TestUtil.expect(InvalidTokenException) { idxClient.verifyIdToken(idToken) }
+        }
+
+        verify(requestExecutor, times(1)).executeRequest(any(Request))
+    }
+
+    String sign(String kid, Map<String, Object> claims) {
+        String signingInput = base64Url(objectMapper.writeValueAsBytes([alg: "RS256", kid: kid])) + "." +
+                base64Url(objectMapper.writeValueAsBytes(claims))
+        Signature signature = Signature.getInstance("SHA256withRSA")
+        signature.initSign(keyPair.getPrivate())
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII))
+        return signingInput + "." + base64Url(signature.sign())
+    }
+
+    String jwks(String kid) {
+        RSAPublicKey publicKey = keyPair.getPublic() as RSAPublicKey
+        return objectMapper.writeValueAsString([keys: [[
+                kty: "RSA",
+                alg: "RS256",
+                use: "sig",
+                kid: kid,
+                n  : base64Url(unsigned(publicKey.getModulus().toByteArray())),
+                e  : base64Url(unsigned(publicKey.getPublicExponent().toByteArray()))
+        ]]])
+    }
+
+    static byte[] unsigned(byte[] bytes) {
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes
+    }
+
+    static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes)
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client
+
+import com.okta.idx.sdk.api.model.RemediationName
+import com.okta.idx.sdk.api.model.RemediationOption
+import com.okta.idx.sdk.api.model.RemediationType
+import com.okta.idx.sdk.api.request.ChallengeRequest
+import com.okta.idx.sdk.api.request.ChallengeRequestBuilder
+import com.okta.idx.sdk.api.request.IdentifyRequest
+import com.okta.idx.sdk.api.request.SkipAuthenticatorEnrollmentRequest
+import com.okta.idx.sdk.api.request.SkipAuthenticatorEnrollmentRequestBuilder
+import com.okta.idx.sdk.api.response.IDXResponse
+import org.testng.annotations.Test
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.sameInstance
+import static org.mockito.Mockito.mock
+import static org.mockito.Mockito.verify
+import static org.mockito.Mockito.verifyNoInteractions
+import static org.mockito.Mockito.when
+
+class RemediationDispatchTest {
+
+    @Test
+    void testRemediationNameMatchesWireValues() {
+        RemediationName.values().each {
+            assertThat(RemediationName.fromValue(it.getValue()), is(it))
+        }
+        assertThat(RemediationName.fromValue(RemediationType.SELECT_AUTHENTICATOR_AUTHENTICATE),
+                is(RemediationName.SELECT_AUTHENTICATOR_AUTHENTICATE))
+        assertThat(RemediationName.fromValue("redirect-idp"), is(RemediationName.UNKNOWN))
+        assertThat(RemediationName.fromValue(null), is(RemediationName.UNKNOWN))
+    }
+
+    @Test
+    void testProceedDispatchesOnRequestType() {
+        IDXClient client = mock(IDXClient)
+        IDXResponse response = new IDXResponse()
+        RemediationOption option = RemediationOption.builder()
+                .withHref("https://foo.oktapreview.com/idp/idx/identify")
+                .build()
+
+        IdentifyRequest identifyRequest = new IdentifyRequest("test-identifier", null, false, "stateHandle")
+        when(client.identify(identifyRequest, option.href)).thenReturn(response)
+        assertThat(option.proceed(client, identifyRequest), sameInstance(response))
+        verify(client).identify(identifyRequest, option.href)
+
+        ChallengeRequest challengeRequest = ChallengeRequestBuilder.builder().withStateHandle("stateHandle").build()
+        when(client.challenge(challengeRequest, option.href)).thenReturn(response)
+        assertThat(option.proceed(client, challengeRequest), sameInstance(response))
+
+        SkipAuthenticatorEnrollmentRequest skipRequest = SkipAuthenticatorEnrollmentRequestBuilder.builder().withStateHandle("stateHandle").build()
+        when(client.skip(skipRequest, option.href)).thenReturn(response)
+        assertThat(option.proceed(client, skipRequest), sameInstance(response))
+    }
+
+    @Test(expectedExceptions = IllegalStateException)
+    void testProceedRejectsUnsupportedRequestType() {
+        IDXClient client = mock(IDXClient)
+        try {
+            RemediationOption.builder().build().proceed(client, "not a request")
+        } finally {
+            verifyNoInteractions(client)
+        }
+    }
+}
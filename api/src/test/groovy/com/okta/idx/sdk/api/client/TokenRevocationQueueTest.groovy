@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client
+
+import com.okta.idx.sdk.api.exception.ProcessingException
+import com.okta.idx.sdk.api.model.TokenType
+import org.testng.annotations.Test
+
+import java.time.Duration
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
+import static org.mockito.Mockito.doNothing
+import static org.mockito.Mockito.doThrow
+import static org.mockito.Mockito.mock
+import static org.mockito.Mockito.times
+import static org.mockito.Mockito.verify
+
+class TokenRevocationQueueTest {
+
+    @Test
+    void testRevokesAccessAndRefreshTokens() {
+
+        IDXClient client = mock(IDXClient)
+        TokenRevocationQueue queue = newQueue(client)
+
+        queue.submit(TokenType.ACCESS_TOKEN, "access-token")
+        queue.submit(TokenType.REFRESH_TOKEN, "refresh-token")
+
+        awaitCompletion(queue, 2)
+
+        verify(client).revokeToken("access_token", "access-token")
+        verify(client).revokeToken("refresh_token", "refresh-token")
+        assertThat(queue.getRevokedCount(), is(2L))
+        assertThat(queue.getFailedCount(), is(0L))
+        assertThat(queue.getQueueDepth(), is(0))
+        queue.shutdown()
+    }
+
+    @Test
+    void testTransientFailureIsRetried() {
+
+        IDXClient client = mock(IDXClient)
+        doThrow(new ProcessingException(503, "Request failed."))
+                .doThrow(new ProcessingException(429, "Request failed."))
+                .doNothing()
+                .when(client).revokeToken("access_token", "access-token")
+        TokenRevocationQueue queue = newQueue(client)
+
+        queue.submit(TokenType.ACCESS_TOKEN, "access-token")
+
+        awaitCompletion(queue, 1)
+
+        verify(client, times(3)).revokeToken("access_token", "access-token")
+        assertThat(queue.getRevokedCount(), is(1L))
+        assertThat(queue.getFailedCount(), is(0L))
+        assertThat(queue.getRetryingCount(), is(0))
+        queue.shutdown()
+    }
+
+    @Test
+    void testClientErrorIsNotRetried() {
+
+        IDXClient client = mock(IDXClient)
+        doThrow(new ProcessingException(400, "Request failed."))
+                .when(client).revokeToken("access_token", "access-token")
+        doNothing().when(client).revokeToken("access_token", "other-token")
+        TokenRevocationQueue queue = newQueue(client)
+
+        queue.submit(TokenType.ACCESS_TOKEN, "access-token")
+        queue.submit(TokenType.ACCESS_TOKEN, "other-token")
+
+        awaitCompletion(queue, 2)
+
+        verify(client, times(1)).revokeToken("access_token", "access-token")
+        assertThat(queue.getRevokedCount(), is(1L))
+        assertThat(queue.getFailedCount(), is(1L))
+        queue.shutdown()
+    }
+
+    @Test
+    void testRetriesAreBounded() {
+
+        IDXClient client = mock(IDXClient)
+        doThrow(new ProcessingException(500, "Request failed."))
+                .when(client).revokeToken("access_token", "access-token")
+        TokenRevocationQueue queue = newQueue(client)
+
+        queue.submit(TokenType.ACCESS_TOKEN, "access-token")
+
+        awaitCompletion(queue, 1)
+
+        verify(client, times(3)).revokeToken("access_token", "access-token")
+        assertThat(queue.getFailedCount(), is(1L))
+        queue.shutdown()
+    }
+
+    static TokenRevocationQueue newQueue(IDXClient client) {
+        return new TokenRevocationQueue(client, 2, 100, 10, 3, Duration.ofMillis(10), Duration.ofMillis(50))
+    }
+
+    static void awaitCompletion(TokenRevocationQueue queue, long expected) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (queue.getRevokedCount() + queue.getFailedCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertThat(queue.getRevokedCount() + queue.getFailedCount(), is(expected))
+    }
+}
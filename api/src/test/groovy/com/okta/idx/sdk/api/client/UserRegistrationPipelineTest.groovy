@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.api.client
+
+import com.okta.idx.sdk.api.model.UserProfile
+import com.okta.idx.sdk.api.model.UserRegistration
+import com.okta.idx.sdk.api.model.UserRegistrationResult
+import com.okta.idx.sdk.api.model.VerifyAuthenticatorOptions
+import com.okta.idx.sdk.api.response.AuthenticationResponse
+import org.testng.annotations.Test
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.containsInAnyOrder
+import static org.hamcrest.Matchers.is
+import static org.mockito.ArgumentMatchers.any
+import static org.mockito.ArgumentMatchers.eq
+import static org.mockito.Mockito.mock
+import static org.mockito.Mockito.times
+import static org.mockito.Mockito.verify
+import static org.mockito.Mockito.when
+
+class UserRegistrationPipelineTest {
+
+    @Test
+    void testRegistersUsersAndEnrollsPasswords() {
+
+        IDXAuthenticationWrapper wrapper = mockWrapper()
+        Path checkpointFile = Files.createTempFile("registration", ".checkpoint")
+        UserRegistrationPipeline pipeline = UserRegistrationPipeline.builder(wrapper)
+                .withParallelism(2)
+                .withCheckpointFile(checkpointFile)
+                .build()
+
+        List<UserRegistrationResult> results = []
+        pipeline.run(registrations("a@example.com", "b@example.com", "c@example.com").stream(), { results.add(it) })
+
+        assertThat(results*.status, contains(UserRegistrationResult.Status.REGISTERED,
+                UserRegistrationResult.Status.REGISTERED, UserRegistrationResult.Status.REGISTERED))
+        assertThat(pipeline.getRegisteredCount(), is(3L))
+        assertThat(Files.readAllLines(checkpointFile), containsInAnyOrder("a@example.com", "b@example.com", "c@example.com"))
+        verify(wrapper, times(3)).enrollAuthenticator(any(ProceedContext), eq("aut-password"))
+        verify(wrapper, times(3)).verifyAuthenticator(any(ProceedContext) as ProceedContext,
+                any(VerifyAuthenticatorOptions) as VerifyAuthenticatorOptions)
+    }
+
+    @Test
+    void testResumesFromCheckpoint() {
+
+        IDXAuthenticationWrapper wrapper = mockWrapper()
+        Path checkpointFile = Files.createTempFile("registration", ".checkpoint")
+        Files.write(checkpointFile, ["a@example.com", "b@example.com"])
+        UserRegistrationPipeline pipeline = UserRegistrationPipeline.builder(wrapper)
+                .withCheckpointFile(checkpointFile)
+                .build()
+
+        List<UserRegistrationResult> results = []
+        pipeline.run(registrations("a@example.com", "b@example.com", "c@example.com").stream(), { results.add(it) })
+
+        assertThat(pipeline.getSkippedCount(), is(2L))
+        assertThat(pipeline.getRegisteredCount(), is(1L))
+        assertThat(results.find { it.registered }.registration.key, is("c@example.com"))
+        verify(wrapper, times(1)).begin()
+        assertThat(Files.readAllLines(checkpointFile), contains("a@example.com", "b@example.com", "c@example.com"))
+    }
+
+    @Test
+    void testFailedUserIsReportedAndNotCheckpointed() {
+
+        IDXAuthenticationWrapper wrapper = mockWrapper()
+        AuthenticationResponse rejected = new AuthenticationResponse()
+        rejected.addError("A user with this Email already exists")
+        UserRegistration existing = registrations("existing@example.com").get(0)
+        when(wrapper.register(any(ProceedContext), eq(existing.userProfile))).thenReturn(rejected)
+
+        Path checkpointFile = Files.createTempFile("registration", ".checkpoint")
+        UserRegistrationPipeline pipeline = UserRegistrationPipeline.builder(wrapper)
+                .withCheckpointFile(checkpointFile)
+                .build()
+
+        List<UserRegistrationResult> results = []
+        pipeline.run(([existing] + registrations("new@example.com")).stream(), { results.add(it) })
+
+        UserRegistrationResult failure = results.find { it.registration.is(existing) }
+        assertThat(failure.status, is(UserRegistrationResult.Status.FAILED))
+        assertThat(failure.errors, contains("A user with this Email already exists"))
+        assertThat(pipeline.getFailedCount(), is(1L))
+        assertThat(pipeline.getRegisteredCount(), is(1L))
+        assertThat(Files.readAllLines(checkpointFile), contains("new@example.com"))
+        verify(wrapper, times(1)).enrollAuthenticator(any(ProceedContext), eq("aut-password"))
+    }
+
+    @Test
+    void testUserWithoutPasswordIsReportedIncompleteAndCheckpointed() {
+
+        IDXAuthenticationWrapper wrapper = mockWrapper()
+        AuthenticationResponse rejected = new AuthenticationResponse()
+        rejected.addError("Password requirements were not met")
+        UserRegistration weak = registrations("weak@example.com").get(0)
+        when(wrapper.verifyAuthenticator(any(ProceedContext) as ProceedContext,
+                any(VerifyAuthenticatorOptions) as VerifyAuthenticatorOptions))
+                .thenReturn(rejected)
+                .thenAnswer({ response() })
+
+        Path checkpointFile = Files.createTempFile("registration", ".checkpoint")
+        UserRegistrationPipeline pipeline = UserRegistrationPipeline.builder(wrapper)
+                .withParallelism(1)
+                .withCheckpointFile(checkpointFile)
+                .build()
+
+        List<UserRegistrationResult> results = []
+        pipeline.run(([weak] + registrations("new@example.com")).stream(), { results.add(it) })
+
+        UserRegistrationResult incomplete = results.find { it.registration.is(weak) }
+        assertThat(incomplete.status, is(UserRegistrationResult.Status.INCOMPLETE))
+        assertThat(incomplete.errors, contains("Password requirements were not met"))
+        assertThat(pipeline.getIncompleteCount(), is(1L))
+        assertThat(pipeline.getRegisteredCount(), is(1L))
+        assertThat(pipeline.getFailedCount(), is(0L))
+        assertThat(Files.readAllLines(checkpointFile), contains("weak@example.com", "new@example.com"))
+    }
+
+    @Test
+    void testUserCreatedByCrashedRunIsResumed() {
+
+        IDXAuthenticationWrapper wrapper = mockWrapper()
+        AuthenticationResponse rejected = new AuthenticationResponse()
+        rejected.addError("A user with this Email already exists")
+        UserRegistration created = registrations("created@example.com").get(0)
+        UserRegistration existing = registrations("existing@example.com").get(0)
+        when(wrapper.register(any(ProceedContext), eq(created.userProfile))).thenReturn(rejected)
+        when(wrapper.register(any(ProceedContext), eq(existing.userProfile))).thenReturn(rejected)
+
+        // the crashed run got as far as creating one user, the other one existed before
+        Path checkpointFile = Files.createTempFile("registration", ".checkpoint")
+        Path pendingFile = checkpointFile.resolveSibling(checkpointFile.fileName.toString() + ".pending")
+        Files.write(pendingFile, ["created@example.com\tstarted", "existing@example.com\tstarted", "existing@example.com\trejected"])
+        UserRegistrationPipeline pipeline = UserRegistrationPipeline.builder(wrapper)
+                .withCheckpointFile(checkpointFile)
+                .build()
+
+        List<UserRegistrationResult> results = []
+        pipeline.run([created, existing].stream(), { results.add(it) })
+
+        assertThat(results.find { it.registration.is(created) }.status, is(UserRegistrationResult.Status.INCOMPLETE))
+        assertThat(results.find { it.registration.is(existing) }.status, is(UserRegistrationResult.Status.FAILED))
+        assertThat(Files.readAllLines(checkpointFile), contains("created@example.com"))
+
+        // the next run converges
+        results.clear()
+        pipeline.run([created, existing].stream(), { results.add(it) })
+
+        assertThat(results.find { it.registration.is(created) }.status, is(UserRegistrationResult.Status.SKIPPED))
+        assertThat(results.find { it.registration.is(existing) }.status, is(UserRegistrationResult.Status.FAILED))
+    }
+
+    static IDXAuthenticationWrapper mockWrapper() {
+        IDXAuthenticationWrapper wrapper = mock(IDXAuthenticationWrapper)
+        when(wrapper.begin()).thenAnswer({ response() })
+        when(wrapper.fetchSignUpFormValues(any(ProceedContext))).thenAnswer({ response() })
+        when(wrapper.register(any(ProceedContext), any(UserProfile))).thenAnswer({
+            AuthenticationResponse response = response()
+            response.setAuthenticators([
+                    new Authenticator("aut-other", "email", "Email", null, false),
+                    new Authenticator("aut-password", "password", "Password", null, false)])
+            return response
+        })
+        when(wrapper.enrollAuthenticator(any(ProceedContext), any(String))).thenAnswer({ response() })
+        // verifyAuthenticator is overloaded, dynamic Groovy needs the matcher types to pick this one
+        when(wrapper.verifyAuthenticator(any(ProceedContext) as ProceedContext,
+                any(VerifyAuthenticatorOptions) as VerifyAuthenticatorOptions)).thenAnswer({ response() })
+        return wrapper
+    }
+
+    static AuthenticationResponse response() {
+        AuthenticationResponse response = new AuthenticationResponse()
+        response.setProceedContext(new ProceedContext(null, "stateHandle", "href", null, false, null, null, null, null))
+        return response
+    }
+
+    static List<UserRegistration> registrations(String... emails) {
+        return emails.collect { email ->
+            UserProfile userProfile = new UserProfile()
+            userProfile.addAttribute("email", email)
+            new UserRegistration(userProfile, "P@ssw0rd!")
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.httpclient;
+
+import com.okta.commons.http.DefaultResponse;
+import com.okta.commons.http.HttpException;
+import com.okta.commons.http.HttpHeaders;
+import com.okta.commons.http.MediaType;
+import com.okta.commons.http.QueryString;
+import com.okta.commons.http.Request;
+import com.okta.commons.http.RequestExecutor;
+import com.okta.commons.http.Response;
+import com.okta.commons.http.authc.RequestAuthenticator;
+import com.okta.commons.http.config.HttpClientConfiguration;
+import com.okta.commons.http.config.Proxy;
+import com.okta.commons.lang.Assert;
+import com.okta.commons.lang.Strings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link RequestExecutor} on the JDK's {@link HttpClient}.
+ * <p>
+ * All requests of an executor, to every IDX and OAuth 2.0 endpoint of the org, share the connections of a single
+ * {@code HttpClient}. HTTP/2 is negotiated with the org, so concurrent requests are multiplexed over a few
+ * connections instead of opening (and handshaking) one socket each. Response bodies are not buffered, they are
+ * streamed into the JSON parser as they arrive.
+ * <p>
+ * Several SDK clients can also share one {@code HttpClient}, e.g. one built with
+ * {@link #newHttpClient(HttpClientConfiguration, Executor)} on an application owned executor:
+ * <pre>
+ * HttpClient httpClient = JdkHttpRequestExecutor.newHttpClient(httpClientConfiguration, executor);
+ * IDXAuthenticationWrapper authenticationWrapper = new IDXAuthenticationWrapper(clientConfiguration,
+ *         new JdkHttpRequestExecutor(httpClientConfiguration, httpClient));
+ * </pre>
+ * This class is thread-safe. It does not retry, {@link JdkHttpRequestExecutorFactory} adds the SDK's retry policy.
+ */
+public final class JdkHttpRequestExecutor implements RequestExecutor {
+
+    /** Headers that {@link HttpClient} sets itself and refuses to accept from the caller. */
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.add("Connection");
+        RESTRICTED_HEADERS.add("Content-Length");
+        RESTRICTED_HEADERS.add("Expect");
+        RESTRICTED_HEADERS.add("Host");
+        RESTRICTED_HEADERS.add("Upgrade");
+    }
+
+    private final HttpClient httpClient;
+    private final RequestAuthenticator requestAuthenticator;
+    private final Duration requestTimeout;
+
+    /**
+     * Creates an executor with its own {@link HttpClient}, running on the client's default executor.
+     *
+     * @param httpClientConfiguration the connection timeout, proxy and request authenticator to use
+     */
+    public JdkHttpRequestExecutor(HttpClientConfiguration httpClientConfiguration) {
+        this(httpClientConfiguration, newHttpClient(httpClientConfiguration, null));
+    }
+
+    /**
+     * @param httpClientConfiguration the request timeout and request authenticator to use
+     * @param httpClient the client that sends the requests, may be shared with other executors
+     */
+    public JdkHttpRequestExecutor(HttpClientConfiguration httpClientConfiguration, HttpClient httpClient) {
+        Assert.notNull(httpClientConfiguration, "httpClientConfiguration cannot be null");
+        Assert.notNull(httpClient, "httpClient cannot be null");
+        this.httpClient = httpClient;
+        this.requestAuthenticator = httpClientConfiguration.getRequestAuthenticator();
+        this.requestTimeout = timeout(httpClientConfiguration);
+    }
+
+    /**
+     * Build an HTTP/2 {@link HttpClient} for the given configuration.
+     *
+     * @param httpClientConfiguration the connection timeout and proxy to use
+     * @param executor runs the client's send and response handling tasks, or null for the client's default
+     * @return the HTTP client
+     */
+    public static HttpClient newHttpClient(HttpClientConfiguration httpClientConfiguration, Executor executor) {
+        Assert.notNull(httpClientConfiguration, "httpClientConfiguration cannot be null");
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER);
+
+        Duration connectTimeout = timeout(httpClientConfiguration);
+        if (connectTimeout != null) {
+            builder.connectTimeout(connectTimeout);
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+
+        Proxy proxy = httpClientConfiguration.getProxy();
+        if (proxy != null) {
+            builder.proxy(ProxySelector.of(new InetSocketAddress(proxy.getHost(), proxy.getPort())));
+            if (proxy.isAuthenticationRequired()) {
+                PasswordAuthentication credentials =
+                        new PasswordAuthentication(proxy.getUsername(), proxy.getPassword().toCharArray());
+                builder.authenticator(new Authenticator() {
+                    @Override
+                    protected PasswordAuthentication getPasswordAuthentication() {
+                        return getRequestorType() == RequestorType.PROXY ? credentials : null;
+                    }
+                });
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Response executeRequest(Request request) throws HttpException {
+        HttpRequest httpRequest = toHttpRequest(request);
+        try {
+            return toResponse(httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream()));
+        } catch (IOException e) {
+            throw failure(httpRequest, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpException("Interrupted while executing HTTP request: " + httpRequest.uri(), e);
+        }
+    }
+
+    /**
+     * Send the request without blocking the calling thread. The returned future completes once the response headers
+     * are received, its body is streamed as it is read. Failures complete the future with an {@link HttpException}.
+     *
+     * @param request the request to send
+     * @return the response
+     */
+    public CompletableFuture<Response> executeRequestAsync(Request request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        } catch (HttpException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream())
+                .handle((httpResponse, e) -> {
+                    if (e != null) {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        throw cause instanceof IOException
+                                ? failure(httpRequest, (IOException) cause)
+                                : new HttpException("Unable to execute HTTP request: " + httpRequest.uri(), cause);
+                    }
+                    return toResponse(httpResponse);
+                });
+    }
+
+    private HttpRequest toHttpRequest(Request request) {
+        if (requestAuthenticator != null) {
+            requestAuthenticator.authenticate(request);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(request));
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+
+        for (Map.Entry<String, List<String>> header : request.getHeaders().entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey())) {
+                header.getValue().forEach(value -> builder.header(header.getKey(), value));
+            }
+        }
+
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+        if (request.hasBody()) {
+            // buffered, the client sends the body again when it retries the request, e.g. after a proxy asked for credentials
+            try (InputStream in = request.getBody()) {
+                body = HttpRequest.BodyPublishers.ofByteArray(in.readAllBytes());
+            } catch (IOException e) {
+                throw new HttpException("Unable to read the body of HTTP request: " + request.getResourceUrl(), e);
+            }
+        }
+        return builder.method(request.getMethod().name(), body).build();
+    }
+
+    private static URI uri(Request request) {
+        URI resourceUrl = request.getResourceUrl();
+        QueryString queryString = request.getQueryString();
+        if (queryString == null || queryString.isEmpty()) {
+            return resourceUrl;
+        }
+        String url = resourceUrl.toString();
+        return URI.create(url + (url.contains("?") ? "&" : "?") + queryString.toString(true));
+    }
+
+    private static Response toResponse(HttpResponse<InputStream> httpResponse) {
+        java.net.http.HttpHeaders headers = httpResponse.headers();
+        String contentType = headers.firstValue(HttpHeaders.CONTENT_TYPE).orElse(null);
+        long contentLength = headers.firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(-1);
+
+        DefaultResponse response = new DefaultResponse(httpResponse.statusCode(),
+                Strings.hasText(contentType) ? MediaType.valueOf(contentType) : null,
+                httpResponse.body(), contentLength);
+        headers.map().forEach((name, values) -> {
+            // HTTP/2 pseudo headers (e.g. ":status") are not headers of the response
+            if (!name.startsWith(":")) {
+                values.forEach(value -> response.getHeaders().add(name, value));
+            }
+        });
+        return response;
+    }
+
+    private static HttpException failure(HttpRequest httpRequest, IOException e) {
+        // a request that timed out waiting for its response may have been processed, other failures are connection failures
+        boolean retryable = e instanceof HttpConnectTimeoutException || !(e instanceof HttpTimeoutException);
+        return new HttpException("Unable to execute HTTP request: " + httpRequest.uri(), e, retryable);
+    }
+
+    private static Duration timeout(HttpClientConfiguration httpClientConfiguration) {
+        int seconds = httpClientConfiguration.getConnectionTimeout();
+        return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+}
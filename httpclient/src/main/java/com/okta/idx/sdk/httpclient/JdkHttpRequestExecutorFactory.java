@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.httpclient;
+
+import com.okta.commons.http.RequestExecutor;
+import com.okta.commons.http.RequestExecutorFactory;
+import com.okta.commons.http.RetryRequestExecutor;
+import com.okta.commons.http.config.HttpClientConfiguration;
+
+/**
+ * Creates {@link JdkHttpRequestExecutor}s, with the same retry policy as the default OkHttp based executor.
+ * <p>
+ * Registered as a {@link RequestExecutorFactory} service, so it is used when this module is on the classpath in
+ * place of {@code okta-http-okhttp}.
+ */
+public final class JdkHttpRequestExecutorFactory implements RequestExecutorFactory {
+
+    @Override
+    public RequestExecutor create(HttpClientConfiguration httpClientConfiguration) {
+        return new RetryRequestExecutor(httpClientConfiguration, new JdkHttpRequestExecutor(httpClientConfiguration));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.httpclient
+
+import com.okta.commons.http.DefaultRequest
+import com.okta.commons.http.HttpHeaders
+import com.okta.commons.http.HttpMethod
+import com.okta.commons.http.Response
+import com.okta.commons.http.config.HttpClientConfiguration
+import com.okta.commons.http.config.Proxy
+import com.okta.idx.sdk.api.client.IDXAuthenticationWrapper
+import com.okta.idx.sdk.api.config.ClientConfiguration
+import com.okta.idx.sdk.api.model.AuthenticationOptions
+import com.okta.idx.sdk.api.model.AuthenticationStatus
+import com.okta.idx.sdk.api.response.AuthenticationResponse
+import com.okta.idx.sdk.simulator.IdxSimulator
+import com.okta.idx.sdk.simulator.IdxSimulatorServer
+import com.okta.idx.sdk.simulator.Scenario
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpHandler
+import com.sun.net.httpserver.HttpServer
+import org.testng.annotations.Test
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.contains
+import static org.hamcrest.Matchers.containsString
+import static org.hamcrest.Matchers.everyItem
+import static org.hamcrest.Matchers.is
+
+class JdkHttpRequestExecutorTest {
+
+    @Test
+    void testConcurrentLoginsShareOneClient() {
+
+        IdxSimulatorServer.start(IdxSimulator.builder().scenario(Scenario.PASSWORD_LOGIN), 0, 8).withCloseable { server ->
+            IDXAuthenticationWrapper wrapper = new IDXAuthenticationWrapper(getClientConfiguration(server),
+                    new JdkHttpRequestExecutor(new HttpClientConfiguration()))
+
+            ExecutorService executor = Executors.newFixedThreadPool(8)
+            try {
+                Callable<AuthenticationStatus> login = {
+                    AuthenticationResponse beginResponse = wrapper.begin()
+                    wrapper.authenticate(new AuthenticationOptions("username", "password".toCharArray()),
+                            beginResponse.getProceedContext()).getAuthenticationStatus()
+                } as Callable<AuthenticationStatus>
+                List<AuthenticationStatus> statuses = executor.invokeAll(Collections.nCopies(32, login))*.get()
+                assertThat(statuses, everyItem(is(AuthenticationStatus.SUCCESS)))
+            } finally {
+                executor.shutdown()
+            }
+        }
+    }
+
+    @Test
+    void testExecuteRequestAsync() {
+
+        IdxSimulatorServer.start(IdxSimulator.builder().scenario(Scenario.PASSWORD_LOGIN), 0, 2).withCloseable { server ->
+            JdkHttpRequestExecutor requestExecutor = new JdkHttpRequestExecutor(new HttpClientConfiguration())
+
+            HttpHeaders headers = new HttpHeaders()
+            headers.add("Content-Type", "application/x-www-form-urlencoded")
+            headers.add("Accept", "application/json")
+            byte[] body = ("client_id=test-client-id&client_secret=test-client-secret&scope=openid" +
+                    "&code_challenge=challenge&code_challenge_method=S256&state=state" +
+                    "&redirect_uri=http%3A%2F%2Flocalhost%3A8080%2Flogin%2Fcallback").getBytes(StandardCharsets.UTF_8)
+
+            Response response = requestExecutor.executeRequestAsync(new DefaultRequest(HttpMethod.POST,
+                    server.getBaseUrl() + "/oauth2/default/v1/interact", null, headers,
+                    new ByteArrayInputStream(body), body.length)).get()
+
+            assertThat(response.getHttpStatus(), is(200))
+            assertThat(response.getHeaders().getContentType().toString(), containsString("application/json"))
+            assertThat(response.getBody().getText(), containsString("interaction_handle"))
+        }
+    }
+
+    @Test(timeOut = 10000L)
+    void testBodyIsSentAgainAfterProxyAuthentication() {
+
+        List<String> receivedBodies = Collections.synchronizedList([])
+        HttpServer proxy = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+        proxy.createContext("/", { HttpExchange exchange ->
+            byte[] received = exchange.getRequestBody().readAllBytes()
+            receivedBodies.add(new String(received, StandardCharsets.UTF_8))
+            if (exchange.getRequestHeaders().getFirst("Proxy-Authorization") == null) {
+                exchange.getResponseHeaders().add("Proxy-Authenticate", "Basic realm=\"proxy\"")
+                exchange.sendResponseHeaders(407, -1)
+            } else {
+                exchange.sendResponseHeaders(200, received.length)
+                exchange.getResponseBody().write(received)
+            }
+            exchange.close()
+        } as HttpHandler)
+        proxy.start()
+        try {
+            HttpClientConfiguration httpClientConfiguration = new HttpClientConfiguration()
+            httpClientConfiguration.setProxy(new Proxy("localhost", proxy.getAddress().getPort(), "user", "secret"))
+            JdkHttpRequestExecutor requestExecutor = new JdkHttpRequestExecutor(httpClientConfiguration)
+
+            byte[] body = "client_id=test-client-id".getBytes(StandardCharsets.UTF_8)
+            Response response = requestExecutor.executeRequest(new DefaultRequest(HttpMethod.POST,
+                    "http://idx.example.com/oauth2/default/v1/interact", null, new HttpHeaders(),
+                    new ByteArrayInputStream(body), body.length))
+
+            assertThat(response.getHttpStatus(), is(200))
+            assertThat(response.getBody().getText(), is("client_id=test-client-id"))
+            assertThat(receivedBodies, contains("client_id=test-client-id", "client_id=test-client-id"))
+        } finally {
+            proxy.stop(0)
+        }
+    }
+
+    static ClientConfiguration getClientConfiguration(IdxSimulatorServer server) {
+        ClientConfiguration clientConfiguration = new ClientConfiguration()
+        clientConfiguration.setIssuer(server.getBaseUrl() + "/oauth2/default")
+        clientConfiguration.setClientId("test-client-id")
+        clientConfiguration.setClientSecret("test-client-secret")
+        clientConfiguration.setScopes(["openid", "profile"] as Set)
+        clientConfiguration.setRedirectUri("http://localhost:8080/login/callback")
+        return clientConfiguration
+    }
+}
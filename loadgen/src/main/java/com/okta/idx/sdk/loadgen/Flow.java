@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.loadgen;
+
+import com.okta.idx.sdk.api.client.Authenticator;
+import com.okta.idx.sdk.api.model.AuthenticationOptions;
+import com.okta.idx.sdk.api.model.AuthenticationStatus;
+import com.okta.idx.sdk.api.model.UserProfile;
+import com.okta.idx.sdk.api.model.VerifyAuthenticatorOptions;
+import com.okta.idx.sdk.api.response.AuthenticationResponse;
+import com.okta.idx.sdk.simulator.Scenario;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The login-tier journeys the load generator can drive, each a fixed sequence of named
+ * {@link com.okta.idx.sdk.api.client.IDXAuthenticationWrapper} calls.
+ */
+enum Flow {
+
+    /** {@code begin} then {@code authenticate} with username and password. */
+    PASSWORD("password", Scenario.PASSWORD_LOGIN) {
+        @Override
+        AuthenticationResponse run(FlowRun run) {
+            AuthenticationResponse response = run.step("begin", wrapper -> wrapper.begin());
+            return run.step("authenticate", wrapper -> wrapper.authenticate(
+                    new AuthenticationOptions(run.getUsername(), run.getPassword()), response.getProceedContext()));
+        }
+    },
+
+    /** Identifier first, then select and verify the email authenticator. */
+    IDENTIFY_FIRST("identify-first", Scenario.EMAIL_MFA) {
+        @Override
+        AuthenticationResponse run(FlowRun run) {
+            AuthenticationResponse response = run.step("begin", wrapper -> wrapper.begin());
+            AuthenticationResponse identified = run.step("authenticate", wrapper -> wrapper.authenticate(
+                    new AuthenticationOptions(run.getUsername(), run.getPassword()), response.getProceedContext()));
+            AuthenticationResponse selected = run.step("selectAuthenticator", wrapper -> wrapper.selectAuthenticator(
+                    identified.getProceedContext(), authenticator(identified, "email")));
+            return run.step("verifyAuthenticator", wrapper -> wrapper.verifyAuthenticator(
+                    selected.getProceedContext(), new VerifyAuthenticatorOptions(run.getCode())));
+        }
+    },
+
+    /** Self-service registration enrolling password and email, skipping optional authenticators. */
+    REGISTER("register", Scenario.REGISTRATION) {
+        @Override
+        AuthenticationResponse run(FlowRun run) {
+            AuthenticationResponse begin = run.step("begin", wrapper -> wrapper.begin());
+            AuthenticationResponse form = run.step("fetchSignUpFormValues",
+                    wrapper -> wrapper.fetchSignUpFormValues(begin.getProceedContext()));
+            UserProfile userProfile = new UserProfile();
+            userProfile.addAttribute("email", run.getUsername());
+            userProfile.addAttribute("firstName", "Load");
+            userProfile.addAttribute("lastName", "Test");
+            AuthenticationResponse registered = run.step("register",
+                    wrapper -> wrapper.register(form.getProceedContext(), userProfile));
+            AuthenticationResponse password = run.step("selectAuthenticator", wrapper -> wrapper.selectAuthenticator(
+                    registered.getProceedContext(), authenticator(registered, "password")));
+            AuthenticationResponse passwordSet = run.step("verifyAuthenticator", wrapper -> wrapper.verifyAuthenticator(
+                    password.getProceedContext(), new VerifyAuthenticatorOptions(new String(run.getPassword()))));
+            AuthenticationResponse email = run.step("selectAuthenticator", wrapper -> wrapper.selectAuthenticator(
+                    passwordSet.getProceedContext(), authenticator(passwordSet, "email")));
+            AuthenticationResponse emailVerified = run.step("verifyAuthenticator", wrapper -> wrapper.verifyAuthenticator(
+                    email.getProceedContext(), new VerifyAuthenticatorOptions(run.getCode())));
+            if (emailVerified.getAuthenticationStatus() == AuthenticationStatus.SUCCESS) {
+                return emailVerified;
+            }
+            return run.step("skipAuthenticatorEnrollment",
+                    wrapper -> wrapper.skipAuthenticatorEnrollment(emailVerified.getProceedContext()));
+        }
+    },
+
+    /** {@code begin} then {@code recoverPassword}, up to the authenticator selection. */
+    RECOVER_PASSWORD("recover", Scenario.PASSWORD_RECOVERY) {
+        @Override
+        AuthenticationResponse run(FlowRun run) {
+            AuthenticationResponse response = run.step("begin", wrapper -> wrapper.begin());
+            return run.step("recoverPassword",
+                    wrapper -> wrapper.recoverPassword(run.getUsername(), response.getProceedContext()));
+        }
+    },
+
+    /** Identifier first, select the email authenticator, then {@code poll} until the challenge completes. */
+    POLL("poll", Scenario.EMAIL_POLL) {
+        @Override
+        AuthenticationResponse run(FlowRun run) {
+            AuthenticationResponse response = run.step("begin", wrapper -> wrapper.begin());
+            AuthenticationResponse identified = run.step("authenticate", wrapper -> wrapper.authenticate(
+                    new AuthenticationOptions(run.getUsername(), run.getPassword()), response.getProceedContext()));
+            AuthenticationResponse current = run.step("selectAuthenticator", wrapper -> wrapper.selectAuthenticator(
+                    identified.getProceedContext(), authenticator(identified, "email")));
+            for (int i = 0; i < run.getMaxPolls()
+                    && current.getAuthenticationStatus() == AuthenticationStatus.AWAITING_AUTHENTICATOR_VERIFICATION; i++) {
+                sleep(run.getPollIntervalMillis());
+                AuthenticationResponse pending = current;
+                current = run.step("poll", wrapper -> wrapper.poll(pending.getProceedContext()));
+            }
+            return current;
+        }
+    };
+
+    private final String id;
+    private final String scenario;
+
+    Flow(String id, String scenario) {
+        this.id = id;
+        this.scenario = scenario;
+    }
+
+    /**
+     * Runs the journey, timing every step through {@code run}.
+     *
+     * @param run the timing and configuration for this execution
+     * @return the last response of the journey
+     */
+    abstract AuthenticationResponse run(FlowRun run);
+
+    String getId() {
+        return id;
+    }
+
+    /**
+     * @return the simulator scenario that serves this journey
+     */
+    String getScenario() {
+        return scenario;
+    }
+
+    static Flow fromId(String id) {
+        for (Flow flow : values()) {
+            if (flow.id.equalsIgnoreCase(id)) {
+                return flow;
+            }
+        }
+        throw new IllegalArgumentException("Unknown flow '" + id + "'");
+    }
+
+    private static Authenticator authenticator(AuthenticationResponse response, String type) {
+        List<Authenticator> authenticators = response.getAuthenticators();
+        if (authenticators == null || authenticators.isEmpty()) {
+            throw new FlowRun.StepFailedException("No authenticators offered");
+        }
+        for (Authenticator authenticator : authenticators) {
+            if (type.equalsIgnoreCase(authenticator.getType()) || type.equalsIgnoreCase(authenticator.getLabel())) {
+                return authenticator;
+            }
+        }
+        return authenticators.get(0);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.loadgen;
+
+import com.okta.idx.sdk.api.client.IDXAuthenticationWrapper;
+import com.okta.idx.sdk.api.response.AuthenticationResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * One execution of a {@link Flow}: runs its steps against a wrapper and records how long each took.
+ * <p>
+ * The first step is timed from the moment the flow was <em>scheduled</em> to start, not from when a worker got
+ * to it. Under an open-loop arrival rate that is what corrects for coordinated omission: if the system stalls and
+ * arrivals queue up, the wait shows up in the latencies instead of silently lowering the request rate.
+ */
+final class FlowRun {
+
+    private final Flow flow;
+    private final IDXAuthenticationWrapper wrapper;
+    private final LoadOptions options;
+    private final LoadResults results;
+    private final long scheduledStartNanos;
+    private boolean started;
+
+    /**
+     * @param results where to record latencies, or {@code null} during warm-up
+     */
+    FlowRun(Flow flow, IDXAuthenticationWrapper wrapper, LoadOptions options, LoadResults results, long scheduledStartNanos) {
+        this.flow = flow;
+        this.wrapper = wrapper;
+        this.options = options;
+        this.results = results;
+        this.scheduledStartNanos = scheduledStartNanos;
+    }
+
+    /**
+     * Runs the flow to completion and records its outcome under the final authentication status, or under
+     * {@code error} if a step failed.
+     */
+    void execute() {
+        String status;
+        try {
+            AuthenticationResponse response = flow.run(this);
+            status = response.getAuthenticationStatus() != null ? response.getAuthenticationStatus().toString() : "none";
+        } catch (RuntimeException e) {
+            status = LoadResults.ERROR;
+            if (results != null) {
+                results.recordError(flow, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            }
+        }
+        if (results != null) {
+            results.recordFlow(flow, status, micros(scheduledStartNanos));
+        }
+    }
+
+    AuthenticationResponse step(String name, Function<IDXAuthenticationWrapper, AuthenticationResponse> call) {
+        long start = started ? System.nanoTime() : scheduledStartNanos;
+        started = true;
+        AuthenticationResponse response;
+        try {
+            response = call.apply(wrapper);
+        } finally {
+            if (results != null) {
+                results.recordStep(flow, name, micros(start));
+            }
+        }
+        if (response == null) {
+            throw new StepFailedException(name + " returned no response");
+        }
+        List<String> errors = response.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            throw new StepFailedException(name + ": " + String.join(", ", errors));
+        }
+        return response;
+    }
+
+    String getUsername() {
+        return options.getUsername();
+    }
+
+    char[] getPassword() {
+        return options.getPassword().toCharArray();
+    }
+
+    String getCode() {
+        return options.getCode();
+    }
+
+    int getMaxPolls() {
+        return options.getMaxPolls();
+    }
+
+    long getPollIntervalMillis() {
+        return options.getPollInterval().toMillis();
+    }
+
+    private static long micros(long sinceNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sinceNanos);
+    }
+
+    /**
+     * A step answered with errors; the rest of the flow cannot continue.
+     */
+    static final class StepFailedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        StepFailedException(String message) {
+            super(message);
+        }
+    }
+}
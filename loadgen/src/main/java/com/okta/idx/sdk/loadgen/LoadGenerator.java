@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.loadgen;
+
+import com.okta.idx.sdk.api.client.IDXAuthenticationWrapper;
+import com.okta.idx.sdk.api.config.ClientConfiguration;
+import com.okta.idx.sdk.simulator.IdxSimulator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link IDXAuthenticationWrapper} flows at a fixed arrival rate and reports latency percentiles per step
+ * and per final {@link com.okta.idx.sdk.api.model.AuthenticationStatus}.
+ * <p>
+ * Arrivals are open-loop: flow {@code n} is scheduled at {@code start + n / rate} whether or not earlier flows
+ * have finished, and its latency is measured from that scheduled time. A slow server therefore shows up as a
+ * growing backlog and long tail latencies, rather than as a load generator that quietly slows down with it.
+ * <p>
+ * Without {@code --issuer} every flow runs against an in-process {@link IdxSimulator} serving the matching
+ * scenario, so runs are reproducible on a laptop; with it, the flows go to that authorization server.
+ */
+public final class LoadGenerator {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final LoadOptions options;
+
+    LoadGenerator(LoadOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run().print(System.out);
+    }
+
+    LoadResults run() {
+        Map<Flow, IDXAuthenticationWrapper> wrappers = new EnumMap<>(Flow.class);
+        options.getMix().keySet().forEach(flow -> wrappers.put(flow, wrapper(flow)));
+        Flow[] flows = weightedFlows(options.getMix());
+        Random random = options.getSeed() != null ? new Random(options.getSeed()) : new Random();
+
+        AtomicInteger workerIds = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(options.getThreads(), options.getThreads(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "idx-loadgen-" + workerIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.prestartAllCoreThreads();
+
+        LoadResults results = new LoadResults();
+        double periodNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+        int maxBacklog = 0;
+
+        for (long n = 0; ; n++) {
+            long scheduled = start + (long) (n * periodNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Flow flow = flows[random.nextInt(flows.length)];
+            boolean measured = scheduled >= measureFrom;
+            if (measured) {
+                results.recordScheduled();
+            }
+            FlowRun run = new FlowRun(flow, wrappers.get(flow), options, measured ? results : null, scheduled);
+            executor.execute(run::execute);
+            maxBacklog = Math.max(maxBacklog, executor.getQueue().size());
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        results.finish(options.getRate(), System.nanoTime() - measureFrom, maxBacklog);
+        return results;
+    }
+
+    private IDXAuthenticationWrapper wrapper(Flow flow) {
+        if (options.getIssuer() != null) {
+            return new IDXAuthenticationWrapper(options.getIssuer(), options.getClientId(), options.getClientSecret(),
+                    options.getScopes(), options.getRedirectUri());
+        }
+        IdxSimulator.Builder builder = IdxSimulator.builder()
+                .scenario(flow.getScenario())
+                .latency(options.getLatency(), options.getJitter())
+                .errorRate(options.getErrorRate());
+        if (options.getSeed() != null) {
+            builder.seed(options.getSeed());
+        }
+        IdxSimulator simulator = builder.build();
+
+        ClientConfiguration clientConfiguration = new ClientConfiguration();
+        clientConfiguration.setIssuer(simulator.getBaseUrl() + "/oauth2/default");
+        clientConfiguration.setClientId(options.getClientId());
+        clientConfiguration.setClientSecret(options.getClientSecret());
+        clientConfiguration.setScopes(options.getScopes());
+        clientConfiguration.setRedirectUri(options.getRedirectUri());
+        return new IDXAuthenticationWrapper(clientConfiguration, simulator);
+    }
+
+    /**
+     * Expands the mix into an array where each flow appears as often as its weight, so picking a flow is a
+     * single random index.
+     */
+    private static Flow[] weightedFlows(Map<Flow, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Flow[] flows = new Flow[total];
+        int i = 0;
+        for (Map.Entry<Flow, Integer> entry : mix.entrySet()) {
+            for (int w = 0; w < entry.getValue(); w++) {
+                flows[i++] = entry.getKey();
+            }
+        }
+        return flows;
+    }
+}
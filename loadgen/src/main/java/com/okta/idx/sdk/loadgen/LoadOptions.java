@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.loadgen;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of the {@link LoadGenerator}, given as {@code --name value} pairs.
+ */
+final class LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LoadGenerator [options]",
+            "",
+            "Load:",
+            "  --rate <flows/s>          open-loop arrival rate (default 50)",
+            "  --duration <seconds>      measured run time (default 30)",
+            "  --warmup <seconds>        unmeasured run time before that (default 5)",
+            "  --threads <n>             concurrent flows (default 64)",
+            "  --mix <flow:weight,...>   flows to run: password, identify-first, register, recover, poll",
+            "                            (default password:1)",
+            "  --seed <n>                seed for the flow mix and the simulator",
+            "",
+            "Target (in-process simulator unless --issuer is given):",
+            "  --issuer <url>            authorization server issuer of a real org or a running simulator",
+            "  --client-id <id>, --client-secret <secret>, --scopes <a,b>, --redirect-uri <url>",
+            "  --latency <ms>            simulator base latency (default 20)",
+            "  --jitter <ms>             simulator extra random latency (default 10)",
+            "  --error-rate <0..1>       simulator injected 500 rate (default 0)",
+            "",
+            "Flow input:",
+            "  --username <name>, --password <password>, --code <verification code>",
+            "  --max-polls <n>           polls before giving up on a challenge (default 10)",
+            "  --poll-interval <ms>      wait between polls (default 0)");
+
+    private static final Set<String> OPTIONS = new HashSet<>(Arrays.asList(
+            "rate", "duration", "warmup", "threads", "mix", "seed", "issuer", "client-id", "client-secret", "scopes",
+            "redirect-uri", "latency", "jitter", "error-rate", "username", "password", "code", "max-polls",
+            "poll-interval"));
+
+    private double rate = 50;
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration warmup = Duration.ofSeconds(5);
+    private int threads = 64;
+    private Map<Flow, Integer> mix = Collections.singletonMap(Flow.PASSWORD, 1);
+    private Long seed;
+    private String issuer;
+    private String clientId = "loadgen";
+    private String clientSecret = "loadgen-secret";
+    private Set<String> scopes = new HashSet<>(Arrays.asList("openid", "profile"));
+    private String redirectUri = "http://localhost:8080/authorization-code/callback";
+    private Duration latency = Duration.ofMillis(20);
+    private Duration jitter = Duration.ofMillis(10);
+    private double errorRate;
+    private String username = "loadtest@example.com";
+    private String password = "Abcd1234!";
+    private String code = "123456";
+    private int maxPolls = 10;
+    private Duration pollInterval = Duration.ZERO;
+
+    static LoadOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+            if (name == null || !OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option '" + args[i] + "'");
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for '" + args[i] + "'");
+            }
+            values.put(name, args[++i]);
+        }
+
+        LoadOptions options = new LoadOptions();
+        try {
+            options.rate = Double.parseDouble(values.getOrDefault("rate", String.valueOf(options.rate)));
+            options.duration = seconds(values, "duration", options.duration);
+            options.warmup = seconds(values, "warmup", options.warmup);
+            options.threads = Integer.parseInt(values.getOrDefault("threads", String.valueOf(options.threads)));
+            options.seed = values.containsKey("seed") ? Long.valueOf(values.get("seed")) : null;
+            options.latency = millis(values, "latency", options.latency);
+            options.jitter = millis(values, "jitter", options.jitter);
+            options.errorRate = Double.parseDouble(values.getOrDefault("error-rate", String.valueOf(options.errorRate)));
+            options.maxPolls = Integer.parseInt(values.getOrDefault("max-polls", String.valueOf(options.maxPolls)));
+            options.pollInterval = millis(values, "poll-interval", options.pollInterval);
+            if (values.containsKey("mix")) {
+                options.mix = parseMix(values.get("mix"));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + e.getMessage(), e);
+        }
+        if (values.containsKey("scopes")) {
+            options.scopes = new HashSet<>(Arrays.asList(values.get("scopes").split(",")));
+        }
+        options.issuer = values.getOrDefault("issuer", options.issuer);
+        options.clientId = values.getOrDefault("client-id", options.clientId);
+        options.clientSecret = values.getOrDefault("client-secret", options.clientSecret);
+        options.redirectUri = values.getOrDefault("redirect-uri", options.redirectUri);
+        options.username = values.getOrDefault("username", options.username);
+        options.password = values.getOrDefault("password", options.password);
+        options.code = values.getOrDefault("code", options.code);
+
+        if (options.rate <= 0 || options.threads <= 0 || options.duration.isZero() || options.duration.isNegative()) {
+            throw new IllegalArgumentException("rate, threads and duration must be positive");
+        }
+        return options;
+    }
+
+    private static Duration seconds(Map<String, String> values, String name, Duration defaultValue) {
+        return values.containsKey(name) ? Duration.ofSeconds(Long.parseLong(values.get(name))) : defaultValue;
+    }
+
+    private static Duration millis(Map<String, String> values, String name, Duration defaultValue) {
+        return values.containsKey(name) ? Duration.ofMillis(Long.parseLong(values.get(name))) : defaultValue;
+    }
+
+    private static Map<Flow, Integer> parseMix(String mix) {
+        Map<Flow, Integer> weights = new EnumMap<>(Flow.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Flow weights must be positive");
+            }
+            weights.put(Flow.fromId(parts[0].trim()), weight);
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+    double getRate() {
+        return rate;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    Map<Flow, Integer> getMix() {
+        return mix;
+    }
+
+    Long getSeed() {
+        return seed;
+    }
+
+    String getIssuer() {
+        return issuer;
+    }
+
+    String getClientId() {
+        return clientId;
+    }
+
+    String getClientSecret() {
+        return clientSecret;
+    }
+
+    Set<String> getScopes() {
+        return scopes;
+    }
+
+    String getRedirectUri() {
+        return redirectUri;
+    }
+
+    Duration getLatency() {
+        return latency;
+    }
+
+    Duration getJitter() {
+        return jitter;
+    }
+
+    double getErrorRate() {
+        return errorRate;
+    }
+
+    String getUsername() {
+        return username;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    String getCode() {
+        return code;
+    }
+
+    int getMaxPolls() {
+        return maxPolls;
+    }
+
+    Duration getPollInterval() {
+        return pollInterval;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.loadgen;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms of a run, per flow step and per flow outcome.
+ */
+final class LoadResults {
+
+    static final String ERROR = "error";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final int MAX_ERROR_MESSAGES = 5;
+
+    private final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> outcomes = new ConcurrentHashMap<>();
+    private final Queue<String> stepOrder = new ConcurrentLinkedQueue<>();
+    private final Queue<String> outcomeOrder = new ConcurrentLinkedQueue<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicLong scheduled = new AtomicLong();
+
+    private volatile double targetRate;
+    private volatile long elapsedNanos;
+    private volatile int maxBacklog;
+
+    void recordStep(Flow flow, String step, long micros) {
+        histogram(steps, stepOrder, key(flow, step)).record(micros);
+    }
+
+    void recordFlow(Flow flow, String status, long micros) {
+        histogram(outcomes, outcomeOrder, key(flow, status)).record(micros);
+    }
+
+    void recordError(Flow flow, String message) {
+        String key = key(flow, message);
+        if (errors.containsKey(key) || errors.size() < MAX_ERROR_MESSAGES) {
+            errors.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    void recordScheduled() {
+        scheduled.incrementAndGet();
+    }
+
+    void finish(double targetRate, long elapsedNanos, int maxBacklog) {
+        this.targetRate = targetRate;
+        this.elapsedNanos = elapsedNanos;
+        this.maxBacklog = maxBacklog;
+    }
+
+    LatencyHistogram getStep(Flow flow, String step) {
+        return steps.get(key(flow, step));
+    }
+
+    LatencyHistogram getOutcome(Flow flow, String status) {
+        return outcomes.get(key(flow, status));
+    }
+
+    long getScheduledCount() {
+        return scheduled.get();
+    }
+
+    void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("Target %.1f flows/s, scheduled %d measured flows in %.1f s (%.1f/s), max backlog %d%n",
+                targetRate, scheduled.get(), seconds, seconds > 0 ? scheduled.get() / seconds : 0, maxBacklog);
+        out.println("Latencies in ms from each flow's scheduled start (corrected for coordinated omission)");
+        out.println();
+        printTable(out, "step", steps, stepOrder);
+        out.println();
+        printTable(out, "outcome", outcomes, outcomeOrder);
+        if (!errors.isEmpty()) {
+            out.println();
+            out.println("Errors (first " + MAX_ERROR_MESSAGES + " distinct)");
+            errors.forEach((key, count) -> out.printf("  %8d  %s%n", count.sum(), key.replace('\t', ' ')));
+        }
+    }
+
+    private static void printTable(PrintStream out, String column, Map<String, LatencyHistogram> histograms,
+                                   Queue<String> order) {
+        out.printf("%-16s %-40s %9s", "flow", column, "count");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9s", "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : percentile));
+        }
+        out.printf(" %9s%n", "max");
+        List<String> keys = new ArrayList<>(order);
+        // first-seen order within a flow, flows in declaration order
+        keys.sort(Comparator.comparingInt(key -> Flow.fromId(key.substring(0, key.indexOf('\t'))).ordinal()));
+        for (String key : keys) {
+            LatencyHistogram histogram = histograms.get(key);
+            String[] parts = key.split("\t", 2);
+            out.printf("%-16s %-40s %9d", parts[0], parts[1], histogram.getCount());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.2f", histogram.percentile(percentile) / 1000.0);
+            }
+            out.printf(" %9.2f%n", histogram.getMax() / 1000.0);
+        }
+    }
+
+    private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, Queue<String> order, String key) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            LatencyHistogram created = new LatencyHistogram();
+            histogram = histograms.putIfAbsent(key, created);
+            if (histogram == null) {
+                histogram = created;
+                order.add(key);
+            }
+        }
+        return histogram;
+    }
+
+    private static String key(Flow flow, String name) {
+        return flow.getId() + "\t" + name;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.loadgen
+
+import com.okta.idx.sdk.api.model.AuthenticationStatus
+import org.testng.annotations.Test
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.closeTo
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.notNullValue
+
+class LoadGeneratorTest {
+
+    @Test
+    void testHistogramPercentiles() {
+
+        LatencyHistogram histogram = new LatencyHistogram()
+        (1..100_000).each { histogram.record(it) }
+
+        assertThat(histogram.getCount(), is(100_000L))
+        assertThat(histogram.getMax(), is(100_000L))
+        assertThat((double) histogram.percentile(50), closeTo(50_000d, 1_000d))
+        assertThat((double) histogram.percentile(99), closeTo(99_000d, 2_000d))
+        assertThat(histogram.percentile(100), is(100_000L))
+    }
+
+    @Test
+    void testHistogramBucketsAreContiguous() {
+
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyHistogram.index(value)
+            assertThat(value <= LatencyHistogram.highestEquivalentValue(index), is(true))
+            assertThat(index == 0 || value > LatencyHistogram.highestEquivalentValue(index - 1), is(true))
+        }
+    }
+
+    @Test
+    void testRunAgainstSimulator() {
+
+        LoadOptions options = LoadOptions.parse(
+                "--rate", "100", "--duration", "1", "--warmup", "0", "--threads", "8",
+                "--latency", "0", "--jitter", "0", "--mix", "password:3,poll:1", "--seed", "42")
+
+        LoadResults results = new LoadGenerator(options).run()
+
+        long password = results.getOutcome(Flow.PASSWORD, AuthenticationStatus.SUCCESS.toString()).getCount()
+        long poll = results.getOutcome(Flow.POLL, AuthenticationStatus.SUCCESS.toString()).getCount()
+        assertThat(results.getScheduledCount(), is(100L))
+        assertThat(password + poll, is(100L))
+        assertThat(results.getStep(Flow.PASSWORD, "authenticate").getCount(), is(password))
+        assertThat(results.getStep(Flow.POLL, "poll"), notNullValue())
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testUnknownOption() {
+        LoadOptions.parse("--rate", "10", "--bogus", "1")
+    }
+}
@@ -18,7 +18,6 @@ package com.okta.spring.example.config;
 import com.okta.idx.sdk.api.client.IDXAuthenticationWrapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class ApplicationConfig {
@@ -32,14 +31,4 @@ public class ApplicationConfig {
     public IDXAuthenticationWrapper idxAuthenticationWrapper() {
         return new IDXAuthenticationWrapper();
     }
-
-    /**
-     * The rest template bean definition.
-     *
-     * @return the rest template
-     */
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
 }
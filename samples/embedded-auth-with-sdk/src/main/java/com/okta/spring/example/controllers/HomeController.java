@@ -266,10 +266,9 @@ public class HomeController {
      */
     @GetMapping("/register")
     public ModelAndView displayRegisterPage(final HttpSession session) {
-        AuthenticationResponse authenticationResponse = begin(session);
-
-        authenticationResponse =
-                authenticationWrapper.fetchSignUpFormValues(authenticationResponse.getProceedContext());
+        // the form is submitted in a new transaction (see LoginController#register)
+        AuthenticationResponse authenticationResponse =
+                authenticationWrapper.fetchSignUpFormSchema(Util.constructRequestContext());
 
         ModelAndView modelAndView = new ModelAndView("register");
 
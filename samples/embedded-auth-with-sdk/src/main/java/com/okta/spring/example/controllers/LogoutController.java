@@ -41,7 +41,7 @@ public class LogoutController {
     private IDXAuthenticationWrapper idxAuthenticationWrapper;
 
     /**
-     * Handle logout by revoking the access token and invalidating the session.
+     * Handle logout by revoking the access and refresh tokens and invalidating the session.
      *
      * @param session the session
      * @return the redirection to login view
@@ -55,10 +55,13 @@ public class LogoutController {
                 (TokenResponse) session.getAttribute("tokenResponse");
 
         if (tokenResponse != null) {
-            String accessToken = tokenResponse.getAccessToken();
-            // revoke access token
+            // revoke tokens in the background, the user does not need to wait for it
             logger.info("Revoking access token");
-            idxAuthenticationWrapper.revokeToken(TokenType.ACCESS_TOKEN, accessToken);
+            idxAuthenticationWrapper.revokeTokenAsync(TokenType.ACCESS_TOKEN, tokenResponse.getAccessToken());
+            if (tokenResponse.getRefreshToken() != null) {
+                logger.info("Revoking refresh token");
+                idxAuthenticationWrapper.revokeTokenAsync(TokenType.REFRESH_TOKEN, tokenResponse.getRefreshToken());
+            }
         }
 
         // invalidate session
@@ -15,27 +15,19 @@
  */
 package com.okta.spring.example.helpers;
 
-import com.okta.commons.lang.Assert;
+import com.okta.idx.sdk.api.client.IDXAuthenticationWrapper;
 import com.okta.idx.sdk.api.response.TokenResponse;
+import com.okta.idx.sdk.api.response.UserInfoResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.ModelAndView;
 
 import javax.servlet.http.HttpSession;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-import static com.okta.idx.sdk.api.util.ClientUtil.normalizedIssuerUri;
-
 @Component
 public class HomeHelper {
 
@@ -45,16 +37,10 @@ public class HomeHelper {
     private final Logger logger = LoggerFactory.getLogger(HomeHelper.class);
 
     /**
-     * The issuer url.
-     */
-    @Value("${okta.idx.issuer}")
-    private String issuer;
-
-    /**
-     * rest template.
+     * idx authentication wrapper instance.
      */
     @Autowired
-    private RestTemplate restTemplate;
+    private IDXAuthenticationWrapper idxAuthenticationWrapper;
 
     /**
      * Go to the home page, setting the session, and creating the view.
@@ -64,7 +50,7 @@ public class HomeHelper {
      */
     public ModelAndView proceedToHome(final TokenResponse tokenResponse, final HttpSession session) {
 
-        Map<String, String> claims = new LinkedHashMap<>();
+        Map<String, Object> claims = new LinkedHashMap<>();
 
         // success
         ModelAndView mav = new ModelAndView("home");
@@ -73,22 +59,11 @@ public class HomeHelper {
         String user = null;
 
         try {
-            // get user claim info from /v1/userinfo endpoint
-            String userInfoUrl = normalizedIssuerUri(issuer, "/v1/userinfo");
-
-            HttpHeaders httpHeaders = new HttpHeaders();
-            httpHeaders.setBearerAuth(tokenResponse.getAccessToken());
-
-            HttpEntity<String> requestEntity = new HttpEntity<>(null, httpHeaders);
-
-            ParameterizedTypeReference<Map<String, String>> responseType =
-                    new ParameterizedTypeReference<Map<String, String>>() { };
-            ResponseEntity<Map<String, String>> responseEntity =
-                    restTemplate.exchange(userInfoUrl, HttpMethod.GET, requestEntity, responseType);
+            // get user claim info from /v1/userinfo endpoint (cached by the SDK until the token expires)
+            UserInfoResponse userInfo = idxAuthenticationWrapper.getUserInfo(tokenResponse.getAccessToken());
 
-            claims = responseEntity.getBody();
-            Assert.notNull(claims, "claims cannot be null");
-            user = claims.get("preferred_username");
+            claims = userInfo.getClaims();
+            user = userInfo.getPreferredUsername();
         } catch (Exception e) {
             logger.error("Error retrieving profile from user info endpoint", e);
         }
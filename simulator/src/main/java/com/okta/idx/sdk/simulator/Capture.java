@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+
+/**
+ * One recorded exchange, stored as a single line of JSON in a capture file.
+ * <p>
+ * Field names are kept to one or two characters since a capture repeats them on every line:
+ * <ul>
+ *     <li>{@code o} - offset from the start of the recording, in milliseconds</li>
+ *     <li>{@code d} - time the server took to answer, in microseconds</li>
+ *     <li>{@code m}, {@code p}, {@code q} - method, path and (redacted) query</li>
+ *     <li>{@code b} - redacted request body</li>
+ *     <li>{@code s}, {@code c} - response status and content type</li>
+ *     <li>{@code r} - redacted response body, or {@code n} - its size when the body is not JSON</li>
+ * </ul>
+ */
+final class Capture {
+
+    static final String FORMAT = "okta-idx-capture";
+    static final int VERSION = 1;
+
+    final long offsetMillis;
+    final long durationMicros;
+    final String method;
+    final String path;
+    final String query;
+    final String requestBody;
+    final int status;
+    final String contentType;
+    final String responseBody;
+    final int responseSize;
+
+    Capture(long offsetMillis, long durationMicros, String method, String path, String query, String requestBody,
+            int status, String contentType, String responseBody, int responseSize) {
+        this.offsetMillis = offsetMillis;
+        this.durationMicros = durationMicros;
+        this.method = method;
+        this.path = path;
+        this.query = query;
+        this.requestBody = requestBody;
+        this.status = status;
+        this.contentType = contentType;
+        this.responseBody = responseBody;
+        this.responseSize = responseSize;
+    }
+
+    static String header(ObjectMapper objectMapper) throws IOException {
+        ObjectNode header = objectMapper.createObjectNode();
+        header.put("format", FORMAT);
+        header.put("version", VERSION);
+        return objectMapper.writeValueAsString(header);
+    }
+
+    String toLine(ObjectMapper objectMapper) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("o", offsetMillis);
+        line.put("d", durationMicros);
+        line.put("m", method);
+        line.put("p", path);
+        if (query != null) {
+            line.put("q", query);
+        }
+        if (requestBody != null) {
+            line.put("b", requestBody);
+        }
+        line.put("s", status);
+        if (contentType != null) {
+            line.put("c", contentType);
+        }
+        if (responseBody != null) {
+            line.put("r", responseBody);
+        } else {
+            line.put("n", responseSize);
+        }
+        return objectMapper.writeValueAsString(line);
+    }
+
+    static Capture fromLine(JsonNode line) {
+        return new Capture(
+                line.path("o").asLong(),
+                line.path("d").asLong(),
+                line.path("m").asText(),
+                line.path("p").asText(),
+                line.path("q").asText(null),
+                line.path("b").asText(null),
+                line.path("s").asInt(),
+                line.path("c").asText(null),
+                line.path("r").asText(null),
+                line.path("n").asInt());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Removes secrets, tokens, handles and PII from captured payloads.
+ * <p>
+ * Redacted strings are replaced by the same number of {@code x} characters rather than dropped, so captures keep
+ * the shape and byte size of the real traffic they were taken from.
+ */
+final class CaptureRedactor {
+
+    /**
+     * JSON fields whose value is always redacted (compared case-insensitively).
+     */
+    private static final Set<String> SENSITIVE_FIELDS = lowerCase(
+            "stateHandle", "interactionHandle", "interaction_handle", "interaction_code", "code",
+            "access_token", "id_token", "refresh_token", "token", "device_secret",
+            "client_secret", "code_verifier", "password", "passcode", "answer", "secret", "totp",
+            "identifier", "username", "login", "email", "secondEmail", "phoneNumber", "sub", "name_id",
+            "name", "given_name", "family_name", "firstName", "lastName", "preferred_username", "nickname",
+            "address", "zoneinfo", "locale", "user", "profile", "credentials");
+
+    /**
+     * IDX form fields ({@code {"name": ..., "value": ...}}) whose {@code value} is redacted.
+     */
+    private static final Set<String> SENSITIVE_FORM_VALUES = lowerCase(
+            "stateHandle", "interaction_code", "identifier", "passcode", "password", "email", "phoneNumber",
+            "firstName", "lastName", "credentials");
+
+    /**
+     * Form parameters kept as-is; everything else in a form body is redacted.
+     */
+    private static final Set<String> PUBLIC_FORM_PARAMETERS = lowerCase(
+            "client_id", "grant_type", "scope", "redirect_uri", "code_challenge_method", "token_type_hint");
+
+    private static final Set<String> STRUCTURAL_FIELDS = lowerCase("rel", "href", "method", "accepts", "produces");
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s\"]+@[^@\\s\"]+\\.[A-Za-z]{2,}");
+
+    private CaptureRedactor() {
+    }
+
+    static JsonNode redactJson(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            boolean sensitiveFormValue = object.has("name") && object.has("value")
+                    && SENSITIVE_FORM_VALUES.contains(object.get("name").asText().toLowerCase(Locale.ROOT));
+            List<String> fields = new ArrayList<>();
+            object.fieldNames().forEachRemaining(fields::add);
+            for (String field : fields) {
+                JsonNode value = object.get(field);
+                boolean sensitive = SENSITIVE_FIELDS.contains(field.toLowerCase(Locale.ROOT)) && !isFormName(object, field)
+                        || sensitiveFormValue && "value".equals(field);
+                object.set(field, sensitive ? mask(value) : redactJson(value));
+            }
+        } else if (node.isArray()) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, redactJson(array.get(i)));
+            }
+        } else if (node.isTextual() && EMAIL.matcher(node.asText()).find()) {
+            return mask(node);
+        }
+        return node;
+    }
+
+    /**
+     * Remediation options and form fields also carry a {@code name}; those are part of the protocol, not a person.
+     */
+    private static boolean isFormName(ObjectNode object, String field) {
+        return "name".equals(field) && (object.has("value") || object.has("href") || object.has("form")
+                || object.has("type") || object.has("label"));
+    }
+
+    static String redactForm(String form) {
+        StringBuilder redacted = new StringBuilder(form.length());
+        for (String pair : form.split("&", -1)) {
+            if (redacted.length() > 0 || form.startsWith("&")) {
+                redacted.append('&');
+            }
+            int eq = pair.indexOf('=');
+            if (eq < 0 || PUBLIC_FORM_PARAMETERS.contains(pair.substring(0, eq).toLowerCase(Locale.ROOT))) {
+                redacted.append(pair);
+            } else {
+                redacted.append(pair, 0, eq + 1).append(filler(pair.length() - eq - 1));
+            }
+        }
+        return redacted.toString();
+    }
+
+    static String redactQuery(String query) {
+        return query == null ? null : redactForm(query);
+    }
+
+    /**
+     * Masks every string below {@code node}, keeping link metadata so replayed responses still navigate.
+     */
+    private static JsonNode mask(JsonNode node) {
+        if (node.isTextual()) {
+            return TextNode.valueOf(filler(node.asText().length()));
+        }
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            List<String> fields = new ArrayList<>();
+            object.fieldNames().forEachRemaining(fields::add);
+            for (String field : fields) {
+                if (!STRUCTURAL_FIELDS.contains(field.toLowerCase(Locale.ROOT))) {
+                    object.set(field, mask(object.get(field)));
+                }
+            }
+        } else if (node.isArray()) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, mask(array.get(i)));
+            }
+        }
+        return node;
+    }
+
+    static String filler(int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'x');
+        return new String(chars);
+    }
+
+    private static Set<String> lowerCase(String... values) {
+        Set<String> set = new HashSet<>();
+        for (String value : values) {
+            set.add(value.toLowerCase(Locale.ROOT));
+        }
+        return Collections.unmodifiableSet(set);
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okta.commons.http.DefaultResponse;
+import com.okta.commons.http.HttpException;
+import com.okta.commons.http.MediaType;
+import com.okta.commons.http.Request;
+import com.okta.commons.http.RequestExecutor;
+import com.okta.commons.http.Response;
+import com.okta.commons.lang.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link RequestExecutor} that answers IDX and OAuth 2.0 requests from a {@link Scenario} instead of
+ * going to an Okta org. Plug it into the SDK with
+ * {@link com.okta.idx.sdk.api.client.IDXAuthenticationWrapper#IDXAuthenticationWrapper(com.okta.idx.sdk.api.config.ClientConfiguration, RequestExecutor)}
+ * (using {@link #getBaseUrl()} as the issuer origin), or put it behind {@link IdxSimulatorServer} to drive it over
+ * HTTP.
+ * <p>
+ * Every {@code interact} call opens a new transaction with its own interaction handle, state handle and
+ * interaction code, so any number of logins can run concurrently against one instance. Latency, a random error
+ * rate and a per-endpoint rate limit (answered with {@code 429} and Okta's {@code X-Rate-Limit-*} headers) can be
+ * injected to see how callers behave under a slow or throttling server.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class IdxSimulator implements RequestExecutor {
+
+    private static final MediaType APPLICATION_JSON = MediaType.valueOf("application/json");
+    private static final MediaType APPLICATION_ION_JSON = MediaType.valueOf("application/ion+json; okta-version=1.0.0");
+
+    private static final String IDX_PATH = "/idp/idx/";
+    private static final String OAUTH2_PATH = "/v1/";
+
+    private final Scenario scenario;
+    private final String baseUrl;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final int rateLimitPerSecond;
+    private final Random random;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, Transaction> transactions = new ConcurrentHashMap<>();
+    private final Map<String, RateWindow> rateWindows = new ConcurrentHashMap<>();
+    private final AtomicLong transactionIds = new AtomicLong();
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder injectedErrorCount = new LongAdder();
+    private final LongAdder rateLimitedCount = new LongAdder();
+
+    private IdxSimulator(Builder builder) {
+        this.scenario = builder.scenario;
+        this.baseUrl = builder.baseUrl;
+        this.latencyMillis = builder.latency.toMillis();
+        this.jitterMillis = builder.jitter.toMillis();
+        this.errorRate = builder.errorRate;
+        this.rateLimitPerSecond = builder.rateLimitPerSecond;
+        this.random = builder.seed != null ? new Random(builder.seed) : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Response executeRequest(Request request) throws HttpException {
+        requestCount.increment();
+        String endpoint = endpoint(request.getResourceUrl().getPath());
+
+        simulateLatency();
+
+        if (rateLimitPerSecond > 0) {
+            Response throttled = throttle(endpoint);
+            if (throttled != null) {
+                return throttled;
+            }
+        }
+        if (errorRate > 0 && nextDouble() < errorRate) {
+            injectedErrorCount.increment();
+            return error(500, "server_error", "Injected failure.");
+        }
+        if ("revoke".equals(endpoint)) {
+            return new DefaultResponse(200, APPLICATION_JSON, new ByteArrayInputStream(new byte[0]), 0);
+        }
+        if ("userinfo".equals(endpoint)) {
+            return serve(endpoint, new Transaction(0));
+        }
+
+        String body = readBody(request);
+        Transaction transaction = "interact".equals(endpoint) ? newTransaction() : findTransaction(endpoint, body);
+        if (transaction == null) {
+            return error(401, "invalid_request", "The transaction is unknown or has already completed.");
+        }
+        Response response = serve(endpoint, transaction);
+        if ("token".equals(endpoint) || "cancel".equals(endpoint)) {
+            transactions.remove(transaction.id);
+        }
+        return response;
+    }
+
+    /**
+     * @return the origin the simulator writes into every link it returns, e.g. {@code https://idx-simulator.example.com}
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * @return the number of requests received so far
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the number of requests answered with an injected {@code 500}
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.sum();
+    }
+
+    /**
+     * @return the number of requests answered with {@code 429}
+     */
+    public long getRateLimitedCount() {
+        return rateLimitedCount.sum();
+    }
+
+    /**
+     * @return the number of transactions that have called {@code interact} but not yet {@code token} or {@code cancel}
+     */
+    public int getOpenTransactionCount() {
+        return transactions.size();
+    }
+
+    private Response serve(String endpoint, Transaction transaction) {
+        Scenario.Fixture fixture = scenario.fixture(endpoint, transaction.nextCall(endpoint));
+        if (fixture == null) {
+            return error(404, "not_found", "Scenario '" + scenario.getName() + "' does not cover " + endpoint + ".");
+        }
+        byte[] bytes = fixture.render(baseUrl, transaction.stateHandle, transaction.interactionHandle,
+                transaction.interactionCode).getBytes(StandardCharsets.UTF_8);
+        MediaType mediaType = endpoint.equals("interact") || endpoint.equals("token") || endpoint.equals("userinfo")
+                ? APPLICATION_JSON : APPLICATION_ION_JSON;
+        return new DefaultResponse(fixture.getStatus(), mediaType, new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    private Transaction newTransaction() {
+        Transaction transaction = new Transaction(transactionIds.incrementAndGet());
+        transactions.put(transaction.id, transaction);
+        return transaction;
+    }
+
+    private Transaction findTransaction(String endpoint, String body) {
+        String handle;
+        if ("token".equals(endpoint)) {
+            handle = formParameter(body, "interaction_code");
+        } else {
+            try {
+                JsonNode json = objectMapper.readTree(body);
+                handle = "introspect".equals(endpoint) && json.has("interactionHandle")
+                        ? json.get("interactionHandle").asText()
+                        : json.path("stateHandle").asText(null);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        Long id = Transaction.idOf(handle);
+        return id != null ? transactions.get(id) : null;
+    }
+
+    private Response throttle(String endpoint) {
+        long now = System.currentTimeMillis();
+        RateWindow window = rateWindows.computeIfAbsent(endpoint, key -> new RateWindow());
+        long resetSeconds = window.reset(now);
+        if (window.count.incrementAndGet() <= rateLimitPerSecond) {
+            return null;
+        }
+        rateLimitedCount.increment();
+        DefaultResponse response = (DefaultResponse) error(429, "too_many_requests",
+                "API call exceeded rate limit due to too many requests.");
+        response.getHeaders().set("X-Rate-Limit-Limit", String.valueOf(rateLimitPerSecond));
+        response.getHeaders().set("X-Rate-Limit-Remaining", "0");
+        response.getHeaders().set("X-Rate-Limit-Reset", String.valueOf(resetSeconds));
+        return response;
+    }
+
+    private void simulateLatency() {
+        long delay = latencyMillis;
+        if (jitterMillis > 0) {
+            delay += (long) (nextDouble() * jitterMillis);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private double nextDouble() {
+        if (random == null) {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+        synchronized (random) {
+            return random.nextDouble();
+        }
+    }
+
+    private static Response error(int status, String error, String description) {
+        String json = "{\"error\":\"" + error + "\",\"error_description\":\"" + description.replace("\"", "\\\"") + "\"}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return new DefaultResponse(status, APPLICATION_JSON, new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    static String endpoint(String path) {
+        int idx = path.indexOf(IDX_PATH);
+        if (idx >= 0) {
+            return path.substring(idx + IDX_PATH.length());
+        }
+        int oauth2 = path.lastIndexOf(OAUTH2_PATH);
+        return oauth2 >= 0 ? path.substring(oauth2 + OAUTH2_PATH.length()) : path;
+    }
+
+    private static String readBody(Request request) {
+        InputStream in = request.getBody();
+        if (in == null) {
+            return "";
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new HttpException("Unable to read simulated request body", e);
+        }
+    }
+
+    private static String formParameter(String body, String name) {
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                try {
+                    return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8.name());
+                } catch (UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Per-login state: the handles handed out on {@code interact} and how far along each endpoint's sequence the
+     * login is.
+     */
+    private static final class Transaction {
+
+        private static final String PREFIX = "sim-";
+
+        private final long id;
+        private final String interactionHandle;
+        private final String stateHandle;
+        private final String interactionCode;
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        Transaction(long id) {
+            this.id = id;
+            this.interactionHandle = PREFIX + id + "-ih";
+            this.stateHandle = PREFIX + id + "-sh";
+            this.interactionCode = PREFIX + id + "-code";
+        }
+
+        int nextCall(String endpoint) {
+            return calls.computeIfAbsent(endpoint, key -> new AtomicInteger()).getAndIncrement();
+        }
+
+        static Long idOf(String handle) {
+            if (handle == null || !handle.startsWith(PREFIX)) {
+                return null;
+            }
+            int end = handle.indexOf('-', PREFIX.length());
+            try {
+                return Long.parseLong(handle.substring(PREFIX.length(), end < 0 ? handle.length() : end));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Fixed one-second window, the granularity Okta reports in {@code X-Rate-Limit-Reset}.
+     */
+    private static final class RateWindow {
+
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+
+        long reset(long nowMillis) {
+            long current = nowMillis / 1000;
+            long previous = second.get();
+            if (previous != current && second.compareAndSet(previous, current)) {
+                count.set(0);
+            }
+            return current + 1;
+        }
+    }
+
+    public static final class Builder {
+
+        private Scenario scenario;
+        private String baseUrl = "https://idx-simulator.example.com";
+        private Duration latency = Duration.ZERO;
+        private Duration jitter = Duration.ZERO;
+        private double errorRate;
+        private int rateLimitPerSecond;
+        private Long seed;
+
+        private Builder() {
+        }
+
+        public Builder scenario(Scenario scenario) {
+            this.scenario = scenario;
+            return this;
+        }
+
+        public Builder scenario(String name) {
+            return scenario(Scenario.load(name));
+        }
+
+        /**
+         * @param baseUrl the origin written into links and used as the issuer origin, without a trailing slash
+         * @return this builder
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * @param latency fixed delay added to every request
+         * @param jitter upper bound of a uniformly distributed extra delay
+         * @return this builder
+         */
+        public Builder latency(Duration latency, Duration jitter) {
+            this.latency = latency;
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * @param errorRate fraction of requests, between 0 and 1, answered with a {@code 500}
+         * @return this builder
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * @param rateLimitPerSecond requests allowed per endpoint per second before answering {@code 429};
+         *                           0 disables the limit
+         * @return this builder
+         */
+        public Builder rateLimitPerSecond(int rateLimitPerSecond) {
+            this.rateLimitPerSecond = rateLimitPerSecond;
+            return this;
+        }
+
+        /**
+         * @param seed seed for latency jitter and error injection, to make runs repeatable
+         * @return this builder
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public IdxSimulator build() {
+            Assert.notNull(scenario, "scenario must be set");
+            Assert.hasText(baseUrl, "baseUrl must be set");
+            Assert.notNull(latency, "latency cannot be null");
+            Assert.notNull(jitter, "jitter cannot be null");
+            Assert.isTrue(!latency.isNegative() && !jitter.isNegative(), "latency and jitter cannot be negative");
+            Assert.isTrue(errorRate >= 0 && errorRate <= 1, "errorRate must be between 0 and 1");
+            Assert.isTrue(rateLimitPerSecond >= 0, "rateLimitPerSecond cannot be negative");
+            if (baseUrl.endsWith("/")) {
+                baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+            }
+            return new IdxSimulator(this);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator;
+
+import com.okta.commons.http.DefaultRequest;
+import com.okta.commons.http.HttpHeaders;
+import com.okta.commons.http.HttpMethod;
+import com.okta.commons.http.Request;
+import com.okta.commons.http.Response;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves an {@link IdxSimulator} over HTTP using the JDK's built-in server, so SDK instances in other processes
+ * (or load generators that are not Java) can point their issuer at it.
+ * <pre>
+ * IdxSimulatorServer server = IdxSimulatorServer.start(
+ *         IdxSimulator.builder().scenario(Scenario.PASSWORD_LOGIN), 0, 16);
+ * String issuer = server.getBaseUrl() + "/oauth2/default";
+ * ...
+ * server.close();
+ * </pre>
+ */
+public final class IdxSimulatorServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdxSimulatorServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final IdxSimulator simulator;
+
+    private IdxSimulatorServer(HttpServer server, ExecutorService executor, IdxSimulator simulator) {
+        this.server = server;
+        this.executor = executor;
+        this.simulator = simulator;
+    }
+
+    /**
+     * Binds to {@code localhost} and starts serving.
+     *
+     * @param builder the simulator settings; its base URL is replaced with the address the server is bound to
+     * @param port the port to listen on, 0 for any free port
+     * @param threads the number of request handling threads
+     * @return the running server
+     * @throws IOException if the port cannot be bound
+     */
+    public static IdxSimulatorServer start(IdxSimulator.Builder builder, int port, int threads) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        IdxSimulator simulator = builder
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "idx-simulator-" + server.getAddress().getPort());
+            thread.setDaemon(true);
+            return thread;
+        });
+        IdxSimulatorServer simulatorServer = new IdxSimulatorServer(server, executor, simulator);
+        server.createContext("/", simulatorServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return simulatorServer;
+    }
+
+    public String getBaseUrl() {
+        return simulator.getBaseUrl();
+    }
+
+    public IdxSimulator getSimulator() {
+        return simulator;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+                for (String value : header.getValue()) {
+                    headers.add(header.getKey(), value);
+                }
+            }
+            byte[] body = readFully(exchange.getRequestBody());
+            Request request = new DefaultRequest(
+                    HttpMethod.valueOf(exchange.getRequestMethod()),
+                    getBaseUrl() + exchange.getRequestURI(),
+                    null,
+                    headers,
+                    new ByteArrayInputStream(body),
+                    body.length);
+
+            Response response = simulator.executeRequest(request);
+
+            byte[] responseBody = response.getBody() != null ? readFully(response.getBody()) : new byte[0];
+            for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                exchange.getResponseHeaders().put(header.getKey(), header.getValue());
+            }
+            exchange.sendResponseHeaders(response.getHttpStatus(), responseBody.length > 0 ? responseBody.length : -1);
+            if (responseBody.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(responseBody);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Simulated request to {} failed", exchange.getRequestURI(), e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okta.commons.http.DefaultResponse;
+import com.okta.commons.http.HttpException;
+import com.okta.commons.http.MediaType;
+import com.okta.commons.http.Request;
+import com.okta.commons.http.RequestExecutor;
+import com.okta.commons.http.Response;
+import com.okta.commons.lang.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RequestExecutor} decorator that captures every exchange with the real IDX and OAuth 2.0 endpoints into
+ * an append-only capture file, for later use with {@link ReplayRequestExecutor}.
+ * <pre>
+ * try (RecordingRequestExecutor recorder = new RecordingRequestExecutor(requestExecutor, Paths.get("flows.jsonl"))) {
+ *     IDXAuthenticationWrapper authenticationWrapper = new IDXAuthenticationWrapper(clientConfiguration, recorder);
+ *     ...
+ * }
+ * </pre>
+ * Secrets, tokens, handles and personal data are redacted before anything is written, and request headers are
+ * not recorded at all. Redacted values keep their length, so replayed payloads have the same shape and size as
+ * the production traffic they came from.
+ * <p>
+ * The file holds one JSON document per line: a header line followed by one line per exchange. Recording to an
+ * existing capture appends to it. This class is thread-safe.
+ */
+public final class RecordingRequestExecutor implements RequestExecutor, Closeable {
+
+    private final RequestExecutor delegate;
+    private final Writer writer;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * @param delegate the executor that actually sends the requests
+     * @param captureFile the capture file to create or append to
+     * @throws IOException if the capture file cannot be opened
+     */
+    public RecordingRequestExecutor(RequestExecutor delegate, Path captureFile) throws IOException {
+        Assert.notNull(delegate, "delegate cannot be null");
+        Assert.notNull(captureFile, "captureFile cannot be null");
+        this.delegate = delegate;
+        boolean newFile = !Files.exists(captureFile) || Files.size(captureFile) == 0;
+        this.writer = Files.newBufferedWriter(captureFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        if (newFile) {
+            writeLine(Capture.header(objectMapper));
+        }
+    }
+
+    @Override
+    public Response executeRequest(Request request) throws HttpException {
+        byte[] requestBody = null;
+        if (request.getBody() != null) {
+            requestBody = readFully(request.getBody());
+            request.setBody(new ByteArrayInputStream(requestBody), requestBody.length);
+        }
+
+        long offsetMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        long start = System.nanoTime();
+        Response response = delegate.executeRequest(request);
+        long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        byte[] responseBody = response.getBody() != null ? readFully(response.getBody()) : null;
+        MediaType contentType = response.getHeaders().getContentType();
+
+        record(new Capture(
+                offsetMillis,
+                durationMicros,
+                request.getMethod().name(),
+                request.getResourceUrl().getRawPath(),
+                CaptureRedactor.redactQuery(request.getResourceUrl().getRawQuery()),
+                redactRequest(request, requestBody),
+                response.getHttpStatus(),
+                contentType != null ? contentType.toString() : null,
+                redactJson(responseBody),
+                responseBody != null ? responseBody.length : 0));
+
+        DefaultResponse buffered = new DefaultResponse(response.getHttpStatus(), contentType,
+                responseBody != null ? new ByteArrayInputStream(responseBody) : null,
+                responseBody != null ? responseBody.length : 0);
+        buffered.getHeaders().putAll(response.getHeaders());
+        return buffered;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+
+    private String redactRequest(Request request, byte[] body) {
+        if (body == null) {
+            return null;
+        }
+        String contentType = request.getHeaders().getFirst("Content-Type");
+        if (contentType != null && contentType.contains("x-www-form-urlencoded")) {
+            return CaptureRedactor.redactForm(new String(body, StandardCharsets.UTF_8));
+        }
+        String json = redactJson(body);
+        return json != null ? json : CaptureRedactor.filler(body.length);
+    }
+
+    private String redactJson(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            return json.isContainerNode() ? objectMapper.writeValueAsString(CaptureRedactor.redactJson(json)) : null;
+        } catch (IOException e) {
+            // not JSON (e.g. the HTML of an email magic link page), only its size is kept
+            return null;
+        }
+    }
+
+    private void record(Capture capture) {
+        try {
+            writeLine(capture.toLine(objectMapper));
+        } catch (IOException e) {
+            throw new HttpException("Unable to write capture", e);
+        }
+    }
+
+    private void writeLine(String line) throws IOException {
+        synchronized (writer) {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    static byte[] readFully(InputStream in) {
+        try (InputStream body = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new HttpException("Unable to read body", e);
+        }
+    }
+}
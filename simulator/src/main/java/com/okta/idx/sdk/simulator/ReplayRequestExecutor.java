@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okta.commons.http.DefaultResponse;
+import com.okta.commons.http.HttpException;
+import com.okta.commons.http.MediaType;
+import com.okta.commons.http.Request;
+import com.okta.commons.http.RequestExecutor;
+import com.okta.commons.http.Response;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link RequestExecutor} that answers requests from a capture written by {@link RecordingRequestExecutor}.
+ * <p>
+ * Requests are matched by method and endpoint (the path below {@code /idp/idx/} or {@code /v1/}, so the org the
+ * capture was taken from does not matter). Each endpoint cycles through its recorded responses in order, so a
+ * benchmark sees the same mix of payloads, statuses and sizes as the recorded traffic. Responses are served as
+ * fast as possible, or after the recorded server time with {@link Timing#RECORDED}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ReplayRequestExecutor implements RequestExecutor {
+
+    /**
+     * How long to hold each response before returning it.
+     */
+    public enum Timing {
+        /** Return immediately, to measure the SDK's own overhead. */
+        FULL_SPEED,
+        /** Wait as long as the server took when the exchange was recorded. */
+        RECORDED
+    }
+
+    private final Map<String, Endpoint> endpoints;
+    private final Timing timing;
+    private final int captureCount;
+
+    private ReplayRequestExecutor(Map<String, Endpoint> endpoints, Timing timing, int captureCount) {
+        this.endpoints = endpoints;
+        this.timing = timing;
+        this.captureCount = captureCount;
+    }
+
+    /**
+     * Loads a capture file.
+     *
+     * @param captureFile a file written by {@link RecordingRequestExecutor}
+     * @param timing whether to replay the recorded server time
+     * @return the replaying executor
+     * @throws IOException if the file cannot be read or is not a capture
+     */
+    public static ReplayRequestExecutor load(Path captureFile, Timing timing) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, List<Capture>> byEndpoint = new HashMap<>();
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(captureFile, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            JsonNode header = line != null ? objectMapper.readTree(line) : null;
+            if (header == null || !Capture.FORMAT.equals(header.path("format").asText())) {
+                throw new IOException(captureFile + " is not a capture file");
+            }
+            if (header.path("version").asInt() > Capture.VERSION) {
+                throw new IOException("Unsupported capture version " + header.path("version").asInt());
+            }
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Capture capture = Capture.fromLine(objectMapper.readTree(line));
+                byEndpoint.computeIfAbsent(key(capture.method, capture.path), k -> new ArrayList<>()).add(capture);
+                count++;
+            }
+        }
+        Map<String, Endpoint> endpoints = new HashMap<>();
+        byEndpoint.forEach((key, captures) -> endpoints.put(key, new Endpoint(captures)));
+        return new ReplayRequestExecutor(Collections.unmodifiableMap(endpoints), timing, count);
+    }
+
+    @Override
+    public Response executeRequest(Request request) throws HttpException {
+        Endpoint endpoint = endpoints.get(key(request.getMethod().name(), request.getResourceUrl().getRawPath()));
+        if (endpoint == null) {
+            byte[] body = ("{\"error\":\"not_found\",\"error_description\":\"No capture for "
+                    + request.getResourceUrl().getRawPath() + "\"}").getBytes(StandardCharsets.UTF_8);
+            return new DefaultResponse(404, MediaType.valueOf("application/json"), new ByteArrayInputStream(body), body.length);
+        }
+        Replay replay = endpoint.next();
+        if (timing == Timing.RECORDED && replay.durationNanos > 0) {
+            LockSupport.parkNanos(replay.durationNanos);
+        }
+        return new DefaultResponse(replay.status, replay.contentType,
+                new ByteArrayInputStream(replay.body), replay.body.length);
+    }
+
+    /**
+     * @return the number of exchanges in the loaded capture
+     */
+    public int getCaptureCount() {
+        return captureCount;
+    }
+
+    private static String key(String method, String path) {
+        return method + " " + IdxSimulator.endpoint(path);
+    }
+
+    private static final class Endpoint {
+
+        private final Replay[] replays;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        Endpoint(List<Capture> captures) {
+            this.replays = new Replay[captures.size()];
+            for (int i = 0; i < replays.length; i++) {
+                replays[i] = new Replay(captures.get(i));
+            }
+        }
+
+        Replay next() {
+            return replays[Math.floorMod(cursor.getAndIncrement(), replays.length)];
+        }
+    }
+
+    /**
+     * A capture decoded once at load time, so replaying does no parsing or encoding.
+     */
+    private static final class Replay {
+
+        private final int status;
+        private final MediaType contentType;
+        private final byte[] body;
+        private final long durationNanos;
+
+        Replay(Capture capture) {
+            this.status = capture.status;
+            this.contentType = capture.contentType != null ? MediaType.valueOf(capture.contentType) : null;
+            this.body = capture.responseBody != null
+                    ? capture.responseBody.getBytes(StandardCharsets.UTF_8)
+                    : CaptureRedactor.filler(capture.responseSize).getBytes(StandardCharsets.UTF_8);
+            this.durationNanos = TimeUnit.MICROSECONDS.toNanos(capture.durationMicros);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A remediation graph the {@link IdxSimulator} walks through: for each endpoint, the ordered list of
+ * fixture responses returned to successive calls within one transaction (the last entry repeats).
+ * <p>
+ * Scenarios are described by a small JSON document:
+ * <pre>
+ * {
+ *   "fixtures": "scenario_1_1_1",
+ *   "endpoints": {
+ *     "interact": ["interact-response.json"],
+ *     "challenge/answer": [{"file": "answer-response.json", "status": 400}]
+ *   }
+ * }
+ * </pre>
+ * Fixture files are resolved against the {@code fixtures} directory, or against the root of the shared fixtures
+ * ({@code com/okta/idx/sdk/simulator/fixtures/} on the classpath) when they start with {@code /}.
+ * <p>
+ * Endpoint keys are the path below {@code /idp/idx/} (e.g. {@code identify}, {@code challenge/answer})
+ * or below {@code /v1/} for the OAuth 2.0 endpoints (e.g. {@code interact}, {@code token}, {@code userinfo}).
+ * <p>
+ * Fixtures are parsed once when the scenario is loaded and turned into templates; handles, the interaction code
+ * and the origin of every link are substituted per transaction, so serving a response is a handful of string
+ * replacements rather than a JSON round trip.
+ */
+public final class Scenario {
+
+    /** Built-in scenario: identifier first, then password, then token exchange and userinfo. */
+    public static final String PASSWORD_LOGIN = "password-login";
+
+    /** Built-in scenario: identifier first, then a password rejected with a 400. */
+    public static final String INVALID_PASSWORD = "invalid-password";
+
+    /** Built-in scenario: identifier first, then email authenticator selection and verification. */
+    public static final String EMAIL_MFA = "email-mfa";
+
+    /** Built-in scenario: self-service registration with password and email, skipping the optional phone. */
+    public static final String REGISTRATION = "registration";
+
+    /** Built-in scenario: password recovery up to the authenticator selection. */
+    public static final String PASSWORD_RECOVERY = "password-recovery";
+
+    /** Built-in scenario: identifier first, then an email challenge completed by polling. */
+    public static final String EMAIL_POLL = "email-poll";
+
+    static final String BASE_URL = "{{baseUrl}}";
+    static final String STATE_HANDLE = "{{stateHandle}}";
+    static final String INTERACTION_HANDLE = "{{interactionHandle}}";
+    static final String INTERACTION_CODE = "{{interactionCode}}";
+
+    private static final String SCENARIO_PATH = "com/okta/idx/sdk/simulator/scenarios/";
+    private static final String FIXTURE_PATH = "com/okta/idx/sdk/simulator/fixtures/";
+
+    private static final Pattern ORIGIN = Pattern.compile("^https?://[^/]+(?=/(idp|oauth2)/)");
+
+    private final String name;
+    private final Map<String, List<Fixture>> endpoints;
+
+    private Scenario(String name, Map<String, List<Fixture>> endpoints) {
+        this.name = name;
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Loads a scenario descriptor from {@code com/okta/idx/sdk/simulator/scenarios/<name>.json} on the classpath.
+     *
+     * @param name the scenario name, e.g. {@link #PASSWORD_LOGIN}
+     * @return the scenario
+     * @throws IllegalArgumentException if the descriptor or one of its fixtures cannot be found
+     */
+    public static Scenario load(String name) {
+        ClassLoader classLoader = Scenario.class.getClassLoader();
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode descriptor = readJson(objectMapper, classLoader, SCENARIO_PATH + name + ".json");
+        String fixtureDir = FIXTURE_PATH + descriptor.path("fixtures").asText() + "/";
+
+        Map<String, List<Fixture>> endpoints = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = descriptor.path("endpoints").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            List<Fixture> fixtures = new ArrayList<>();
+            for (JsonNode step : entry.getValue()) {
+                String file = step.isTextual() ? step.asText() : step.path("file").asText();
+                int status = step.path("status").asInt(200);
+                String path = file.startsWith("/") ? FIXTURE_PATH + file.substring(1) : fixtureDir + file;
+                JsonNode body = readJson(objectMapper, classLoader, path);
+                fixtures.add(new Fixture(status, toTemplate(objectMapper, entry.getKey(), body)));
+            }
+            if (fixtures.isEmpty()) {
+                throw new IllegalArgumentException("Scenario '" + name + "' has no responses for " + entry.getKey());
+            }
+            endpoints.put(entry.getKey(), Collections.unmodifiableList(fixtures));
+        }
+        return new Scenario(name, Collections.unmodifiableMap(endpoints));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param endpoint the endpoint key
+     * @param call the zero-based number of calls this transaction already made to the endpoint
+     * @return the fixture to serve, or {@code null} if the scenario does not cover the endpoint
+     */
+    Fixture fixture(String endpoint, int call) {
+        List<Fixture> fixtures = endpoints.get(endpoint);
+        if (fixtures == null) {
+            return null;
+        }
+        return fixtures.get(Math.min(call, fixtures.size() - 1));
+    }
+
+    private static JsonNode readJson(ObjectMapper objectMapper, ClassLoader classLoader, String path) {
+        try (InputStream in = classLoader.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Simulator resource not found: " + path);
+            }
+            return objectMapper.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toTemplate(ObjectMapper objectMapper, String endpoint, JsonNode body) {
+        if (body.isObject() && "interact".equals(endpoint) && body.has("interaction_handle")) {
+            ((ObjectNode) body).put("interaction_handle", INTERACTION_HANDLE);
+        }
+        String stateHandle = body.path("stateHandle").asText(null);
+        String interactionCode = null;
+        for (JsonNode value : body.path("successWithInteractionCode").path("value")) {
+            if ("interaction_code".equals(value.path("name").asText())) {
+                interactionCode = value.path("value").asText(null);
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(substitute(body, stateHandle, interactionCode));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JsonNode substitute(JsonNode node, String stateHandle, String interactionCode) {
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            List<String> names = new ArrayList<>();
+            object.fieldNames().forEachRemaining(names::add);
+            for (String field : names) {
+                object.set(field, substitute(object.get(field), stateHandle, interactionCode));
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                ((ArrayNode) node).set(i,
+                        substitute(node.get(i), stateHandle, interactionCode));
+            }
+        } else if (node.isTextual()) {
+            String text = node.asText();
+            if (text.equals(stateHandle)) {
+                return TextNode.valueOf(STATE_HANDLE);
+            }
+            if (text.equals(interactionCode)) {
+                return TextNode.valueOf(INTERACTION_CODE);
+            }
+            Matcher matcher = ORIGIN.matcher(text);
+            if (matcher.find()) {
+                return TextNode.valueOf(BASE_URL + text.substring(matcher.end()));
+            }
+        }
+        return node;
+    }
+
+    /**
+     * One canned response: the HTTP status and the body template.
+     */
+    static final class Fixture {
+
+        private final int status;
+        private final String template;
+
+        Fixture(int status, String template) {
+            this.status = status;
+            this.template = template;
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        String render(String baseUrl, String stateHandle, String interactionHandle, String interactionCode) {
+            return template
+                    .replace(BASE_URL, baseUrl)
+                    .replace(STATE_HANDLE, stateHandle)
+                    .replace(INTERACTION_HANDLE, interactionHandle)
+                    .replace(INTERACTION_CODE, interactionCode);
+        }
+    }
+}
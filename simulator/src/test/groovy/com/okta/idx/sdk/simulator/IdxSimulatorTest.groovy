@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator
+
+import com.okta.idx.sdk.api.client.IDXAuthenticationWrapper
+import com.okta.idx.sdk.api.config.ClientConfiguration
+import com.okta.idx.sdk.api.model.AuthenticationOptions
+import com.okta.idx.sdk.api.model.AuthenticationStatus
+import com.okta.idx.sdk.api.response.AuthenticationResponse
+import org.testng.annotations.Test
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.empty
+import static org.hamcrest.Matchers.hasItem
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.notNullValue
+
+class IdxSimulatorTest {
+
+    @Test
+    void testPasswordLogin() {
+
+        IdxSimulator simulator = IdxSimulator.builder().scenario(Scenario.PASSWORD_LOGIN).build()
+        IDXAuthenticationWrapper wrapper = new IDXAuthenticationWrapper(getClientConfiguration(simulator), simulator)
+
+        AuthenticationResponse response = login(wrapper)
+
+        assertThat(response.getErrors(), empty())
+        assertThat(response.getAuthenticationStatus(), is(AuthenticationStatus.SUCCESS))
+        assertThat(response.getTokenResponse().getAccessToken(), notNullValue())
+        // interact, introspect, identify, challenge/answer, token
+        assertThat(simulator.getRequestCount(), is(5L))
+        assertThat(simulator.getOpenTransactionCount(), is(0))
+    }
+
+    @Test
+    void testConcurrentLoginsAreIsolated() {
+
+        IdxSimulator simulator = IdxSimulator.builder().scenario(Scenario.PASSWORD_LOGIN).build()
+        IDXAuthenticationWrapper wrapper = new IDXAuthenticationWrapper(getClientConfiguration(simulator), simulator)
+
+        def executor = Executors.newFixedThreadPool(8)
+        try {
+            def futures = (1..50).collect { executor.submit({ login(wrapper) } as Callable<AuthenticationResponse>) }
+            futures.each { assertThat(it.get().getAuthenticationStatus(), is(AuthenticationStatus.SUCCESS)) }
+        } finally {
+            executor.shutdown()
+        }
+
+        assertThat(simulator.getRequestCount(), is(250L))
+        assertThat(simulator.getOpenTransactionCount(), is(0))
+    }
+
+    @Test
+    void testInvalidPassword() {
+
+        IdxSimulator simulator = IdxSimulator.builder().scenario(Scenario.INVALID_PASSWORD).build()
+        IDXAuthenticationWrapper wrapper = new IDXAuthenticationWrapper(getClientConfiguration(simulator), simulator)
+
+        AuthenticationResponse response = login(wrapper)
+
+        assertThat(response.getErrors(), hasItem("Password is incorrect"))
+    }
+
+    @Test
+    void testCancelAndRecover() {
+
+        IdxSimulator simulator = IdxSimulator.builder().scenario(Scenario.EMAIL_MFA).build()
+        IDXAuthenticationWrapper wrapper = new IDXAuthenticationWrapper(getClientConfiguration(simulator), simulator)
+
+        AuthenticationResponse cancelResponse = wrapper.cancel(wrapper.begin().getProceedContext())
+        assertThat(cancelResponse.getErrors(), empty())
+        assertThat(cancelResponse.getAuthenticationStatus(), is(AuthenticationStatus.UNKNOWN))
+        assertThat(simulator.getOpenTransactionCount(), is(0))
+
+        AuthenticationResponse recoverResponse = wrapper.recoverPassword("username", wrapper.begin().getProceedContext())
+        assertThat(recoverResponse.getErrors(), empty())
+        assertThat(recoverResponse.getAuthenticationStatus(), is(AuthenticationStatus.AWAITING_AUTHENTICATOR_SELECTION))
+    }
+
+    @Test
+    void testRateLimit() {
+
+        IdxSimulator simulator = IdxSimulator.builder()
+                .scenario(Scenario.PASSWORD_LOGIN)
+                .rateLimitPerSecond(1)
+                .build()
+        IDXAuthenticationWrapper wrapper = new IDXAuthenticationWrapper(getClientConfiguration(simulator), simulator)
+
+        wrapper.begin()
+        AuthenticationResponse response = wrapper.begin()
+
+        assertThat(response.getErrors(), hasItem("too_many_requests:API call exceeded rate limit due to too many requests."))
+        assertThat(simulator.getRateLimitedCount(), is(1L))
+    }
+
+    @Test
+    void testServer() {
+
+        IdxSimulatorServer server = IdxSimulatorServer.start(IdxSimulator.builder().scenario(Scenario.PASSWORD_LOGIN), 0, 2)
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(server.getBaseUrl() + "/oauth2/default/v1/interact").openConnection()
+            connection.setRequestMethod("POST")
+            connection.setDoOutput(true)
+            connection.getOutputStream().withCloseable { it.write("client_id=test-client-id".bytes) }
+
+            assertThat(connection.getResponseCode(), is(200))
+            assertThat(connection.getInputStream().text, is("{\"interaction_handle\":\"sim-1-ih\"}"))
+            assertThat(server.getSimulator().getOpenTransactionCount(), is(1))
+        } finally {
+            server.close()
+        }
+    }
+
+    static AuthenticationResponse login(IDXAuthenticationWrapper wrapper) {
+        AuthenticationResponse beginResponse = wrapper.begin()
+        return wrapper.authenticate(new AuthenticationOptions("username", "password".toCharArray()),
+                beginResponse.getProceedContext())
+    }
+
+    static ClientConfiguration getClientConfiguration(IdxSimulator simulator) {
+        ClientConfiguration clientConfiguration = new ClientConfiguration()
+        clientConfiguration.setIssuer(simulator.getBaseUrl() + "/oauth2/default")
+        clientConfiguration.setClientId("test-client-id")
+        clientConfiguration.setClientSecret("test-client-secret")
+        clientConfiguration.setScopes(["openid", "profile"] as Set)
+        clientConfiguration.setRedirectUri("http://localhost:8080/login/callback")
+        return clientConfiguration
+    }
+}
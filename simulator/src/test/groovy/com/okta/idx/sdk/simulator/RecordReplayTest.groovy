@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022-Present, Okta, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.okta.idx.sdk.simulator
+
+import com.okta.idx.sdk.api.client.IDXAuthenticationWrapper
+import com.okta.idx.sdk.api.model.AuthenticationOptions
+import com.okta.idx.sdk.api.model.AuthenticationStatus
+import com.okta.idx.sdk.api.response.AuthenticationResponse
+import org.testng.annotations.Test
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.containsString
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.not
+
+class RecordReplayTest {
+
+    @Test
+    void testRecordingIsRedactedAndReplays() {
+
+        Path captureFile = Files.createTempFile("idx-capture", ".jsonl")
+        Files.delete(captureFile)
+
+        IdxSimulator simulator = IdxSimulator.builder().scenario(Scenario.PASSWORD_LOGIN).build()
+        new RecordingRequestExecutor(simulator, captureFile).withCloseable { recorder ->
+            IDXAuthenticationWrapper wrapper = new IDXAuthenticationWrapper(
+                    IdxSimulatorTest.getClientConfiguration(simulator), recorder)
+            AuthenticationResponse beginResponse = wrapper.begin()
+            AuthenticationResponse response = wrapper.authenticate(
+                    new AuthenticationOptions("jane.doe@example.com", "hunter2".toCharArray()),
+                    beginResponse.getProceedContext())
+            assertThat(response.getAuthenticationStatus(), is(AuthenticationStatus.SUCCESS))
+        }
+
+        String capture = captureFile.text
+        assertThat(capture.readLines().size(), is(6))
+        assertThat(capture, not(containsString("jane.doe@example.com")))
+        assertThat(capture, not(containsString("hunter2")))
+        assertThat(capture, not(containsString("sim-1-")))
+        assertThat(capture, not(containsString("test-client-secret")))
+        assertThat(capture, not(containsString("eyJ")))
+        // redacted values keep their length
+        assertThat(capture, containsString('\\"passcode\\":\\"xxxxxxx\\"'))
+
+        ReplayRequestExecutor replay = ReplayRequestExecutor.load(captureFile, ReplayRequestExecutor.Timing.FULL_SPEED)
+        IDXAuthenticationWrapper wrapper = new IDXAuthenticationWrapper(
+                IdxSimulatorTest.getClientConfiguration(simulator), replay)
+
+        assertThat(replay.getCaptureCount(), is(5))
+        2.times {
+            assertThat(IdxSimulatorTest.login(wrapper).getAuthenticationStatus(), is(AuthenticationStatus.SUCCESS))
+        }
+        Files.delete(captureFile)
+    }
+}
@@ -16,6 +16,10 @@
 import static japicmp.model.JApiCompatibilityChange.*
 import static japicmp.model.JApiChangeStatus.*
 
+// 3.x made the IDX form model immutable, documented in MIGRATING.md
+def immutableModel = ["FormValue", "Options", "OptionsForm", "OptionsFormVal", "Remediation", "RemediationOption",
+                      "SuccessResponse"].collect { "com.okta.idx.sdk.api.model." + it }
+
 println("japicmp report, changes from previous release:")
 def it = jApiClasses.iterator()
 while (it.hasNext()) {
@@ -28,6 +32,13 @@ while (it.hasNext()) {
         jApiClass.getCompatibilityChanges().remove(METHOD_REMOVED_IN_SUPERCLASS)
     }
 
+    // final, built through builders, and FormValue's public fields replaced by getters
+    if (immutableModel.contains(fqn)) {
+        jApiClass.getCompatibilityChanges().remove(CLASS_NOW_FINAL)
+        jApiClass.getConstructors().each { it.getCompatibilityChanges().remove(CONSTRUCTOR_REMOVED) }
+        jApiClass.getFields().each { it.getCompatibilityChanges().remove(FIELD_REMOVED) }
+    }
+
     if (jApiClass.getChangeStatus() != UNCHANGED) {
         println("class ${fqn}: ${jApiClass.getChangeStatus()}")
 